@@ -15,7 +15,11 @@
  */
 package allocator;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -25,7 +29,10 @@ import java.util.concurrent.Executors;
 import org.openqa.selenium.Platform;
 
 import com.cognizant.framework.selenium.*;
+import com.cognizant.framework.DataTable;
+import com.cognizant.framework.DatatableFormat;
 import com.cognizant.framework.ExcelDataAccessforxlsm;
+import com.cognizant.framework.FrameworkException;
 import com.cognizant.framework.FrameworkParameters;
 import com.cognizant.framework.IterationOptions;
 import com.cognizant.framework.Settings;
@@ -43,6 +50,9 @@ public class Allocator {
 	private Properties mobileProperties;
 	private ResultSummaryManager resultSummaryManager = ResultSummaryManager.getInstance();
 
+	private static final String[] TEST_CONFIGURATION_KEYS = { "TestConfigurationID", "ExecutionMode", "ToolName",
+			"MobileExecutionPlatform", "MobileOSVersion", "DeviceName", "Browser", "BrowserVersion", "Platform" };
+
 	/**
 	 * The entry point of the test batch execution <br>
 	 * Exits with a value of 0 if the test passes and 1 if the test fails
@@ -84,6 +94,20 @@ public class Allocator {
 
 	private int executeTestBatch(int nThreads) {
 		List<SeleniumTestParameters> testInstancesToRun = getRunInfo(frameworkParameters.getRunConfiguration());
+		if (Boolean.parseBoolean(properties.getProperty("ScheduleLongestTestsFirst", "False"))) {
+			// Start the longest test instances first, so that they do not
+			// hold up the end of the batch
+			Map<SeleniumTestParameters, Integer> estimatedIterations = new HashMap<SeleniumTestParameters, Integer>();
+			for (SeleniumTestParameters testParameters : testInstancesToRun) {
+				// Iterations run in parallel take correspondingly less time
+				int iterationThreads = testParameters.getIterationThreads();
+				estimatedIterations.put(testParameters,
+						(getEstimatedIterations(testParameters) + iterationThreads - 1) / iterationThreads);
+			}
+			testInstancesToRun = new ArrayList<SeleniumTestParameters>(testInstancesToRun);
+			testInstancesToRun.sort((testParameters1, testParameters2) -> Integer
+					.compare(estimatedIterations.get(testParameters2), estimatedIterations.get(testParameters1)));
+		}
 		ExecutorService parallelExecutor = Executors.newFixedThreadPool(nThreads);
 		ParallelRunner testRunner = null;
 
@@ -112,19 +136,74 @@ public class Allocator {
 		}
 	}
 
+	private int getEstimatedIterations(SeleniumTestParameters testParameters) {
+		switch (testParameters.getIterationMode()) {
+			case RUN_ONE_ITERATION_ONLY:
+				return 1;
+
+			case RUN_RANGE_OF_ITERATIONS:
+				return Math.max(testParameters.getEndIteration() - testParameters.getStartIteration() + 1, 1);
+
+			default:
+				// The iteration metadata is built once per datatable and
+				// reused by the DriverScript
+				String datatablePath = frameworkParameters.getRelativePath() + Util.getFileSeparator() + "src"
+						+ Util.getFileSeparator() + "test" + Util.getFileSeparator() + "resources"
+						+ Util.getFileSeparator() + "Datatables";
+				DataTable dataTable = new DataTable(datatablePath, testParameters.getCurrentScenario());
+				dataTable.setDatatableFormat(
+						DatatableFormat.valueOf(properties.getProperty("DatatableFormat", "EXCEL")));
+				dataTable.setCurrentRow(testParameters.getCurrentTestcase(), 0);
+				try {
+					return dataTable.getIterationCount(properties.getProperty("DefaultDataSheet"));
+				} catch (FrameworkException fx) {
+					return 1; // The error is reported when the test instance is run
+				}
+		}
+	}
+
 	private List<SeleniumTestParameters> getRunInfo(String sheetName) {
+		String runManagerPath = frameworkParameters.getRelativePath() + Util.getFileSeparator() + "src"
+				+ Util.getFileSeparator() + "test" + Util.getFileSeparator() + "resources";
+		File runManagerFile = new File(runManagerPath + Util.getFileSeparator() + "Run Manager.xlsm");
+		File planFile = new File(frameworkParameters.getRelativePath() + Util.getFileSeparator() + "target"
+				+ Util.getFileSeparator() + "execution-plans" + Util.getFileSeparator() + sheetName + ".plan");
+
+		String planKey;
+		try {
+			planKey = ExecutionPlan.getPlanKey(runManagerFile, sheetName,
+					properties.getProperty("DefaultExecutionMode"),
+					mobileProperties.getProperty("DefaultMobileToolName"),
+					mobileProperties.getProperty("DefaultMobileExecutionPlatform"),
+					properties.getProperty("DefaultBrowser"), properties.getProperty("DefaultPlatform"));
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while reading the Run Manager file \"" + runManagerFile + "\"");
+		}
 
-		ExcelDataAccessforxlsm runManagerAccess = new ExcelDataAccessforxlsm(
-				frameworkParameters.getRelativePath() + Util.getFileSeparator() + "src" + Util.getFileSeparator()
-						+ "test" + Util.getFileSeparator() + "resources",
-				"Run Manager");
-		runManagerAccess.setDatasheetName(sheetName);
+		List<SeleniumTestParameters> testInstancesToRun = ExecutionPlan.read(planFile, planKey);
+		if (testInstancesToRun == null) {
+			testInstancesToRun = buildRunInfo(new ExcelDataAccessforxlsm(runManagerPath, "Run Manager"), sheetName);
+			ExecutionPlan.write(planFile, planKey, testInstancesToRun);
+		}
+
+		return testInstancesToRun;
+	}
+
+	private List<SeleniumTestParameters> buildRunInfo(ExcelDataAccessforxlsm runManagerAccess, String sheetName) {
+		Map<String, Map<String, String>> testConfigurations = getTestConfigurations(runManagerAccess,
+				"TestConfigurations");
 
 		runManagerAccess.setDatasheetName(sheetName);
 		List<SeleniumTestParameters> testInstancesToRun = new ArrayList<SeleniumTestParameters>();
-		String[] keys = { "Execute", "TestScenario", "TestCase", "TestInstance", "Description", "IterationMode",
-				"StartIteration", "EndIteration", "TestConfigurationID" };
-		List<Map<String, String>> values = runManagerAccess.getValues(keys);
+		List<String> keys = new ArrayList<String>(Arrays.asList("Execute", "TestScenario", "TestCase",
+				"TestInstance", "Description", "IterationMode", "StartIteration", "EndIteration",
+				"TestConfigurationID"));
+		// The IterationThreads column is optional
+		if (runManagerAccess.containsColumn("IterationThreads")) {
+			keys.add("IterationThreads");
+		}
+		List<Map<String, String>> values = runManagerAccess.getValues(keys.toArray(new String[0]));
 
 		for (int currentTestInstance = 0; currentTestInstance < values.size(); currentTestInstance++) {
 
@@ -153,27 +232,41 @@ public class Allocator {
 				if (!endIteration.equals("")) {
 					testParameters.setEndIteration(Integer.parseInt(endIteration));
 				}
+				String iterationThreads = row.get("IterationThreads");
+				if (iterationThreads != null && !iterationThreads.equals("")) {
+					testParameters.setIterationThreads(Integer.parseInt(iterationThreads));
+				}
 				String testConfig = row.get("TestConfigurationID");
 				if (!"".equals(testConfig)) {
-					getTestConfigValues(runManagerAccess, "TestConfigurations", testConfig, testParameters);
+					Map<String, String> testConfigValues = testConfigurations.get(testConfig);
+					if (testConfigValues == null) {
+						throw new FrameworkException("The TestConfigurationID \"" + testConfig
+								+ "\" specified for the test case \"" + currentTestcase
+								+ "\" is not found in the TestConfigurations sheet!");
+					}
+					getTestConfigValues(testConfigValues, testParameters);
 				}
 
 				testInstancesToRun.add(testParameters);
-				runManagerAccess.setDatasheetName(sheetName);
 			}
 		}
 		return testInstancesToRun;
 	}
 
-	private void getTestConfigValues(ExcelDataAccessforxlsm runManagerAccess, String sheetName, String testConfigName,
-			SeleniumTestParameters testParameters) {
-
+	private Map<String, Map<String, String>> getTestConfigurations(ExcelDataAccessforxlsm runManagerAccess,
+			String sheetName) {
 		runManagerAccess.setDatasheetName(sheetName);
-		int rowNum = runManagerAccess.getRowNum(testConfigName, 0, 1);
 
-		String[] keys = { "TestConfigurationID", "ExecutionMode", "ToolName", "MobileExecutionPlatform",
-				"MobileOSVersion", "DeviceName", "Browser", "BrowserVersion", "Platform"};
-		Map<String, String> values = runManagerAccess.getValuesForSpecificRow(keys, rowNum);
+		Map<String, Map<String, String>> testConfigurations = new HashMap<String, Map<String, String>>();
+		for (Map<String, String> values : runManagerAccess.getValues(TEST_CONFIGURATION_KEYS)) {
+			// The first occurrence of a configuration takes precedence
+			testConfigurations.putIfAbsent(values.get("TestConfigurationID"), values);
+		}
+
+		return testConfigurations;
+	}
+
+	private void getTestConfigValues(Map<String, String> values, SeleniumTestParameters testParameters) {
 
 		String executionMode = values.get("ExecutionMode");
 		if (!"".equals(executionMode)) {
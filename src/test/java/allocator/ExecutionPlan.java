@@ -0,0 +1,162 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package allocator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cognizant.framework.selenium.SeleniumTestParameters;
+
+/**
+ * Class to encapsulate the execution plan compiled from the Run Manager (i.e.,
+ * the resolved test instances of a run configuration), which is stored on disk
+ * and reused for as long as its inputs remain unchanged
+ * 
+ * @author Cognizant
+ */
+final class ExecutionPlan implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	// To be incremented whenever the serialized form of the plan (including the
+	// test parameters) or the way it is compiled from the Run Manager changes,
+	// so that the plans stored by earlier versions are rebuilt instead of being
+	// misread
+	private static final int PLAN_FORMAT_VERSION = 1;
+
+	private final String planKey;
+	private final List<SeleniumTestParameters> testInstancesToRun;
+
+	private ExecutionPlan(String planKey, List<SeleniumTestParameters> testInstancesToRun) {
+		this.planKey = planKey;
+		this.testInstancesToRun = new ArrayList<SeleniumTestParameters>(testInstancesToRun);
+	}
+
+	/**
+	 * Function to compute the key which identifies an execution plan, from the
+	 * plan format version, the contents of the Run Manager and the settings
+	 * which affect the plan
+	 * 
+	 * @param runManagerFile
+	 *            The Run Manager workbook
+	 * @param planInputs
+	 *            The other inputs to the plan (run configuration, default
+	 *            settings, etc.)
+	 * @return The plan key
+	 * @throws IOException
+	 *             If the Run Manager cannot be read
+	 */
+	static String getPlanKey(File runManagerFile, String... planInputs) throws IOException {
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		byte[] readBuffer = new byte[8192];
+		try (InputStream inputStream = new DigestInputStream(Files.newInputStream(runManagerFile.toPath()),
+				messageDigest)) {
+			while (inputStream.read(readBuffer) != -1) {
+				// Read through the file to update the digest
+			}
+		}
+
+		StringBuilder planKey = new StringBuilder();
+		planKey.append('v').append(PLAN_FORMAT_VERSION).append('|');
+		for (byte hashByte : messageDigest.digest()) {
+			planKey.append(String.format("%02x", hashByte));
+		}
+		for (String planInput : planInputs) {
+			planKey.append('|').append(planInput);
+		}
+
+		return planKey.toString();
+	}
+
+	/**
+	 * Function to read the execution plan stored in the specified file
+	 * 
+	 * @param planFile
+	 *            The execution plan file
+	 * @param planKey
+	 *            The key of the required execution plan
+	 * @return The test instances to be run (null if the file does not exist,
+	 *         cannot be read or holds a different execution plan)
+	 */
+	@SuppressWarnings("unchecked")
+	static List<SeleniumTestParameters> read(File planFile, String planKey) {
+		if (!planFile.isFile()) {
+			return null;
+		}
+
+		try (ObjectInputStream inputStream = new ObjectInputStream(Files.newInputStream(planFile.toPath()))) {
+			ExecutionPlan executionPlan = (ExecutionPlan) inputStream.readObject();
+			if (!executionPlan.planKey.equals(planKey)) {
+				return null;
+			}
+
+			return executionPlan.testInstancesToRun;
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			// An unreadable plan (e.g., from an older framework version, or
+			// one left truncated) is simply rebuilt
+			return null;
+		}
+	}
+
+	/**
+	 * Function to store the specified execution plan in a file
+	 * 
+	 * @param planFile
+	 *            The execution plan file
+	 * @param planKey
+	 *            The key of the execution plan
+	 * @param testInstancesToRun
+	 *            The test instances to be run
+	 */
+	static void write(File planFile, String planKey, List<SeleniumTestParameters> testInstancesToRun) {
+		try {
+			planFile.getParentFile().mkdirs();
+			// Write into a temporary file first, so that a parallel run never
+			// reads a partially written plan
+			Path temporaryFile = Files.createTempFile(planFile.getParentFile().toPath(), planFile.getName(), ".tmp");
+			try {
+				try (ObjectOutputStream outputStream = new ObjectOutputStream(
+						Files.newOutputStream(temporaryFile))) {
+					outputStream.writeObject(new ExecutionPlan(planKey, testInstancesToRun));
+				}
+				Files.move(temporaryFile, planFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		} catch (IOException e) {
+			// The plan has been built already, so the run can proceed
+			e.printStackTrace();
+		}
+	}
+}
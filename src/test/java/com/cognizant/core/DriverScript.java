@@ -22,25 +22,35 @@
  */
 package com.cognizant.core;
 
-import java.io.File;
-import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Platform;
 import org.openqa.selenium.WebDriver;
 
+import com.cognizant.framework.DataLease;
 import com.cognizant.framework.DataTable;
-import com.cognizant.framework.ExcelDataAccess;
+import com.cognizant.framework.DatatableFormat;
+import com.cognizant.framework.DatatableOverlay;
+import com.cognizant.framework.DatatableReadMode;
 import com.cognizant.framework.FrameworkException;
 import com.cognizant.framework.FrameworkParameters;
+import com.cognizant.framework.IterationMetadata;
 import com.cognizant.framework.IterationOptions;
+import com.cognizant.framework.JsonLinesSyncPolicy;
 import com.cognizant.framework.OnError;
 import com.cognizant.framework.ReportSettings;
 import com.cognizant.framework.ReportTheme;
@@ -70,6 +80,8 @@ import com.cognizant.framework.selenium.WebDriverUtil;
 public class DriverScript {
 
 	private int currentIteration;
+	private String iterationWarning;
+	private boolean testcaseTerminated = false;
 	private Date startTime, endTime;
 	private String executionTime;
 
@@ -103,6 +115,21 @@ public class DriverScript {
 		this.testParameters = testParameters;
 	}
 
+	private DriverScript(DriverScript parentScript) {
+		// Iteration workers share the settings and the report location of the
+		// parent, but have their own test parameters, driver, datatable cursor
+		// and test log
+		this.testParameters = new SeleniumTestParameters(parentScript.testParameters);
+		this.properties = parentScript.properties;
+		this.mobileProperties = parentScript.mobileProperties;
+		this.reportSettings = parentScript.reportSettings;
+		this.reportPath = parentScript.reportPath;
+		this.startTime = parentScript.startTime;
+		this.linkScreenshotsToTestLog = parentScript.linkScreenshotsToTestLog;
+		this.iterationWarning = parentScript.iterationWarning;
+		this.currentIteration = parentScript.currentIteration;
+	}
+
 	/**
 	 * Function to configure the linking of screenshots to the corresponding test
 	 * log
@@ -158,14 +185,131 @@ public class DriverScript {
 	public void driveTestExecution() {
 		startUp();
 		initializeTestIterations();
-		initializeWebDriver();
-		initializeTestReport();
-		initializeDatatable();
-		executeFramework();
-		quitWebDriver();
+
+		int nIterationThreads = Math.min(testParameters.getIterationThreads(),
+				testParameters.getEndIteration() - currentIteration + 1);
+		if (nIterationThreads > 1) {
+			initializeTestReport();
+			executeIterationsInParallel(nIterationThreads);
+		} else {
+			initializeWebDriver();
+			initializeTestReport();
+			initializeDatatable();
+			executeFramework();
+			quitWebDriver();
+		}
 		wrapUp();
 	}
 
+	private void executeIterationsInParallel(int nIterationThreads) {
+		AtomicInteger nextIteration = new AtomicInteger(currentIteration);
+		AtomicBoolean iterationsStopped = new AtomicBoolean(false);
+		List<SeleniumReport> iterationReports = new ArrayList<SeleniumReport>();
+		List<Future<?>> iterationResults = new ArrayList<Future<?>>();
+
+		ExecutorService iterationExecutor = Executors.newFixedThreadPool(nIterationThreads);
+		for (int i = 0; i < nIterationThreads; i++) {
+			DriverScript iterationWorker = new DriverScript(this);
+			iterationWorker.initializeBufferedTestReport();
+			iterationReports.add(iterationWorker.report);
+			iterationResults.add(iterationExecutor
+					.submit(() -> iterationWorker.executeIterationWorker(nextIteration, iterationsStopped)));
+		}
+		iterationExecutor.shutdown();
+
+		// All the workers are waited for (and their test logs merged) before
+		// the failure of any of them is passed on
+		Throwable iterationFailure = null;
+		for (Future<?> iterationResult : iterationResults) {
+			try {
+				iterationResult.get();
+			} catch (ExecutionException e) {
+				if (iterationFailure == null) {
+					iterationFailure = e.getCause();
+				}
+			} catch (InterruptedException e) {
+				iterationExecutor.shutdownNow();
+				Thread.currentThread().interrupt();
+				throw new FrameworkException("Interrupted while waiting for the iterations to complete");
+			}
+		}
+
+		// The test log of each iteration is merged in the iteration order
+		report.mergeTestLog(iterationReports);
+
+		if (iterationFailure instanceof RuntimeException) {
+			throw (RuntimeException) iterationFailure;
+		}
+		if (iterationFailure instanceof Error) {
+			throw (Error) iterationFailure;
+		}
+	}
+
+	private void initializeBufferedTestReport() {
+		report = new SeleniumReport(reportSettings, getReportTheme(), testParameters);
+		report.initializeBufferedTestLog();
+	}
+
+	private void executeIterationWorker(AtomicInteger nextIteration, AtomicBoolean iterationsStopped) {
+		int firstIteration = currentIteration;
+		currentIteration = nextIteration.getAndIncrement();
+		if (currentIteration > testParameters.getEndIteration() || iterationsStopped.get()) {
+			return;
+		}
+		if (currentIteration != firstIteration) {
+			iterationWarning = null; // Reported once, within the first iteration
+		}
+		report.startTestLogSegment(currentIteration);
+
+		try {
+			initializeWebDriver();
+		} catch (Exception ex) {
+			report.addTestLogSection("Iteration: " + Integer.toString(currentIteration));
+			exceptionHandler(ex, "Error");
+			return;
+		}
+		report.setDriver(driver);
+
+		try {
+			initializeDatatable();
+			// The iterations of this worker are not consecutive
+			dataTable.setPrefetchEnabled(false);
+			initializeTestCase();
+
+			testCase.setUp();
+			while (true) {
+				executeTestIteration();
+				if (testcaseTerminated || frameworkParameters.getStopExecution()) {
+					iterationsStopped.set(true);
+				}
+
+				currentIteration = nextIteration.getAndIncrement();
+				if (currentIteration > testParameters.getEndIteration() || iterationsStopped.get()) {
+					break;
+				}
+				report.startTestLogSegment(currentIteration);
+				dataTable.setCurrentRow(testParameters.getCurrentTestcase(), currentIteration);
+			}
+		} catch (FrameworkException fx) {
+			exceptionHandler(fx, fx.getErrorName());
+		} catch (Exception ex) {
+			exceptionHandler(ex, "Error");
+		} finally {
+			if (testCase != null) {
+				try {
+					testCase.tearDown(); // tearDown will ALWAYS be called
+				} catch (Exception e) {
+					exceptionHandler(e, "Error");
+				}
+			}
+			if (dataTable != null) {
+				flushDatatable();
+				completeDataLeases();
+			}
+			quitWebDriver();
+		}
+	}
+
 	private void executeFramework() {
 
 		initializeTestCase();
@@ -182,6 +326,8 @@ public class DriverScript {
 			} catch (Exception e) {
 				exceptionHandler(e, "Error");
 			}
+			flushDatatable();
+			completeDataLeases();
 		}
 
 	}
@@ -264,10 +410,22 @@ public class DriverScript {
 				frameworkParameters.getRelativePath() + Util.getFileSeparator() + "src" + Util.getFileSeparator()
 						+ "test" + Util.getFileSeparator() + "resources" + Util.getFileSeparator() + "Datatables");
 		String datatablePath = encryptedDatatablePath;
-		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, testParameters.getCurrentScenario());
-		testDataAccess.setDatasheetName(properties.getProperty("DefaultDataSheet"));
+		DataTable testDataTable = new DataTable(datatablePath, testParameters.getCurrentScenario());
+		testDataTable.setDatatableFormat(getDatatableFormat());
+		testDataTable.setCurrentRow(testParameters.getCurrentTestcase(), 0);
+
+		String currentTestcase = testParameters.getCurrentTestcase();
+		IterationMetadata iterationMetadata = testDataTable
+				.getIterationMetadata(properties.getProperty("DefaultDataSheet"));
+		if (!iterationMetadata.getMissingIterations(currentTestcase).isEmpty()) {
+			iterationWarning = "Iterations " + iterationMetadata.getMissingIterations(currentTestcase)
+					+ " are missing from the default data sheet, so the iterations after the first gap are skipped";
+		} else if (!iterationMetadata.getDuplicateIterations(currentTestcase).isEmpty()) {
+			iterationWarning = "Iterations " + iterationMetadata.getDuplicateIterations(currentTestcase)
+					+ " are duplicated within the default data sheet, so only their first occurrence is used";
+		}
 
-		return testDataAccess.getRowCount(testParameters.getCurrentTestcase(), 0);
+		return iterationMetadata.getIterationCount(currentTestcase);
 
 	}
 
@@ -341,10 +499,8 @@ public class DriverScript {
 
 	private void initializeTestReport() {
 		initializeReportSettings();
-		ReportTheme reportTheme = ReportThemeFactory
-				.getReportsTheme(Theme.valueOf(properties.getProperty("ReportsTheme")));
 
-		report = new SeleniumReport(reportSettings, reportTheme, testParameters);
+		report = new SeleniumReport(reportSettings, getReportTheme(), testParameters);
 
 		report.initialize();
 		report.setDriver(driver);
@@ -352,6 +508,10 @@ public class DriverScript {
 		createTestLogHeader();
 	}
 
+	private ReportTheme getReportTheme() {
+		return ReportThemeFactory.getReportsTheme(Theme.valueOf(properties.getProperty("ReportsTheme")));
+	}
+
 	private void initializeReportSettings() {
 		if (System.getProperty("ReportPath") != null) {
 			reportPath = System.getProperty("ReportPath");
@@ -365,7 +525,14 @@ public class DriverScript {
 		reportSettings.setDateFormatString(properties.getProperty("DateFormatString"));
 		reportSettings.setLogLevel(Integer.parseInt(properties.getProperty("LogLevel")));
 		reportSettings.setProjectName(properties.getProperty("ProjectName"));
+		reportSettings.setGenerateExcelReports(Boolean.parseBoolean(properties.getProperty("ExcelReport")));
 		reportSettings.setGenerateHtmlReports(Boolean.parseBoolean(properties.getProperty("HtmlReport")));
+		reportSettings.setShareReportAssets(Boolean.parseBoolean(properties.getProperty("ShareReportAssets")));
+		reportSettings.setCompressHtmlReports(Boolean.parseBoolean(properties.getProperty("CompressHtmlReports")));
+		reportSettings.setGenerateJsonLinesReports(Boolean.parseBoolean(properties.getProperty("JsonLinesReport")));
+		reportSettings.setJsonLinesSyncPolicy(
+				JsonLinesSyncPolicy.valueOf(properties.getProperty("JsonLinesSyncPolicy", "ON_CLOSE")));
+		reportSettings.setReportAsynchronously(Boolean.parseBoolean(properties.getProperty("AsynchronousReporting")));
 		reportSettings
 				.setTakeScreenshotFailedStep(Boolean.parseBoolean(properties.getProperty("TakeScreenshotFailedStep")));
 		reportSettings
@@ -415,51 +582,21 @@ public class DriverScript {
 		String datatablePath = frameworkParameters.getRelativePath() + Util.getFileSeparator() + "src"
 				+ Util.getFileSeparator() + "test" + Util.getFileSeparator() + "resources" + Util.getFileSeparator()
 				+ "Datatables";
-		String encryptedDatatablePath = WhitelistingPath.cleanStringForFilePath(
-				datatablePath + Util.getFileSeparator() + testParameters.getCurrentScenario() + ".xls");
 
-		String runTimeDatatablePath;
+		dataTable = new DataTable(datatablePath, testParameters.getCurrentScenario());
+		dataTable.setDatatableFormat(getDatatableFormat());
+		// Output values are kept in an overlay, from which the run-time
+		// datatable within the report is built at the end of the run
 		Boolean includeTestDataInReport = Boolean.parseBoolean(properties.getProperty("IncludeTestDataInReport"));
 		if (includeTestDataInReport) {
-			runTimeDatatablePath = reportPath + Util.getFileSeparator() + "Datatables";
-			String encryptedRunTimeDatatablePath = WhitelistingPath.cleanStringForFilePath(
-					runTimeDatatablePath + Util.getFileSeparator() + testParameters.getCurrentScenario() + ".xls");
-
-			File runTimeDatatable = new File(encryptedRunTimeDatatablePath);
-			if (!runTimeDatatable.exists()) {
-				File datatable = new File(encryptedDatatablePath);
-
-				try {
-					FileUtils.copyFile(datatable, runTimeDatatable);
-				} catch (IOException e) {
-					e.printStackTrace();
-					throw new FrameworkException(
-							"Error in creating run-time datatable: Copying the datatable failed...");
-				}
-			}
-
-			String encryptedRunTimeCommonDatatable = WhitelistingPath
-					.cleanStringForFilePath(runTimeDatatablePath + Util.getFileSeparator() + "Common Testdata.xls");
-			File runTimeCommonDatatable = new File(encryptedRunTimeCommonDatatable);
-			if (!runTimeCommonDatatable.exists()) {
-				String encryptedCommonDatatable = WhitelistingPath
-						.cleanStringForFilePath(datatablePath + Util.getFileSeparator() + "Common Testdata.xls");
-				File commonDatatable = new File(encryptedCommonDatatable);
-
-				try {
-					FileUtils.copyFile(commonDatatable, runTimeCommonDatatable);
-				} catch (IOException e) {
-					e.printStackTrace();
-					throw new FrameworkException(
-							"Error in creating run-time datatable: Copying the common datatable failed...");
-				}
-			}
-		} else {
-			runTimeDatatablePath = datatablePath;
+			String runTimeDatatablePath = reportPath + Util.getFileSeparator() + "Datatables";
+			dataTable.setDatatableOverlay(DatatableOverlay.getInstance(getDatatableFormat(), datatablePath,
+					runTimeDatatablePath, testParameters.getCurrentScenario()));
 		}
 
-		dataTable = new DataTable(runTimeDatatablePath, testParameters.getCurrentScenario());
 		dataTable.setDataReferenceIdentifier(properties.getProperty("DataReferenceIdentifier"));
+		dataTable.setReadMode(DatatableReadMode.valueOf(properties.getProperty("DatatableReadMode", "CACHED")));
+		dataTable.setPrefetchEnabled(Boolean.parseBoolean(properties.getProperty("PrefetchTestData", "False")));
 
 		// Initialize the datatable row in case test data is required during
 		// the setUp()
@@ -467,6 +604,30 @@ public class DriverScript {
 
 	}
 
+	private DatatableFormat getDatatableFormat() {
+		return DatatableFormat.valueOf(properties.getProperty("DatatableFormat", "EXCEL"));
+	}
+
+	private void flushDatatable() {
+		// Write the output values staged during the iteration into the
+		// datatable
+		try {
+			dataTable.flush();
+		} catch (FrameworkException fx) {
+			exceptionHandler(fx, fx.getErrorName());
+		}
+	}
+
+	private void completeDataLeases() {
+		// Rows which were not consumed by the test are returned to their pool
+		for (DataLease dataLease : dataTable.completeDataLeases()) {
+			report.updateTestLog("Test Data Pool",
+					"Row \"" + dataLease.getRowId() + "\" of the sheet \"" + dataLease.getDatasheetName() + "\" "
+							+ (dataLease.isConsumed() ? "consumed" : "released"),
+					Status.DONE);
+		}
+	}
+
 	private void exceptionHandler(Exception ex, String exceptionName) {
 		// Error reporting
 		String exceptionDescription = ex.getMessage();
@@ -492,6 +653,7 @@ public class DriverScript {
 			report.updateTestLog("Framework Info", "Test execution terminated by user! All subsequent tests aborted...",
 					Status.DONE);
 			currentIteration = testParameters.getEndIteration();
+			testcaseTerminated = true;
 		} else {
 			OnError onError = OnError.valueOf(properties.getProperty("OnError"));
 			switch (onError) {
@@ -507,6 +669,7 @@ public class DriverScript {
 							"Test case terminated by user! Proceeding to next test case (if applicable)...",
 							Status.DONE);
 					currentIteration = testParameters.getEndIteration();
+					testcaseTerminated = true;
 					break;
 
 				case STOP:
@@ -515,6 +678,7 @@ public class DriverScript {
 							"Test execution terminated by user! All subsequent tests aborted...",
 							Status.DONE);
 					currentIteration = testParameters.getEndIteration();
+					testcaseTerminated = true;
 					break;
 
 				default:
@@ -545,6 +709,7 @@ public class DriverScript {
 	private void closeTestReport() {
 		executionTime = Util.getTimeDifference(startTime, endTime);
 		report.addTestLogFooter(executionTime);
+		report.drainReportEvents();
 	}
 
 	private boolean isMobileAutomation() {
@@ -557,22 +722,31 @@ public class DriverScript {
 
 	private void executeTestIterations() {
 		while (currentIteration <= testParameters.getEndIteration()) {
-			report.addTestLogSection("Iteration: " + Integer.toString(currentIteration));
-
-			// Evaluate each test iteration for any errors
-			try {
-				testCase.executeTest();
-			} catch (FrameworkException fx) {
-				exceptionHandler(fx, fx.getErrorName());
-			} catch (Exception ex) {
-				exceptionHandler(ex, "Error");
-			}
+			executeTestIteration();
 
 			currentIteration++;
 			dataTable.setCurrentRow(testParameters.getCurrentTestcase(), currentIteration);
 		}
 	}
 
+	private void executeTestIteration() {
+		report.addTestLogSection("Iteration: " + Integer.toString(currentIteration));
+		if (iterationWarning != null) {
+			report.updateTestLog("Test Data", iterationWarning, Status.WARNING);
+			iterationWarning = null;
+		}
+
+		// Evaluate each test iteration for any errors
+		try {
+			testCase.executeTest();
+		} catch (FrameworkException fx) {
+			exceptionHandler(fx, fx.getErrorName());
+		} catch (Exception ex) {
+			exceptionHandler(ex, "Error");
+		}
+		flushDatatable();
+	}
+
 	private void initializeTestCase() {
 		driverUtil = new WebDriverUtil(driver);
 		scriptHelper = new ScriptHelper(dataTable, report, driver, driverUtil, reusableHandle);
@@ -0,0 +1,35 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+/**
+ * Enumeration to represent the various options for automatically fitting the
+ * column widths to their contents
+ * @author Cognizant
+ */
+public enum AutoFitMode {
+	/**
+	 * Estimate the column widths from a table of character widths, inspecting
+	 * a sample of the rows (fast, and does not require any fonts to be
+	 * installed)
+	 */
+	ESTIMATED,
+	/**
+	 * Measure every cell using the AWT font metrics (slow, and requires the
+	 * fonts used in the workbook to be installed)
+	 */
+	FONT_METRICS;
+}
@@ -0,0 +1,187 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Class which holds the test log entries in memory (grouped into numbered
+ * segments), so that they can be merged into another report later
+ * 
+ * @author Cognizant
+ */
+class BufferedReportType implements ReportType {
+	private final List<TestLogSegment> testLogSegments = new ArrayList<TestLogSegment>();
+	private TestLogSegment currentSegment;
+
+	/**
+	 * Function to start a new segment, into which the subsequent test log
+	 * entries are recorded
+	 * 
+	 * @param sequenceNumber
+	 *            The sequence number of the segment, which determines its
+	 *            position in the merged test log
+	 */
+	void startSegment(int sequenceNumber) {
+		currentSegment = new TestLogSegment(sequenceNumber);
+		testLogSegments.add(currentSegment);
+	}
+
+	/**
+	 * Function to get the sequence number of the segment currently being
+	 * recorded
+	 * 
+	 * @return The sequence number (0 if no segment has been started)
+	 */
+	int getCurrentSequenceNumber() {
+		return (currentSegment == null) ? 0 : currentSegment.getSequenceNumber();
+	}
+
+	/**
+	 * Function to get the test log segments recorded so far
+	 * 
+	 * @return The list of {@link TestLogSegment}s, in the order of recording
+	 */
+	List<TestLogSegment> getSegments() {
+		return testLogSegments;
+	}
+
+	private void record(Consumer<ReportType> testLogEntry) {
+		if (currentSegment == null) {
+			startSegment(0);
+		}
+		currentSegment.testLogEntries.add(testLogEntry);
+	}
+
+	@Override
+	public void initializeTestLog() {
+		// The test log is initialized by the report into which it is merged
+	}
+
+	@Override
+	public void addTestLogHeading(String heading) {
+		record(reportType -> reportType.addTestLogHeading(heading));
+	}
+
+	@Override
+	public void addTestLogSubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		record(reportType -> reportType.addTestLogSubHeading(subHeading1, subHeading2, subHeading3, subHeading4));
+	}
+
+	@Override
+	public void addTestLogTableHeadings() {
+		record(reportType -> reportType.addTestLogTableHeadings());
+	}
+
+	@Override
+	public void addTestLogSection(String section) {
+		record(reportType -> reportType.addTestLogSection(section));
+	}
+
+	@Override
+	public void addTestLogSubSection(String subSection) {
+		record(reportType -> reportType.addTestLogSubSection(subSection));
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+			String screenshotName, Date stepTime) {
+		record(reportType -> reportType.updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+				screenshotName, stepTime));
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String endPoint, Object expectedValue, Object actualValue,
+			Status stepStatus, Date stepTime) {
+		record(reportType -> reportType.updateTestLog(stepNumber, endPoint, expectedValue, actualValue,
+				stepStatus, stepTime));
+	}
+
+	@Override
+	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
+		// The footer is added by the report into which the test log is merged
+	}
+
+	@Override
+	public void initializeResultSummary() {
+		throw new FrameworkException("The result summary cannot be buffered!");
+	}
+
+	@Override
+	public void addResultSummaryHeading(String heading) {
+		throw new FrameworkException("The result summary cannot be buffered!");
+	}
+
+	@Override
+	public void addResultSummarySubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		throw new FrameworkException("The result summary cannot be buffered!");
+	}
+
+	@Override
+	public void addResultSummaryTableHeadings() {
+		throw new FrameworkException("The result summary cannot be buffered!");
+	}
+
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName, String executionTime,
+			String testStatus) {
+		throw new FrameworkException("The result summary cannot be buffered!");
+	}
+
+	@Override
+	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed) {
+		throw new FrameworkException("The result summary cannot be buffered!");
+	}
+
+	/**
+	 * Class to encapsulate a numbered segment of the buffered test log
+	 */
+	static final class TestLogSegment {
+		private final int sequenceNumber;
+		private final List<Consumer<ReportType>> testLogEntries = new ArrayList<Consumer<ReportType>>();
+
+		private TestLogSegment(int sequenceNumber) {
+			this.sequenceNumber = sequenceNumber;
+		}
+
+		/**
+		 * Function to get the sequence number of the segment
+		 * 
+		 * @return The sequence number
+		 */
+		int getSequenceNumber() {
+			return sequenceNumber;
+		}
+
+		/**
+		 * Function to write the entries of the segment into the specified
+		 * report type
+		 * 
+		 * @param reportType
+		 *            The {@link ReportType} into which the entries are written
+		 */
+		void replay(ReportType reportType) {
+			for (Consumer<ReportType> testLogEntry : testLogEntries) {
+				testLogEntry.accept(reportType);
+			}
+		}
+	}
+}
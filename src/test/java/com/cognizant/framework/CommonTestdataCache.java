@@ -0,0 +1,128 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Singleton class which memoises the common test data rows resolved during a
+ * test batch execution, keyed by their data reference ID, so that each row is
+ * looked up only once however often it is referenced. The common test data is
+ * assumed not to change during the execution.
+ * 
+ * @author Cognizant
+ */
+public class CommonTestdataCache {
+	private static final String COMMON_DATATABLE_NAME = "Common Testdata";
+	private static final String COMMON_DATASHEET_NAME = "Common_Testdata";
+
+	private static final CommonTestdataCache COMMON_TESTDATA_CACHE = new CommonTestdataCache();
+
+	private final Map<String, Map<String, CommonTestdataRow>> commonTestdataRows =
+			new ConcurrentHashMap<String, Map<String, CommonTestdataRow>>();
+
+	private CommonTestdataCache() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to return the singleton instance of the
+	 * {@link CommonTestdataCache} object
+	 * 
+	 * @return Instance of the {@link CommonTestdataCache} object
+	 */
+	public static CommonTestdataCache getInstance() {
+		return COMMON_TESTDATA_CACHE;
+	}
+
+	/**
+	 * Function to discard all the memoised common test data rows
+	 */
+	public void clear() {
+		commonTestdataRows.clear();
+	}
+
+	/**
+	 * Function to get the common test data row identified by the specified data
+	 * reference ID
+	 * 
+	 * @param dataSource
+	 *            The {@link DataSource} from which the common test data is read
+	 * @param datatablePath
+	 *            The path where the common test data is stored
+	 * @param dataReferenceId
+	 *            The data reference ID (i.e., the value in the first column of
+	 *            the row)
+	 * @return The {@link CommonTestdataRow}
+	 */
+	CommonTestdataRow getRow(DataSource dataSource, String datatablePath, String dataReferenceId) {
+		Map<String, CommonTestdataRow> datatableRows = commonTestdataRows.computeIfAbsent(
+				dataSource.getAbsolutePath(datatablePath, COMMON_DATATABLE_NAME),
+				key -> new ConcurrentHashMap<String, CommonTestdataRow>());
+
+		CommonTestdataRow commonTestdataRow = datatableRows.get(dataReferenceId);
+		if (commonTestdataRow == null) {
+			ExcelSheetSnapshot commonDatasheet = dataSource.getDatasheet(datatablePath, COMMON_DATATABLE_NAME,
+					COMMON_DATASHEET_NAME);
+			int rowNum = commonDatasheet.getIndex().getRowNum(dataReferenceId);
+			if (rowNum == -1) {
+				throw new FrameworkException("The common test data row identified by \"" + dataReferenceId + "\""
+						+ "is not found in the common test data sheet!");
+			}
+
+			commonTestdataRow = new CommonTestdataRow(commonDatasheet, rowNum);
+			datatableRows.putIfAbsent(dataReferenceId, commonTestdataRow);
+		}
+
+		return commonTestdataRow;
+	}
+
+	/**
+	 * Class to encapsulate a single row of the common test data
+	 */
+	static final class CommonTestdataRow {
+		private final ExcelSheetSnapshot commonDatasheet;
+		private final int rowNum;
+
+		private CommonTestdataRow(ExcelSheetSnapshot commonDatasheet, int rowNum) {
+			this.commonDatasheet = commonDatasheet;
+			this.rowNum = rowNum;
+		}
+
+		/**
+		 * Function to get the value of the specified field within the row
+		 * 
+		 * @param fieldName
+		 *            The name of the field whose value is required
+		 * @return The value of the field
+		 */
+		String getValue(String fieldName) {
+			int columnNum = commonDatasheet.getIndex().getColumnNum(fieldName);
+			if (columnNum == -1) {
+				throw new FrameworkException("The specified column header \"" + fieldName + "\""
+						+ "is not found in the sheet \"" + commonDatasheet.getSheetName() + "\"!");
+			}
+
+			return commonDatasheet.getValue(rowNum, columnNum);
+		}
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		throw new CloneNotSupportedException();
+	}
+}
@@ -0,0 +1,297 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class to compile Excel workbooks into a compact binary format, which is read
+ * back through a memory-mapped buffer instead of parsing the workbook. A
+ * compiled workbook is rebuilt whenever the contents of the source workbook
+ * change.<br>
+ * <br>
+ * Layout of a compiled workbook (big-endian):
+ * <ul>
+ * <li>Header: magic number, source last modified time, source size, SHA-256
+ * hash of the source</li>
+ * <li>String pool: string count, string offsets (count + 1), UTF-8 bytes</li>
+ * <li>Worksheets: sheet count, then for each sheet its name (string ID), row
+ * count, cell count of each row (-1 for a missing row) and the cells of all
+ * the rows, each a string ID or an encoded formula error</li>
+ * </ul>
+ * 
+ * @author Cognizant
+ */
+final class CompiledWorkbook {
+	private static final int MAGIC_NUMBER = 0x43445431; // "CDT1"
+	private static final int LAST_MODIFIED_OFFSET = 4;
+	private static final int HASH_OFFSET = 20;
+	private static final int HASH_LENGTH = 32;
+	private static final int HEADER_LENGTH = HASH_OFFSET + HASH_LENGTH;
+
+	private CompiledWorkbook() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to get the snapshot of the specified workbook from its compiled
+	 * form, compiling the workbook first if it has not been compiled or has
+	 * changed since it was compiled
+	 * 
+	 * @param workbookFile
+	 *            The {@link File} object representing the workbook
+	 * @param compiledWorkbookPath
+	 *            The path where the compiled workbooks are stored
+	 * @return The {@link ExcelWorkbookSnapshot}
+	 */
+	static ExcelWorkbookSnapshot load(File workbookFile, String compiledWorkbookPath) {
+		String absoluteFilePath = workbookFile.getAbsolutePath();
+		long lastModified = workbookFile.lastModified();
+		long length = workbookFile.length();
+
+		File compiledFile = new File(compiledWorkbookPath, workbookFile.getName() + "-"
+				+ Integer.toHexString(absoluteFilePath.hashCode()) + ".bin");
+		try {
+			if (compiledFile.isFile()) {
+				ExcelWorkbookSnapshot workbook = read(compiledFile, absoluteFilePath, lastModified, length);
+				if (workbook != null) {
+					return workbook;
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			// A corrupt or outdated compiled workbook is simply rebuilt
+			e.printStackTrace();
+		}
+
+		// Hash the workbook before parsing it, so that any concurrent
+		// modification results in a stale (rather than a falsely current)
+		// compiled workbook
+		byte[] hash = null;
+		try {
+			hash = getHash(workbookFile);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		ExcelWorkbookSnapshot workbook = ExcelWorkbookSnapshot.load(workbookFile);
+		if (hash != null) {
+			try {
+				write(workbook, hash, compiledFile);
+			} catch (IOException e) {
+				// The workbook has been parsed already, so the test can proceed
+				e.printStackTrace();
+			}
+		}
+
+		return workbook;
+	}
+
+	private static ExcelWorkbookSnapshot read(File compiledFile, String absoluteFilePath, long lastModified,
+			long length) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel fileChannel = FileChannel.open(compiledFile.toPath(), StandardOpenOption.READ)) {
+			buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+		}
+
+		if (buffer.getInt() != MAGIC_NUMBER) {
+			return null;
+		}
+
+		if (buffer.getLong() != lastModified || buffer.getLong() != length) {
+			// The file attributes differ, but the contents may not (e.g.,
+			// after a checkout or copy), so compare the hashes
+			byte[] compiledHash = new byte[HASH_LENGTH];
+			buffer.position(HASH_OFFSET);
+			buffer.get(compiledHash);
+			if (!Arrays.equals(compiledHash, getHash(new File(absoluteFilePath)))) {
+				return null;
+			}
+
+			try (FileChannel fileChannel = FileChannel.open(compiledFile.toPath(), StandardOpenOption.WRITE)) {
+				ByteBuffer fileAttributes = ByteBuffer.allocate(16);
+				fileAttributes.putLong(lastModified).putLong(length).flip();
+				fileChannel.write(fileAttributes, LAST_MODIFIED_OFFSET);
+			}
+		}
+
+		buffer.position(HEADER_LENGTH);
+		return decode(buffer, absoluteFilePath, lastModified, length);
+	}
+
+	private static ExcelWorkbookSnapshot decode(ByteBuffer buffer, String absoluteFilePath, long lastModified,
+			long length) {
+		int stringCount = buffer.getInt();
+		int[] stringOffsets = new int[stringCount + 1];
+		for (int i = 0; i <= stringCount; i++) {
+			stringOffsets[i] = buffer.getInt();
+		}
+
+		byte[] stringBytes = new byte[stringOffsets[stringCount]];
+		buffer.get(stringBytes);
+		String[] strings = new String[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			strings[i] = new String(stringBytes, stringOffsets[i], stringOffsets[i + 1] - stringOffsets[i],
+					StandardCharsets.UTF_8);
+		}
+
+		int sheetCount = buffer.getInt();
+		Map<String, ExcelSheetSnapshot> sheets = new HashMap<String, ExcelSheetSnapshot>();
+		for (int sheetIndex = 0; sheetIndex < sheetCount; sheetIndex++) {
+			String sheetName = strings[buffer.getInt()];
+			int rowCount = buffer.getInt();
+			int[] cellCounts = new int[rowCount];
+			for (int rowNum = 0; rowNum < rowCount; rowNum++) {
+				cellCounts[rowNum] = buffer.getInt();
+			}
+
+			String[][] cellValues = new String[rowCount][];
+			Map<Long, Byte> formulaErrors = new HashMap<Long, Byte>();
+			for (int rowNum = 0; rowNum < rowCount; rowNum++) {
+				if (cellCounts[rowNum] < 0) {
+					continue;
+				}
+
+				String[] rowValues = new String[cellCounts[rowNum]];
+				for (int columnNum = 0; columnNum < rowValues.length; columnNum++) {
+					int stringId = buffer.getInt();
+					if (stringId < 0) {
+						formulaErrors.put(ExcelSheetSnapshot.getCellKey(rowNum, columnNum),
+								(byte) (stringId - Integer.MIN_VALUE));
+					} else {
+						rowValues[columnNum] = strings[stringId];
+					}
+				}
+				cellValues[rowNum] = rowValues;
+			}
+
+			sheets.put(sheetName, new ExcelSheetSnapshot(sheetName, cellValues, formulaErrors));
+		}
+
+		return new ExcelWorkbookSnapshot(absoluteFilePath, lastModified, length, sheets);
+	}
+
+	private static void write(ExcelWorkbookSnapshot workbook, byte[] hash, File compiledFile) throws IOException {
+		Map<String, Integer> stringIds = new LinkedHashMap<String, Integer>();
+		for (ExcelSheetSnapshot worksheet : workbook.getSheets()) {
+			stringIds.putIfAbsent(worksheet.getSheetName(), stringIds.size());
+			for (int rowNum = 0; rowNum <= worksheet.getLastRowNum(); rowNum++) {
+				for (int columnNum = 0; columnNum < worksheet.getLastCellNum(rowNum); columnNum++) {
+					if (worksheet.getFormulaError(rowNum, columnNum) == null) {
+						stringIds.putIfAbsent(worksheet.getValue(rowNum, columnNum), stringIds.size());
+					}
+				}
+			}
+		}
+
+		File compiledDirectory = compiledFile.getParentFile();
+		compiledDirectory.mkdirs();
+		// Write into a temporary file first, so that parallel runs never see
+		// a partially written compiled workbook
+		Path temporaryFile = Files.createTempFile(compiledDirectory.toPath(), compiledFile.getName(), ".tmp");
+		try {
+			try (DataOutputStream outputStream = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+				writeContents(workbook, hash, stringIds, outputStream);
+			}
+			Files.move(temporaryFile, compiledFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	private static void writeContents(ExcelWorkbookSnapshot workbook, byte[] hash, Map<String, Integer> stringIds,
+			DataOutputStream outputStream) throws IOException {
+		outputStream.writeInt(MAGIC_NUMBER);
+		outputStream.writeLong(workbook.getLastModified());
+		outputStream.writeLong(workbook.getLength());
+		outputStream.write(hash);
+
+		byte[][] stringBytes = new byte[stringIds.size()][];
+		int stringIndex = 0;
+		for (String string : stringIds.keySet()) {
+			stringBytes[stringIndex++] = string.getBytes(StandardCharsets.UTF_8);
+		}
+		outputStream.writeInt(stringBytes.length);
+		int stringOffset = 0;
+		outputStream.writeInt(stringOffset);
+		for (byte[] bytes : stringBytes) {
+			stringOffset += bytes.length;
+			outputStream.writeInt(stringOffset);
+		}
+		for (byte[] bytes : stringBytes) {
+			outputStream.write(bytes);
+		}
+
+		outputStream.writeInt(workbook.getSheets().size());
+		for (ExcelSheetSnapshot worksheet : workbook.getSheets()) {
+			outputStream.writeInt(stringIds.get(worksheet.getSheetName()));
+			int rowCount = worksheet.getLastRowNum() + 1;
+			outputStream.writeInt(rowCount);
+			for (int rowNum = 0; rowNum < rowCount; rowNum++) {
+				outputStream.writeInt(worksheet.getLastCellNum(rowNum));
+			}
+			for (int rowNum = 0; rowNum < rowCount; rowNum++) {
+				for (int columnNum = 0; columnNum < worksheet.getLastCellNum(rowNum); columnNum++) {
+					Byte formulaError = worksheet.getFormulaError(rowNum, columnNum);
+					if (formulaError == null) {
+						outputStream.writeInt(stringIds.get(worksheet.getValue(rowNum, columnNum)));
+					} else {
+						outputStream.writeInt(Integer.MIN_VALUE + (formulaError & 0xFF));
+					}
+				}
+			}
+		}
+	}
+
+	private static byte[] getHash(File workbookFile) throws IOException {
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		byte[] readBuffer = new byte[8192];
+		try (InputStream inputStream = new DigestInputStream(Files.newInputStream(workbookFile.toPath()),
+				messageDigest)) {
+			while (inputStream.read(readBuffer) != -1) {
+				// Read through the file to update the digest
+			}
+		}
+
+		return messageDigest.digest();
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DataSource} which reads the test data from CSV files (RFC 4180), with
+ * the column headers in the first record
+ * 
+ * @author Cognizant
+ */
+final class CsvDataSource extends TextDataSource {
+	static final CsvDataSource INSTANCE = new CsvDataSource();
+
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	private CsvDataSource() {
+		super(".csv");
+	}
+
+	@Override
+	RowReader openRowReader(File datasheetFile) throws IOException {
+		BufferedReader reader = Files.newBufferedReader(datasheetFile.toPath(), StandardCharsets.UTF_8);
+		reader.mark(1);
+		if (reader.read() != BYTE_ORDER_MARK) {
+			reader.reset();
+		}
+
+		String[] header = readRecord(reader);
+		return new RowReader() {
+			@Override
+			public String[] readRow() throws IOException {
+				return readRecord(reader);
+			}
+
+			@Override
+			public String[] getHeader() {
+				return (header == null) ? new String[0] : header;
+			}
+
+			@Override
+			public void close() throws IOException {
+				reader.close();
+			}
+		};
+	}
+
+	private static String[] readRecord(BufferedReader reader) throws IOException {
+		int c = reader.read();
+		if (c == -1) {
+			return null;
+		}
+
+		List<String> fields = new ArrayList<String>();
+		StringBuilder field = new StringBuilder();
+		boolean isQuoted = false;
+		while (true) {
+			if (isQuoted) {
+				if (c == -1) {
+					throw new IOException("Unterminated quoted field");
+				} else if (c == QUOTE) {
+					reader.mark(1);
+					if (reader.read() == QUOTE) {
+						field.append(QUOTE);
+					} else {
+						reader.reset();
+						isQuoted = false;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == QUOTE) {
+				isQuoted = true;
+			} else if (c == SEPARATOR) {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\r' || c == '\n' || c == -1) {
+				if (c == '\r') {
+					reader.mark(1);
+					if (reader.read() != '\n') {
+						reader.reset();
+					}
+				}
+				fields.add(field.toString());
+				return fields.toArray(new String[fields.size()]);
+			} else {
+				field.append((char) c);
+			}
+
+			c = reader.read();
+		}
+	}
+
+	@Override
+	void writeRows(Writer writer, String[] header, List<String[]> rows) throws IOException {
+		writeRecord(writer, header);
+		for (String[] row : rows) {
+			writeRecord(writer, row);
+		}
+	}
+
+	private static void writeRecord(Writer writer, String[] record) throws IOException {
+		for (int i = 0; i < record.length; i++) {
+			if (i > 0) {
+				writer.write(SEPARATOR);
+			}
+
+			String field = record[i];
+			if (field.indexOf(SEPARATOR) != -1 || field.indexOf(QUOTE) != -1 || field.indexOf('\r') != -1
+					|| field.indexOf('\n') != -1) {
+				writer.write(QUOTE + field.replace("\"", "\"\"") + QUOTE);
+			} else {
+				writer.write(field);
+			}
+		}
+		writer.write("\r\n");
+	}
+}
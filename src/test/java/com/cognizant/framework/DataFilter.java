@@ -0,0 +1,270 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Class to encapsulate a condition on the value of a column, used to look up
+ * the matching rows of a datatable sheet. The conditions are evaluated using
+ * the indexes of the cached sheet (a hash index for the equality conditions
+ * and sorted indexes for the range and prefix conditions), except for the
+ * custom conditions specified using
+ * {@link #matching(String, Predicate)}, which are checked row by row.
+ * 
+ * <pre>
+ * List&lt;DataRow&gt; activeUsers = dataTable.findRows("Users", DataFilter.equalTo("Status", "Active"),
+ * 		DataFilter.atLeast("Age", 18));
+ * </pre>
+ * 
+ * @author Cognizant
+ * @see DataTable#findRows(String, DataFilter...)
+ */
+public abstract class DataFilter {
+	private final String fieldName;
+
+	private DataFilter(String fieldName) {
+		this.fieldName = fieldName;
+	}
+
+	/**
+	 * Function to get the name of the field on which the condition applies
+	 * 
+	 * @return The field name
+	 */
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * Function to look up the rows which satisfy this condition
+	 * 
+	 * @param columnIndex
+	 *            The {@link ExcelColumnIndex} of the field
+	 * @return The matching row numbers in ascending order (null if the
+	 *         condition cannot be looked up using the index)
+	 */
+	abstract int[] getRowNums(ExcelColumnIndex columnIndex);
+
+	/**
+	 * Function to check whether the specified value satisfies this condition
+	 * 
+	 * @param value
+	 *            The value to be checked (null if the cell holds a formula
+	 *            error)
+	 * @return Boolean value indicating whether the value satisfies the
+	 *         condition
+	 */
+	abstract boolean matches(String value);
+
+	/**
+	 * Function to create a condition which matches the rows whose value equals
+	 * the specified value
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param value
+	 *            The value to be matched
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter equalTo(String fieldName, String value) {
+		return new DataFilter(fieldName) {
+			@Override
+			int[] getRowNums(ExcelColumnIndex columnIndex) {
+				return columnIndex.getRowNums(value);
+			}
+
+			@Override
+			boolean matches(String cellValue) {
+				return value.equals(cellValue);
+			}
+		};
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose value equals
+	 * any of the specified values
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param values
+	 *            The values to be matched
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter in(String fieldName, String... values) {
+		Set<String> valueSet = new HashSet<String>(Arrays.asList(values));
+		return new DataFilter(fieldName) {
+			@Override
+			int[] getRowNums(ExcelColumnIndex columnIndex) {
+				int[] rowNums = new int[0];
+				for (String value : valueSet) {
+					int[] valueRowNums = columnIndex.getRowNums(value);
+					int[] mergedRowNums = Arrays.copyOf(rowNums, rowNums.length + valueRowNums.length);
+					System.arraycopy(valueRowNums, 0, mergedRowNums, rowNums.length, valueRowNums.length);
+					rowNums = mergedRowNums;
+				}
+				Arrays.sort(rowNums);
+				return rowNums;
+			}
+
+			@Override
+			boolean matches(String cellValue) {
+				return valueSet.contains(cellValue);
+			}
+		};
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose value starts
+	 * with the specified prefix
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param prefix
+	 *            The prefix to be matched
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter startsWith(String fieldName, String prefix) {
+		return new DataFilter(fieldName) {
+			@Override
+			int[] getRowNums(ExcelColumnIndex columnIndex) {
+				return columnIndex.getRowNumsWithPrefix(prefix);
+			}
+
+			@Override
+			boolean matches(String cellValue) {
+				return cellValue != null && cellValue.startsWith(prefix);
+			}
+		};
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose numeric value
+	 * lies within the specified range (both bounds inclusive)
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param lowerBound
+	 *            The lower bound of the range
+	 * @param upperBound
+	 *            The upper bound of the range
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter between(String fieldName, double lowerBound, double upperBound) {
+		return range(fieldName, lowerBound, true, upperBound, true);
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose numeric value
+	 * is greater than or equal to the specified value
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param lowerBound
+	 *            The value to be compared against
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter atLeast(String fieldName, double lowerBound) {
+		return range(fieldName, lowerBound, true, Double.POSITIVE_INFINITY, true);
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose numeric value
+	 * is greater than the specified value
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param lowerBound
+	 *            The value to be compared against
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter greaterThan(String fieldName, double lowerBound) {
+		return range(fieldName, lowerBound, false, Double.POSITIVE_INFINITY, true);
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose numeric value
+	 * is less than or equal to the specified value
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param upperBound
+	 *            The value to be compared against
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter atMost(String fieldName, double upperBound) {
+		return range(fieldName, Double.NEGATIVE_INFINITY, true, upperBound, true);
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose numeric value
+	 * is less than the specified value
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param upperBound
+	 *            The value to be compared against
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter lessThan(String fieldName, double upperBound) {
+		return range(fieldName, Double.NEGATIVE_INFINITY, true, upperBound, false);
+	}
+
+	private static DataFilter range(String fieldName, double lowerBound, boolean lowerInclusive,
+			double upperBound, boolean upperInclusive) {
+		return new DataFilter(fieldName) {
+			@Override
+			int[] getRowNums(ExcelColumnIndex columnIndex) {
+				return columnIndex.getRowNums(lowerBound, lowerInclusive, upperBound, upperInclusive);
+			}
+
+			@Override
+			boolean matches(String cellValue) {
+				double number = ExcelColumnIndex.parseNumber(cellValue);
+				return !Double.isNaN(number) && (lowerInclusive ? number >= lowerBound : number > lowerBound)
+						&& (upperInclusive ? number <= upperBound : number < upperBound);
+			}
+		};
+	}
+
+	/**
+	 * Function to create a condition which matches the rows whose value
+	 * satisfies the specified predicate (checked against every row, since it
+	 * cannot be looked up using an index)
+	 * 
+	 * @param fieldName
+	 *            The name of the field
+	 * @param predicate
+	 *            The predicate to be satisfied
+	 * @return The {@link DataFilter}
+	 */
+	public static DataFilter matching(String fieldName, Predicate<String> predicate) {
+		return new DataFilter(fieldName) {
+			@Override
+			int[] getRowNums(ExcelColumnIndex columnIndex) {
+				return null;
+			}
+
+			@Override
+			boolean matches(String cellValue) {
+				return cellValue != null && predicate.test(cellValue);
+			}
+		};
+	}
+}
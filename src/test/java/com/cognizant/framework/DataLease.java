@@ -0,0 +1,104 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+/**
+ * Class to encapsulate a row of test data leased from a pool, for the
+ * exclusive use of the current test instance
+ * 
+ * @author Cognizant
+ * @see DataTable#leaseRow(String)
+ */
+public final class DataLease {
+	private final TestDataPool testDataPool;
+	private final ExcelSheetSnapshot poolDatasheet;
+	private final int rowNum;
+	private boolean completed = false, consumed = false;
+
+	DataLease(TestDataPool testDataPool, int rowNum) {
+		this.testDataPool = testDataPool;
+		// The row number is only valid within the snapshot of the pool
+		this.poolDatasheet = testDataPool.getPoolDatasheet();
+		this.rowNum = rowNum;
+	}
+
+	/**
+	 * Function to get the name of the sheet from which the row is leased
+	 * 
+	 * @return The sheet name
+	 */
+	public String getDatasheetName() {
+		return poolDatasheet.getSheetName();
+	}
+
+	/**
+	 * Function to get the ID of the leased row (i.e., the value in its first
+	 * column)
+	 * 
+	 * @return The row ID
+	 */
+	public String getRowId() {
+		return poolDatasheet.getValue(rowNum, 0);
+	}
+
+	/**
+	 * Function to get the test data value corresponding to the field name passed
+	 * 
+	 * @param fieldName The name of the field whose value is required
+	 * @return The test data present in the field name specified
+	 */
+	public String getData(String fieldName) {
+		int columnNum = poolDatasheet.getIndex().getColumnNum(fieldName);
+		if (columnNum == -1) {
+			throw new FrameworkException("The specified column header \"" + fieldName + "\""
+					+ "is not found in the sheet \"" + poolDatasheet.getSheetName() + "\"!");
+		}
+
+		return poolDatasheet.getValue(rowNum, columnNum);
+	}
+
+	/**
+	 * Function to mark the leased row as used up (e.g., once a user has been
+	 * registered using it), so that it is not leased again within the run
+	 */
+	public synchronized void consume() {
+		if (!completed) {
+			testDataPool.consume(rowNum);
+			completed = true;
+			consumed = true;
+		}
+	}
+
+	/**
+	 * Function to return the leased row to the pool, for use by other test
+	 * instances
+	 */
+	public synchronized void release() {
+		if (!completed) {
+			testDataPool.release(rowNum);
+			completed = true;
+		}
+	}
+
+	/**
+	 * Function to check whether the leased row has been used up
+	 * 
+	 * @return Boolean value indicating whether the row has been consumed
+	 */
+	public synchronized boolean isConsumed() {
+		return consumed;
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+/**
+ * Interface representing a typed record of the test data within a datatable
+ * sheet, generated from the sheet's column headers by the
+ * {@link DatatableRecordGenerator}
+ * 
+ * @param <T>
+ *            The generated record class
+ * @author Cognizant
+ * @see DataTable#getRecord(DataRecordType)
+ */
+public interface DataRecordType<T> {
+	/**
+	 * Function to get the name of the sheet from which the record is read
+	 * 
+	 * @return The sheet name
+	 */
+	public String getDatasheetName();
+
+	/**
+	 * Function to get the names of the fields held by the record
+	 * 
+	 * @return The field names, in the order expected by
+	 *         {@link #createRecord(String[])}
+	 */
+	public String[] getFieldNames();
+
+	/**
+	 * Function to create a record holding the specified values
+	 * 
+	 * @param values
+	 *            The values of the fields, in the order of
+	 *            {@link #getFieldNames()}
+	 * @return The record
+	 */
+	public T createRecord(String[] values);
+}
@@ -0,0 +1,88 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+/**
+ * Class to encapsulate a lightweight, read-only view of a row within a
+ * datatable sheet, as returned by the datatable queries
+ * 
+ * @author Cognizant
+ * @see DataTable#findRows(String, DataFilter...)
+ */
+public final class DataRow {
+	private final DataTable dataTable;
+	private final ExcelSheetSnapshot datasheet;
+	private final int rowNum;
+
+	DataRow(DataTable dataTable, ExcelSheetSnapshot datasheet, int rowNum) {
+		this.dataTable = dataTable;
+		this.datasheet = datasheet;
+		this.rowNum = rowNum;
+	}
+
+	/**
+	 * Function to get the name of the sheet in which the row is present
+	 * 
+	 * @return The sheet name
+	 */
+	public String getDatasheetName() {
+		return datasheet.getSheetName();
+	}
+
+	/**
+	 * Function to get the number of the row within the sheet
+	 * 
+	 * @return The row number
+	 */
+	public int getRowNum() {
+		return datasheet.getSourceRowNum(rowNum);
+	}
+
+	/**
+	 * Function to get the test case ID of the row (i.e., the value in its first
+	 * column)
+	 * 
+	 * @return The test case ID
+	 */
+	public String getTestcase() {
+		return datasheet.getValue(rowNum, 0);
+	}
+
+	/**
+	 * Function to get the iteration number of the row (i.e., the value in its
+	 * second column)
+	 * 
+	 * @return The iteration number (-1 if the row does not have a valid
+	 *         iteration number)
+	 */
+	public int getIteration() {
+		try {
+			return Integer.parseInt(datasheet.getValue(rowNum, 1).trim());
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Function to get the test data value corresponding to the field name passed
+	 * 
+	 * @param fieldName The name of the field whose value is required
+	 * @return The test data present in the field name specified
+	 */
+	public String getData(String fieldName) {
+		return dataTable.getRowData(datasheet, rowNum, fieldName);
+	}
+}
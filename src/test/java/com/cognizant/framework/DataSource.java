@@ -0,0 +1,120 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.Map;
+
+/**
+ * Interface to be implemented by the backends from which the {@link DataTable}
+ * reads its test data. Each datatable consists of one or more datasheets,
+ * whose first row holds the column headers, first column holds the test case
+ * ID and second column holds the iteration number.
+ * 
+ * @author Cognizant
+ */
+interface DataSource {
+
+	/**
+	 * Function to get the {@link DataSource} for the specified datatable format
+	 * 
+	 * @param datatableFormat
+	 *            The {@link DatatableFormat}
+	 * @return The {@link DataSource}
+	 */
+	static DataSource getInstance(DatatableFormat datatableFormat) {
+		switch (datatableFormat) {
+		case EXCEL:
+			return ExcelDataSource.INSTANCE;
+
+		case CSV:
+			return CsvDataSource.INSTANCE;
+
+		case JSON_LINES:
+			return JsonLinesDataSource.INSTANCE;
+
+		default:
+			throw new FrameworkException("Unhandled datatable format!");
+		}
+	}
+
+	/**
+	 * Function to get the absolute path of the specified datatable
+	 * 
+	 * @param datatablePath
+	 *            The path where the datatable is stored
+	 * @param datatableName
+	 *            The name of the datatable
+	 * @return The absolute path of the datatable file (or folder)
+	 */
+	String getAbsolutePath(String datatablePath, String datatableName);
+
+	/**
+	 * Function to get all the rows of the specified datasheet
+	 * 
+	 * @param datatablePath
+	 *            The path where the datatable is stored
+	 * @param datatableName
+	 *            The name of the datatable
+	 * @param datasheetName
+	 *            The name of the datasheet
+	 * @return The {@link ExcelSheetSnapshot} of the datasheet
+	 */
+	ExcelSheetSnapshot getDatasheet(String datatablePath, String datatableName, String datasheetName);
+
+	/**
+	 * Function to read only the header row and the rows of the specified test
+	 * case from the datasheet
+	 * 
+	 * @param datatablePath
+	 *            The path where the datatable is stored
+	 * @param datatableName
+	 *            The name of the datatable
+	 * @param datasheetName
+	 *            The name of the datasheet
+	 * @param testcase
+	 *            The test case whose rows are required
+	 * @return An {@link ExcelSheetSnapshot} containing the header row followed
+	 *         by the rows of the test case
+	 */
+	ExcelSheetSnapshot getTestcaseRows(String datatablePath, String datatableName, String datasheetName,
+			String testcase);
+
+	/**
+	 * Function to write several values into the datatable at once
+	 * 
+	 * @param datatablePath
+	 *            The path where the datatable is stored
+	 * @param datatableName
+	 *            The name of the datatable
+	 * @param values
+	 *            The values to be written, keyed by datasheet name and then by
+	 *            {@link ExcelSheetSnapshot#getCellKey(int, int)}
+	 */
+	void setValues(String datatablePath, String datatableName, Map<String, Map<Long, String>> values);
+
+	/**
+	 * Function to copy the specified datatable, unless it has been copied
+	 * already or does not exist
+	 * 
+	 * @param datatablePath
+	 *            The path where the datatable is stored
+	 * @param targetPath
+	 *            The path into which the datatable is to be copied
+	 * @param datatableName
+	 *            The name of the datatable
+	 */
+	void copyDatatable(String datatablePath, String targetPath, String datatableName);
+}
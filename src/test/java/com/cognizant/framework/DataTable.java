@@ -15,7 +15,21 @@
  */
 package com.cognizant.framework;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.cognizant.framework.CommonTestdataCache.CommonTestdataRow;
 
 /**
  * Class to encapsulate the datatable related functions of the framework
@@ -23,8 +37,27 @@ import java.util.Map;
  * @author Cognizant
  */
 public class DataTable {
+	// The sheets and fields used by each test case, learnt across all the
+	// test instances within the run
+	private static final Map<String, Map<String, Set<String>>> ACCESS_PROFILES =
+			new ConcurrentHashMap<String, Map<String, Set<String>>>();
+	private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread prefetchThread = new Thread(runnable, "DataTable-Prefetch");
+		prefetchThread.setDaemon(true);
+		return prefetchThread;
+	});
+
 	private final String datatablePath, datatableName;
 	private String dataReferenceIdentifier = "#";
+	private DataSource dataSource = DataSource.getInstance(DatatableFormat.EXCEL);
+	private DatatableReadMode readMode = DatatableReadMode.CACHED;
+	private DatatableOverlay datatableOverlay;
+	private final Map<String, StreamedDatasheet> streamedDatasheets = new HashMap<String, StreamedDatasheet>();
+	private boolean prefetchEnabled = false;
+	private Future<Map<String, StreamedDatasheet>> prefetch;
+	private int prefetchIteration;
+	private final List<DataLease> dataLeases = new ArrayList<DataLease>();
+	private final Map<DataRecordType<?>, Object> currentRecords = new HashMap<DataRecordType<?>, Object>();
 
 	private String currentTestcase;
 	private int currentIteration = 0;
@@ -53,6 +86,52 @@ public class DataTable {
 		this.dataReferenceIdentifier = dataReferenceIdentifier;
 	}
 
+	/**
+	 * Function to set the format in which the datatables are stored
+	 * 
+	 * @param datatableFormat The {@link DatatableFormat} of the datatables
+	 */
+	public void setDatatableFormat(DatatableFormat datatableFormat) {
+		this.dataSource = DataSource.getInstance(datatableFormat);
+		streamedDatasheets.clear();
+		collectPrefetch(false);
+	}
+
+	/**
+	 * Function to set the mode in which the test data is read from the datatable
+	 * 
+	 * @param readMode The {@link DatatableReadMode} to be used
+	 */
+	public void setReadMode(DatatableReadMode readMode) {
+		this.readMode = readMode;
+		streamedDatasheets.clear();
+		collectPrefetch(false);
+	}
+
+	/**
+	 * Function to set the overlay into which the output values are to be
+	 * written, instead of the datatable itself
+	 * 
+	 * @param datatableOverlay The {@link DatatableOverlay} to be used (null to
+	 *                         write into the datatable)
+	 */
+	public void setDatatableOverlay(DatatableOverlay datatableOverlay) {
+		this.datatableOverlay = datatableOverlay;
+	}
+
+	/**
+	 * Function to specify whether the test data of the next iteration is to be
+	 * read in the background, while the current iteration is being executed
+	 * (applicable only in the {@link DatatableReadMode#STREAMING} mode, since
+	 * the datatables are parsed only once per run otherwise)
+	 * 
+	 * @param prefetchEnabled Boolean value indicating whether the test data is
+	 *                        to be prefetched
+	 */
+	public void setPrefetchEnabled(boolean prefetchEnabled) {
+		this.prefetchEnabled = prefetchEnabled;
+	}
+
 	/**
 	 * Function to set the variables required to uniquely identify the exact row of
 	 * data under consideration
@@ -61,8 +140,133 @@ public class DataTable {
 	 * @param currentIteration The Iteration being executed currently
 	 */
 	public void setCurrentRow(String currentTestcase, int currentIteration) {
+		boolean testcaseChanged = this.currentTestcase == null || !this.currentTestcase.equals(currentTestcase);
+		if (testcaseChanged) {
+			streamedDatasheets.clear();
+		}
+		collectPrefetch(!testcaseChanged && currentIteration == prefetchIteration);
+
 		this.currentTestcase = currentTestcase;
 		this.currentIteration = currentIteration;
+		currentRecords.clear();
+
+		if (shouldPrefetch() && currentTestcase != null && currentIteration > 0) {
+			startPrefetch(currentIteration + 1);
+		}
+	}
+
+	private boolean shouldPrefetch() {
+		return prefetchEnabled && readMode == DatatableReadMode.STREAMING;
+	}
+
+	/**
+	 * Function to discard the sheets and fields used by each test case, as
+	 * learnt during the run (to be called at the end of the run)
+	 */
+	public static void clearAccessProfiles() {
+		ACCESS_PROFILES.clear();
+	}
+
+	private String getAccessProfileKey() {
+		return dataSource.getAbsolutePath(datatablePath, datatableName) + "|" + currentTestcase;
+	}
+
+	private void trackAccess(String datasheetName, String... fieldNames) {
+		if (!shouldPrefetch()) {
+			return;
+		}
+
+		Set<String> accessedFields = ACCESS_PROFILES
+				.computeIfAbsent(getAccessProfileKey(), key -> new ConcurrentHashMap<String, Set<String>>())
+				.computeIfAbsent(datasheetName, key -> ConcurrentHashMap.newKeySet());
+		for (String fieldName : fieldNames) {
+			accessedFields.add(fieldName);
+		}
+	}
+
+	private void startPrefetch(int iteration) {
+		Map<String, Set<String>> accessProfile = ACCESS_PROFILES.get(getAccessProfileKey());
+		if (accessProfile == null) {
+			return; // Nothing is known yet about the data used by this test case
+		}
+
+		// Everything used by the background task is either immutable or
+		// thread-safe, so that the current iteration is never held up
+		Map<String, Set<String>> accessedFields = new LinkedHashMap<String, Set<String>>();
+		for (Map.Entry<String, Set<String>> entry : accessProfile.entrySet()) {
+			accessedFields.put(entry.getKey(), new LinkedHashSet<String>(entry.getValue()));
+		}
+		Map<String, StreamedDatasheet> currentDatasheets = new HashMap<String, StreamedDatasheet>(streamedDatasheets);
+		DataSource dataSource = this.dataSource;
+		String currentTestcase = this.currentTestcase;
+		String dataReferenceIdentifier = this.dataReferenceIdentifier;
+
+		prefetchIteration = iteration;
+		prefetch = PREFETCH_EXECUTOR.submit(() -> {
+			File datatableFile = new File(dataSource.getAbsolutePath(datatablePath, datatableName));
+			Map<String, StreamedDatasheet> prefetchedDatasheets = new HashMap<String, StreamedDatasheet>();
+
+			for (Map.Entry<String, Set<String>> entry : accessedFields.entrySet()) {
+				String datasheetName = entry.getKey();
+				ExcelSheetSnapshot datasheet;
+				try {
+					long lastModified = datatableFile.lastModified();
+					long length = datatableFile.length();
+					StreamedDatasheet streamedDatasheet = currentDatasheets.get(datasheetName);
+					if (streamedDatasheet == null || streamedDatasheet.lastModified != lastModified
+							|| streamedDatasheet.length != length) {
+						streamedDatasheet = new StreamedDatasheet(dataSource.getTestcaseRows(datatablePath,
+								datatableName, datasheetName, currentTestcase), lastModified, length);
+						prefetchedDatasheets.put(datasheetName, streamedDatasheet);
+					}
+					datasheet = streamedDatasheet.datasheet;
+				} catch (FrameworkException fx) {
+					continue; // Reported as usual if the iteration asks for it
+				}
+
+				int rowNum = datasheet.getIndex().getRowNum(currentTestcase, iteration);
+				if (rowNum == -1) {
+					continue;
+				}
+				for (String fieldName : entry.getValue()) {
+					int columnNum = datasheet.getIndex().getColumnNum(fieldName);
+					try {
+						String dataValue = datasheet.getValue(rowNum, columnNum);
+						if (dataValue.startsWith(dataReferenceIdentifier)) {
+							CommonTestdataCache.getInstance().getRow(dataSource, datatablePath,
+									dataValue.split(dataReferenceIdentifier)[1]);
+						}
+					} catch (FrameworkException fx) {
+						// Reported as usual if the iteration asks for it
+					}
+				}
+			}
+
+			return prefetchedDatasheets;
+		});
+	}
+
+	private void collectPrefetch(boolean adoptPrefetchedDatasheets) {
+		if (prefetch == null) {
+			return;
+		}
+
+		Future<Map<String, StreamedDatasheet>> completedPrefetch = prefetch;
+		prefetch = null;
+		if (!adoptPrefetchedDatasheets) {
+			completedPrefetch.cancel(false);
+			return;
+		}
+
+		try {
+			// Any staleness is detected as usual when the datasheet is used
+			streamedDatasheets.putAll(completedPrefetch.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// The failed prefetch is dropped; the same error is reported when
+			// the datasheets are read on demand
+		}
 	}
 
 	private void checkPreRequisites() {
@@ -74,6 +278,78 @@ public class DataTable {
 		}
 	}
 
+	private ExcelSheetSnapshot getDatasheet(String datatableName, String datasheetName) {
+		return dataSource.getDatasheet(datatablePath, datatableName, datasheetName);
+	}
+
+	private ExcelSheetSnapshot getTestcaseDatasheet(String datasheetName) {
+		if (readMode != DatatableReadMode.STREAMING) {
+			return getDatasheet(datatableName, datasheetName);
+		}
+
+		// The streamed rows are re-read whenever the staged output values are
+		// written into the datatable
+		File datatableFile = new File(dataSource.getAbsolutePath(datatablePath, datatableName));
+		long lastModified = datatableFile.lastModified();
+		long length = datatableFile.length();
+
+		StreamedDatasheet streamedDatasheet = streamedDatasheets.get(datasheetName);
+		if (streamedDatasheet == null || streamedDatasheet.lastModified != lastModified
+				|| streamedDatasheet.length != length) {
+			streamedDatasheet = new StreamedDatasheet(
+					dataSource.getTestcaseRows(datatablePath, datatableName, datasheetName, currentTestcase),
+					lastModified, length);
+			streamedDatasheets.put(datasheetName, streamedDatasheet);
+		}
+
+		return streamedDatasheet.datasheet;
+	}
+
+	private int getCurrentRowNum(ExcelSheetSnapshot datasheet, String sheetDescription) {
+		ExcelSheetIndex index = datasheet.getIndex();
+
+		if (index.getRowNum(currentTestcase) == -1) {
+			throw new FrameworkException("The test case \"" + currentTestcase + "\"" + "is not found in the "
+					+ sheetDescription + "!");
+		}
+		int rowNum = index.getRowNum(currentTestcase, currentIteration);
+		if (rowNum == -1) {
+			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
+					+ currentTestcase + "\"" + "is not found in the " + sheetDescription + "!");
+		}
+
+		return rowNum;
+	}
+
+	private int getColumnNum(ExcelSheetSnapshot datasheet, String fieldName) {
+		int columnNum = datasheet.getIndex().getColumnNum(fieldName);
+		if (columnNum == -1) {
+			throw new FrameworkException("The specified column header \"" + fieldName + "\""
+					+ "is not found in the sheet \"" + datasheet.getSheetName() + "\"!");
+		}
+
+		return columnNum;
+	}
+
+	private String getValue(ExcelSheetSnapshot datasheet, int rowNum, String fieldName) {
+		int columnNum = getColumnNum(datasheet, fieldName);
+
+		// Output values written by putData take precedence over the datatable
+		String pendingValue;
+		if (datatableOverlay != null) {
+			pendingValue = datatableOverlay.getValue(datasheet.getSheetName(), datasheet.getSourceRowNum(rowNum),
+					columnNum);
+		} else {
+			pendingValue = ExcelWriteBuffer.getInstance().getPendingValue(dataSource, datatablePath, datatableName,
+					datasheet.getSheetName(), datasheet.getSourceRowNum(rowNum), columnNum);
+		}
+		if (pendingValue != null) {
+			return pendingValue;
+		}
+
+		return datasheet.getValue(rowNum, columnNum);
+	}
+
 	/**
 	 * Function to return the test data value corresponding to the sheet name and
 	 * field name passed
@@ -86,29 +362,25 @@ public class DataTable {
 	 */
 	public String getData(String datasheetName, String fieldName) {
 		checkPreRequisites();
+		trackAccess(datasheetName, fieldName);
 
-		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
-		testDataAccess.setDatasheetName(datasheetName);
-
-		int rowNum = testDataAccess.getRowNum(currentTestcase, 0, 1); // Start
-																		// at
-																		// row
-																		// 1,
-																		// skipping
-																		// the
-																		// header
-																		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + currentTestcase + "\""
-					+ "is not found in the test data sheet \"" + datasheetName + "\"!");
-		}
-		rowNum = testDataAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
-					+ currentTestcase + "\"" + "is not found in the test data sheet \"" + datasheetName + "\"!");
-		}
+		ExcelSheetSnapshot datasheet = getTestcaseDatasheet(datasheetName);
+		int rowNum = getCurrentRowNum(datasheet, "test data sheet \"" + datasheetName + "\"");
 
-		String dataValue = testDataAccess.getValue(rowNum, fieldName);
+		return getRowData(datasheet, rowNum, fieldName);
+	}
+
+	/**
+	 * Function to return the test data value in the specified row of the
+	 * datatable, resolving any common data reference
+	 * 
+	 * @param datasheet The sheet in which the data is present
+	 * @param rowNum    The row number within the sheet
+	 * @param fieldName The name of the field whose value is required
+	 * @return The test data present in the field name specified
+	 */
+	String getRowData(ExcelSheetSnapshot datasheet, int rowNum, String fieldName) {
+		String dataValue = getValue(datasheet, rowNum, fieldName);
 
 		if (dataValue.startsWith(dataReferenceIdentifier)) {
 			dataValue = getCommonData(fieldName, dataValue);
@@ -118,25 +390,13 @@ public class DataTable {
 	}
 
 	private String getCommonData(String fieldName, String dataValue) {
-		ExcelDataAccess commonDataAccess = new ExcelDataAccess(datatablePath, "Common Testdata");
-		commonDataAccess.setDatasheetName("Common_Testdata");
+		return getCommonTestdataRow(dataValue).getValue(fieldName);
+	}
 
+	private CommonTestdataRow getCommonTestdataRow(String dataValue) {
 		String dataReferenceId = dataValue.split(dataReferenceIdentifier)[1];
 
-		int rowNum = commonDataAccess.getRowNum(dataReferenceId, 0, 1); // Start
-																		// at
-																		// row
-																		// 1,
-																		// skipping
-																		// the
-																		// header
-																		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The common test data row identified by \"" + dataReferenceId + "\""
-					+ "is not found in the common test data sheet!");
-		}
-
-		return commonDataAccess.getValue(rowNum, fieldName);
+		return CommonTestdataCache.getInstance().getRow(dataSource, datatablePath, dataReferenceId);
 	}
 
 	/**
@@ -151,31 +411,62 @@ public class DataTable {
 	 */
 	public void putData(String datasheetName, String fieldName, String dataValue) {
 		checkPreRequisites();
-
-		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
-		testDataAccess.setDatasheetName(datasheetName);
-
-		int rowNum = testDataAccess.getRowNum(currentTestcase, 0, 1); // Start
-																		// at
-																		// row
-																		// 1,
-																		// skipping
-																		// the
-																		// header
-																		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + currentTestcase + "\""
-					+ "is not found in the test data sheet \"" + datasheetName + "\"!");
+		trackAccess(datasheetName);
+
+		ExcelSheetSnapshot datasheet = getTestcaseDatasheet(datasheetName);
+		int rowNum = datasheet
+				.getSourceRowNum(getCurrentRowNum(datasheet, "test data sheet \"" + datasheetName + "\""));
+		int columnNum = getColumnNum(datasheet, fieldName);
+		currentRecords.clear();
+
+		if (datatableOverlay != null) {
+			datatableOverlay.setValue(datasheetName, rowNum, columnNum, dataValue);
+		} else {
+			ExcelWriteBuffer.getInstance().stageValue(dataSource, datatablePath, datatableName, datasheetName,
+					rowNum, columnNum, dataValue);
 		}
-		rowNum = testDataAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
-					+ currentTestcase + "\"" + "is not found in the test data sheet \"" + datasheetName + "\"!");
+	}
+
+	/**
+	 * Function to write the output values staged by
+	 * {@link #putData(String, String, String)} into the datatable
+	 */
+	public void flush() {
+		if (datatableOverlay != null) {
+			datatableOverlay.flush();
+		} else {
+			ExcelWriteBuffer.getInstance().flush(dataSource, datatablePath, datatableName);
 		}
+	}
 
-		synchronized (DataTable.class) {
-			testDataAccess.setValue(rowNum, fieldName, dataValue);
+	/**
+	 * Function to get the iteration metadata of the specified sheet, which is
+	 * built once per version of the datatable and shared across threads
+	 * 
+	 * @param datasheetName The name of the sheet in which the data is present
+	 * @return The {@link IterationMetadata} (covering only the streamed rows of
+	 *         the current test case in the {@link DatatableReadMode#STREAMING}
+	 *         mode)
+	 */
+	public IterationMetadata getIterationMetadata(String datasheetName) {
+		if (currentTestcase == null) {
+			throw new FrameworkException("DataTable.currentTestCase is not set!");
 		}
+
+		return getTestcaseDatasheet(datasheetName).getIterationMetadata();
+	}
+
+	/**
+	 * Function to get the number of iterations of the current test case within
+	 * the specified sheet (i.e., iterations 1 to n, up to the first missing
+	 * iteration number)
+	 * 
+	 * @param datasheetName The name of the sheet in which the data is present
+	 * @return The number of iterations (0 if the test case is not found)
+	 * @see IterationMetadata#getIterationCount(String)
+	 */
+	public int getIterationCount(String datasheetName) {
+		return getIterationMetadata(datasheetName).getIterationCount(currentTestcase);
 	}
 
 	/**
@@ -187,29 +478,12 @@ public class DataTable {
 	 */
 	public String getExpectedResult(String fieldName) {
 		checkPreRequisites();
+		trackAccess("Parametrized_Checkpoints", fieldName);
 
-		ExcelDataAccess expectedResultsAccess = new ExcelDataAccess(datatablePath, datatableName);
-		expectedResultsAccess.setDatasheetName("Parametrized_Checkpoints");
-
-		int rowNum = expectedResultsAccess.getRowNum(currentTestcase, 0, 1); // Start
-																				// at
-																				// row
-																				// 1,
-																				// skipping
-																				// the
-																				// header
-																				// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + currentTestcase + "\""
-					+ "is not found in the parametrized checkpoints sheet!");
-		}
-		rowNum = expectedResultsAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
-					+ currentTestcase + "\"" + "is not found in the parametrized checkpoints sheet!");
-		}
+		ExcelSheetSnapshot expectedResultsSheet = getTestcaseDatasheet("Parametrized_Checkpoints");
+		int rowNum = getCurrentRowNum(expectedResultsSheet, "parametrized checkpoints sheet");
 
-		return expectedResultsAccess.getValue(rowNum, fieldName);
+		return getValue(expectedResultsSheet, rowNum, fieldName);
 	}
 
 	/**
@@ -222,31 +496,191 @@ public class DataTable {
 	 */
 	public Map<String, String> getData(String datasheetName, String[] keys) {
 		checkPreRequisites();
+		trackAccess(datasheetName, keys);
+
+		ExcelSheetSnapshot datasheet = getTestcaseDatasheet(datasheetName);
+		int rowNum = getCurrentRowNum(datasheet, "test data sheet \"" + datasheetName + "\"");
+
+		// Resolve each distinct data reference only once
+		Map<String, CommonTestdataRow> commonTestdataRows = new HashMap<String, CommonTestdataRow>();
+		Map<String, String> values = new HashMap<String, String>();
+		for (String key : keys) {
+			String dataValue = getValue(datasheet, rowNum, key);
+			if (dataValue.startsWith(dataReferenceIdentifier)) {
+				dataValue = commonTestdataRows.computeIfAbsent(dataValue, this::getCommonTestdataRow).getValue(key);
+			}
+			values.put(key, dataValue);
+		}
 
-		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
-		testDataAccess.setDatasheetName(datasheetName);
-
-		int rowNum = testDataAccess.getRowNum(currentTestcase, 0, 1); // Start
-																		// at
-																		// row
-																		// 1,
-																		// skipping
-																		// the
-																		// header
-																		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + currentTestcase + "\""
-					+ "is not found in the test data sheet \"" + datasheetName + "\"!");
+		return values;
+	}
+
+	/**
+	 * Function to return the test data of the current row within a sheet as a
+	 * typed record (generated from the sheet's column headers by the
+	 * {@link DatatableRecordGenerator}). The row is decoded only once per
+	 * iteration, and again after any
+	 * {@link #putData(String, String, String)}.
+	 * 
+	 * <pre>
+	 * GeneralDataRow generalData = dataTable.getRecord(GeneralDataRow.TYPE);
+	 * String firstName = generalData.firstName();
+	 * </pre>
+	 * 
+	 * @param <T>        The generated record class
+	 * @param recordType The {@link DataRecordType} of the generated record class
+	 * @return The record holding the test data of the current row
+	 */
+	public <T> T getRecord(DataRecordType<T> recordType) {
+		checkPreRequisites();
+
+		@SuppressWarnings("unchecked")
+		T record = (T) currentRecords.get(recordType);
+		if (record == null) {
+			String datasheetName = recordType.getDatasheetName();
+			String[] fieldNames = recordType.getFieldNames();
+			trackAccess(datasheetName, fieldNames);
+
+			ExcelSheetSnapshot datasheet = getTestcaseDatasheet(datasheetName);
+			int rowNum = getCurrentRowNum(datasheet, "test data sheet \"" + datasheetName + "\"");
+
+			String[] values = new String[fieldNames.length];
+			for (int i = 0; i < fieldNames.length; i++) {
+				values[i] = getRowData(datasheet, rowNum, fieldNames[i]);
+			}
+
+			record = recordType.createRecord(values);
+			currentRecords.put(recordType, record);
+		}
+
+		return record;
+	}
+
+	/**
+	 * Function to find the rows of the specified sheet (across all the test
+	 * cases) which satisfy all the specified conditions. The conditions are
+	 * matched against the values in the datatable, so values staged by
+	 * {@link #putData(String, String, String)} are matched only once they are
+	 * written into the datatable.
+	 * 
+	 * @param datasheetName The name of the sheet in which the data is present
+	 * @param dataFilters   The conditions to be satisfied
+	 * @return The list of matching {@link DataRow}s, in the order of the rows
+	 *         within the sheet
+	 */
+	public List<DataRow> findRows(String datasheetName, DataFilter... dataFilters) {
+		return findRows(datasheetName, dataFilters, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Function to find the first row of the specified sheet (across all the test
+	 * cases) which satisfies all the specified conditions
+	 * 
+	 * @param datasheetName The name of the sheet in which the data is present
+	 * @param dataFilters   The conditions to be satisfied
+	 * @return The first matching {@link DataRow} (null if no row matches)
+	 * @see #findRows(String, DataFilter...)
+	 */
+	public DataRow findFirstRow(String datasheetName, DataFilter... dataFilters) {
+		List<DataRow> dataRows = findRows(datasheetName, dataFilters, 1);
+		return dataRows.isEmpty() ? null : dataRows.get(0);
+	}
+
+	private List<DataRow> findRows(String datasheetName, DataFilter[] dataFilters, int maxRows) {
+		ExcelSheetSnapshot datasheet = getDatasheet(datatableName, datasheetName);
+
+		// Look up the rows using the most selective indexed condition, and
+		// check the remaining conditions only against those rows
+		ExcelColumnIndex[] columnIndexes = new ExcelColumnIndex[dataFilters.length];
+		int[] candidateRowNums = null;
+		int candidateFilterNum = -1;
+		for (int i = 0; i < dataFilters.length; i++) {
+			columnIndexes[i] = datasheet.getColumnIndex(getColumnNum(datasheet, dataFilters[i].getFieldName()));
+
+			int[] rowNums = dataFilters[i].getRowNums(columnIndexes[i]);
+			if (rowNums != null && (candidateRowNums == null || rowNums.length < candidateRowNums.length)) {
+				candidateRowNums = rowNums;
+				candidateFilterNum = i;
+			}
+		}
+		if (candidateRowNums == null) {
+			candidateRowNums = datasheet.getColumnIndex(0).getAllRowNums();
+		}
+
+		List<DataRow> dataRows = new ArrayList<DataRow>();
+		for (int rowNum : candidateRowNums) {
+			boolean isMatch = true;
+			for (int i = 0; i < dataFilters.length && isMatch; i++) {
+				isMatch = (i == candidateFilterNum) || dataFilters[i].matches(columnIndexes[i].getValue(rowNum));
+			}
+
+			if (isMatch) {
+				dataRows.add(new DataRow(this, datasheet, rowNum));
+				if (dataRows.size() >= maxRows) {
+					break;
+				}
+			}
 		}
-		rowNum = testDataAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
+
+		return dataRows;
+	}
+
+	/**
+	 * Function to lease a row from the specified sheet of the datatable, which is
+	 * not used by any other test instance until the lease is released (e.g., for
+	 * unique data such as user registrations)
+	 * 
+	 * @param poolDatasheetName The name of the sheet holding the pooled rows (each
+	 *                          identified by the value in its first column)
+	 * @return The {@link DataLease}, which is released at the end of the test
+	 *         unless it is consumed
+	 * @see #completeDataLeases()
+	 */
+	public DataLease leaseRow(String poolDatasheetName) {
+		TestDataPool testDataPool = TestDataPool.getInstance(dataSource, datatablePath, datatableName,
+				poolDatasheetName);
+		int rowNum = testDataPool.lease();
 		if (rowNum == -1) {
-			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
-					+ currentTestcase + "\"" + "is not found in the test data sheet \"" + datasheetName + "\"!");
+			throw new FrameworkException("No free rows are left in the test data pool \"" + poolDatasheetName
+					+ "\"!");
 		}
 
-		Map<String, String> values = testDataAccess.getValuesForSpecificRow(keys, rowNum);
+		DataLease dataLease = new DataLease(testDataPool, rowNum);
+		synchronized (dataLeases) {
+			dataLeases.add(dataLease);
+		}
 
-		return values;
+		return dataLease;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Function to release all the leases taken by this {@link DataTable} which
+	 * have not been consumed (called at the end of the test)
+	 * 
+	 * @return The list of {@link DataLease}s which were taken
+	 */
+	public List<DataLease> completeDataLeases() {
+		List<DataLease> completedDataLeases;
+		synchronized (dataLeases) {
+			completedDataLeases = new ArrayList<DataLease>(dataLeases);
+			dataLeases.clear();
+		}
+
+		for (DataLease dataLease : completedDataLeases) {
+			dataLease.release();
+		}
+
+		return completedDataLeases;
+	}
+
+	private static final class StreamedDatasheet {
+		private final ExcelSheetSnapshot datasheet;
+		private final long lastModified, length;
+
+		StreamedDatasheet(ExcelSheetSnapshot datasheet, long lastModified, long length) {
+			this.datasheet = datasheet;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+	}
+}
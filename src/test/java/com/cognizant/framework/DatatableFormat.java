@@ -0,0 +1,37 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+/**
+ * Enumeration to represent the various formats in which the datatables may be
+ * stored
+ * @author Cognizant
+ */
+public enum DatatableFormat {
+	/**
+	 * Excel workbooks (.xlsx), with one worksheet per datasheet
+	 */
+	EXCEL,
+	/**
+	 * Folders of CSV files (.csv), with one file per datasheet
+	 */
+	CSV,
+	/**
+	 * Folders of JSON Lines files (.jsonl), with one file per datasheet and one
+	 * JSON object per row
+	 */
+	JSON_LINES;
+}
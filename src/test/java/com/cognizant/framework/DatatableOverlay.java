@@ -0,0 +1,256 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to hold the output values written into a datatable during a test run,
+ * without modifying or copying the source datatable. The values are held in
+ * memory and appended to a journal within the run-time datatable folder of
+ * the report, from which a copy of the datatable containing the output values
+ * is built once at the end of the run.
+ * 
+ * @author Cognizant
+ */
+public class DatatableOverlay {
+	private static final String JOURNAL_EXTENSION = ".journal";
+	private static final Map<String, DatatableOverlay> DATATABLE_OVERLAYS =
+			new ConcurrentHashMap<String, DatatableOverlay>();
+
+	private final DataSource dataSource;
+	private final String datatablePath, runTimeDatatablePath, datatableName;
+	private final Map<String, Map<Long, String>> values = new HashMap<String, Map<Long, String>>();
+	private Writer journalWriter;
+
+	private DatatableOverlay(DataSource dataSource, String datatablePath, String runTimeDatatablePath,
+			String datatableName) {
+		this.dataSource = dataSource;
+		this.datatablePath = datatablePath;
+		this.runTimeDatatablePath = runTimeDatatablePath;
+		this.datatableName = datatableName;
+	}
+
+	/**
+	 * Function to get the overlay of the specified datatable for the current
+	 * run (shared by all the tests writing into the datatable)
+	 * 
+	 * @param datatableFormat
+	 *            The {@link DatatableFormat} of the datatable
+	 * @param datatablePath
+	 *            The path where the source datatable is stored
+	 * @param runTimeDatatablePath
+	 *            The path where the run-time datatable is to be created
+	 * @param datatableName
+	 *            The name of the datatable file (without the extension)
+	 * @return The {@link DatatableOverlay} object
+	 */
+	public static DatatableOverlay getInstance(DatatableFormat datatableFormat, String datatablePath,
+			String runTimeDatatablePath, String datatableName) {
+		String journalFilePath = getJournalFilePath(runTimeDatatablePath, datatableName);
+		return DATATABLE_OVERLAYS.computeIfAbsent(journalFilePath, key -> new DatatableOverlay(
+				DataSource.getInstance(datatableFormat), datatablePath, runTimeDatatablePath, datatableName));
+	}
+
+	/**
+	 * Function to build the run-time copies of all the datatables written into
+	 * during the run, by applying the journalled output values to copies of the
+	 * source datatables
+	 */
+	public static void mergeAll() {
+		List<DatatableOverlay> datatableOverlays = new ArrayList<DatatableOverlay>(DATATABLE_OVERLAYS.values());
+		DATATABLE_OVERLAYS.clear();
+
+		for (DatatableOverlay datatableOverlay : datatableOverlays) {
+			datatableOverlay.merge();
+		}
+	}
+
+	private static String getJournalFilePath(String runTimeDatatablePath, String datatableName) {
+		return WhitelistingPath.cleanStringForFilePath(
+				runTimeDatatablePath + Util.getFileSeparator() + datatableName + JOURNAL_EXTENSION);
+	}
+
+	/**
+	 * Function to get the output value written into the specified cell, if any
+	 * 
+	 * @param datasheetName
+	 *            The name of the worksheet
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @return The output value (null if no value has been written into the
+	 *         cell)
+	 */
+	synchronized String getValue(String datasheetName, int rowNum, int columnNum) {
+		Map<Long, String> sheetValues = values.get(datasheetName);
+		return (sheetValues == null) ? null : sheetValues.get(ExcelSheetSnapshot.getCellKey(rowNum, columnNum));
+	}
+
+	/**
+	 * Function to write an output value into the specified cell
+	 * 
+	 * @param datasheetName
+	 *            The name of the worksheet
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @param value
+	 *            The value to be written into the cell
+	 */
+	synchronized void setValue(String datasheetName, int rowNum, int columnNum, String value) {
+		values.computeIfAbsent(datasheetName, key -> new HashMap<Long, String>())
+				.put(ExcelSheetSnapshot.getCellKey(rowNum, columnNum), value);
+
+		try {
+			getJournalWriter().write(escape(datasheetName) + "\t" + rowNum + "\t" + columnNum + "\t"
+					+ escape(value) + "\n");
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while writing into the datatable journal \""
+					+ getJournalFilePath(runTimeDatatablePath, datatableName) + "\"");
+		}
+	}
+
+	/**
+	 * Function to flush the journalled output values to disk
+	 */
+	synchronized void flush() {
+		if (journalWriter == null) {
+			return;
+		}
+
+		try {
+			journalWriter.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while writing into the datatable journal \""
+					+ getJournalFilePath(runTimeDatatablePath, datatableName) + "\"");
+		}
+	}
+
+	private Writer getJournalWriter() throws IOException {
+		if (journalWriter == null) {
+			new File(runTimeDatatablePath).mkdirs();
+			journalWriter = new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(getJournalFilePath(runTimeDatatablePath, datatableName), true),
+					StandardCharsets.UTF_8));
+		}
+
+		return journalWriter;
+	}
+
+	private synchronized void merge() {
+		String journalFilePath = getJournalFilePath(runTimeDatatablePath, datatableName);
+
+		try {
+			if (journalWriter != null) {
+				journalWriter.close();
+				journalWriter = null;
+			}
+
+			new File(runTimeDatatablePath).mkdirs();
+			dataSource.copyDatatable(datatablePath, runTimeDatatablePath, datatableName);
+			dataSource.copyDatatable(datatablePath, runTimeDatatablePath, "Common Testdata");
+
+			Map<String, Map<Long, String>> journalledValues = readJournal(journalFilePath);
+			if (!journalledValues.isEmpty()) {
+				dataSource.setValues(runTimeDatatablePath, datatableName, journalledValues);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error in creating run-time datatable: Merging the datatable journal \""
+					+ journalFilePath + "\" failed...");
+		}
+
+		new File(journalFilePath).delete();
+	}
+
+	private static Map<String, Map<Long, String>> readJournal(String journalFilePath) throws IOException {
+		Map<String, Map<Long, String>> journalledValues = new LinkedHashMap<String, Map<Long, String>>();
+		File journalFile = new File(journalFilePath);
+		if (!journalFile.isFile()) {
+			return journalledValues;
+		}
+
+		try (BufferedReader journalReader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+			String journalEntry;
+			while ((journalEntry = journalReader.readLine()) != null) {
+				String[] fields = journalEntry.split("\t", -1);
+				if (fields.length != 4) {
+					continue; // Ignore an entry left incomplete by an aborted run
+				}
+
+				// Later entries for a cell replace the earlier ones
+				journalledValues.computeIfAbsent(unescape(fields[0]), key -> new HashMap<Long, String>()).put(
+						ExcelSheetSnapshot.getCellKey(Integer.parseInt(fields[1]), Integer.parseInt(fields[2])),
+						unescape(fields[3]));
+			}
+		}
+
+		return journalledValues;
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(String value) {
+		StringBuilder unescapedValue = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				char next = value.charAt(++i);
+				switch (next) {
+				case 't':
+					unescapedValue.append('\t');
+					break;
+				case 'n':
+					unescapedValue.append('\n');
+					break;
+				case 'r':
+					unescapedValue.append('\r');
+					break;
+				default:
+					unescapedValue.append(next);
+					break;
+				}
+			} else {
+				unescapedValue.append(c);
+			}
+		}
+
+		return unescapedValue.toString();
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+/**
+ * Enumeration to represent the various options for reading the test data from
+ * the datatables
+ * @author Cognizant
+ */
+public enum DatatableReadMode {
+	/**
+	 * Parse the entire datatable once and share it across the threads
+	 */
+	CACHED,
+	/**
+	 * Stream only the rows of the current test case from the datatable
+	 */
+	STREAMING;
+}
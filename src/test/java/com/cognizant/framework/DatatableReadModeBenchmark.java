@@ -0,0 +1,172 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.function.Supplier;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Utility which measures the time and the heap memory taken to read the rows
+ * of one test case from a large datatable in each {@link DatatableReadMode}.
+ * A datatable with the specified number of rows (100 iterations per test
+ * case, 10 data columns) is generated first, and the rows of the test case in
+ * the middle of the worksheet are then read.
+ * 
+ * <pre>
+ * java com.cognizant.framework.DatatableReadModeBenchmark [&lt;rows&gt; [&lt;read mode&gt;]]
+ * </pre>
+ * 
+ * (100000 rows and both the read modes by default; the read modes are best
+ * measured in separate JVMs, since the peak heap usage also includes any
+ * garbage left over by the earlier measurements)
+ * 
+ * @author Cognizant
+ */
+public class DatatableReadModeBenchmark {
+	private static final String DATASHEET_NAME = "General_Data";
+	private static final int ITERATIONS_PER_TESTCASE = 100;
+	private static final int DATA_COLUMNS = 10;
+
+	private DatatableReadModeBenchmark() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * The entry point of the benchmark
+	 * 
+	 * @param args
+	 *            The number of rows of the generated datatable and the
+	 *            {@link DatatableReadMode} to be measured (both optional)
+	 */
+	public static void main(String[] args) {
+		int nRows = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		DatatableReadMode[] readModes = args.length > 1
+				? new DatatableReadMode[] { DatatableReadMode.valueOf(args[1]) } : DatatableReadMode.values();
+
+		File datatableFile = generateDatatable(nRows);
+		try {
+			String testcase = getTestcase((nRows / ITERATIONS_PER_TESTCASE) / 2);
+			System.out.println("Datatable: " + nRows + " rows, " + datatableFile.length() / 1024 + " KB");
+
+			for (DatatableReadMode readMode : readModes) {
+				measure(readMode, () -> readTestcaseRows(readMode, datatableFile, testcase));
+			}
+		} finally {
+			datatableFile.delete();
+		}
+	}
+
+	private static String getTestcase(int testcaseNum) {
+		return "TC" + testcaseNum;
+	}
+
+	private static File generateDatatable(int nRows) {
+		SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+		try {
+			Sheet worksheet = workbook.createSheet(DATASHEET_NAME);
+			Row headerRow = worksheet.createRow(0);
+			headerRow.createCell(0).setCellValue("TC_ID");
+			headerRow.createCell(1).setCellValue("Iteration");
+			for (int columnNum = 0; columnNum < DATA_COLUMNS; columnNum++) {
+				headerRow.createCell(columnNum + 2).setCellValue("Field" + columnNum);
+			}
+
+			for (int rowNum = 1; rowNum <= nRows; rowNum++) {
+				Row row = worksheet.createRow(rowNum);
+				row.createCell(0).setCellValue(getTestcase((rowNum - 1) / ITERATIONS_PER_TESTCASE));
+				row.createCell(1).setCellValue(Integer.toString((rowNum - 1) % ITERATIONS_PER_TESTCASE + 1));
+				for (int columnNum = 0; columnNum < DATA_COLUMNS; columnNum++) {
+					row.createCell(columnNum + 2).setCellValue("Value" + rowNum + "_" + columnNum);
+				}
+			}
+
+			File datatableFile = File.createTempFile("DatatableReadModeBenchmark", ".xlsx");
+			try (OutputStream outputStream = new FileOutputStream(datatableFile)) {
+				workbook.write(outputStream);
+			}
+			return datatableFile;
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while generating the benchmark datatable");
+		} finally {
+			workbook.dispose();
+		}
+	}
+
+	private static ExcelSheetSnapshot readTestcaseRows(DatatableReadMode readMode, File datatableFile,
+			String testcase) {
+		switch (readMode) {
+		case STREAMING:
+			return ExcelStreamingReader.readTestcaseRows(datatableFile.getAbsolutePath(), DATASHEET_NAME, testcase);
+
+		default:
+			ExcelSheetSnapshot datasheet = ExcelWorkbookSnapshot.load(datatableFile).getSheet(DATASHEET_NAME);
+			if (ExcelSheetIndex.build(datasheet).getRowNum(testcase, ITERATIONS_PER_TESTCASE) == -1) {
+				throw new FrameworkException("The test case \"" + testcase + "\" was not found!");
+			}
+			return datasheet;
+		}
+	}
+
+	private static void measure(DatatableReadMode readMode, Supplier<ExcelSheetSnapshot> reader) {
+		System.gc();
+		long baseline = getUsedHeap();
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			memoryPool.resetPeakUsage();
+		}
+
+		long startTime = System.nanoTime();
+		ExcelSheetSnapshot datasheet = reader.get();
+		long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+		long peak = getPeakHeap();
+
+		System.gc();
+		long retained = getUsedHeap() - baseline;
+		System.out.println(readMode + ": " + elapsedMillis + " ms, peak heap " + (peak - baseline) / (1024 * 1024)
+				+ " MB, retained heap " + Math.max(retained, 0) / 1024 + " KB (" + datasheet.getLastRowNum()
+				+ " data rows held)");
+	}
+
+	private static long getUsedHeap() {
+		long usedHeap = 0;
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (memoryPool.getType() == MemoryType.HEAP) {
+				usedHeap += memoryPool.getUsage().getUsed();
+			}
+		}
+		return usedHeap;
+	}
+
+	private static long getPeakHeap() {
+		long peakHeap = 0;
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (memoryPool.getType() == MemoryType.HEAP) {
+				peakHeap += memoryPool.getPeakUsage().getUsed();
+			}
+		}
+		return peakHeap;
+	}
+}
@@ -0,0 +1,297 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+/**
+ * Utility which generates a typed record class for each sheet of the
+ * datatables, with one accessor per column header (e.g.,
+ * {@code GeneralDataRow.firstName()} for the "FirstName" column of the
+ * "General_Data" sheet). The records are read using
+ * {@link DataTable#getRecord(DataRecordType)}, so that a renamed or removed
+ * column results in a compilation error. The generateDatatableRecords Maven
+ * profile regenerates the records before the test sources are compiled.
+ * 
+ * <pre>
+ * java com.cognizant.framework.DatatableRecordGenerator [&lt;datatable folder&gt; [&lt;source folder&gt; [&lt;package&gt;]]]
+ * </pre>
+ * 
+ * (the records of src/test/resources/Datatables are generated into the
+ * datatablerecords package within
+ * target/generated-test-sources/datatable-records by default; a sub-package
+ * is generated per datatable, since the sheets of different datatables may
+ * have the same name)
+ * 
+ * @author Cognizant
+ */
+public class DatatableRecordGenerator {
+	private static final String COMMON_DATATABLE_NAME = "Common Testdata";
+	private static final String GENERATED_MARKER = "// Generated by " + DatatableRecordGenerator.class.getName();
+
+	private static final Set<String> JAVA_KEYWORDS = new HashSet<String>(Arrays.asList("abstract", "assert",
+			"boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue", "default", "do",
+			"double", "else", "enum", "extends", "false", "final", "finally", "float", "for", "goto", "if",
+			"implements", "import", "instanceof", "int", "interface", "long", "native", "new", "null", "package",
+			"private", "protected", "public", "return", "short", "static", "strictfp", "super", "switch",
+			"synchronized", "this", "throw", "throws", "transient", "true", "try", "void", "volatile", "while",
+			"var", "record", "yield"));
+
+	private DatatableRecordGenerator() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * The entry point of the record generation
+	 * 
+	 * @param args
+	 *            The datatable folder, the source folder into which the
+	 *            records are to be generated and the base package of the
+	 *            records (all optional)
+	 */
+	public static void main(String[] args) {
+		String projectPath = System.getProperty("user.dir") + Util.getFileSeparator();
+		File datatableFolder = new File(args.length > 0 ? args[0] : projectPath + "src" + Util.getFileSeparator()
+				+ "test" + Util.getFileSeparator() + "resources" + Util.getFileSeparator() + "Datatables");
+		File sourceFolder = new File(args.length > 1 ? args[1] : projectPath + "target" + Util.getFileSeparator()
+				+ "generated-test-sources" + Util.getFileSeparator() + "datatable-records");
+		String basePackageName = args.length > 2 ? args[2] : "datatablerecords";
+
+		File[] datatableFiles = datatableFolder
+				.listFiles((folder, fileName) -> fileName.endsWith(".xls") || fileName.endsWith(".xlsx"));
+		if (datatableFiles == null) {
+			throw new FrameworkException("The datatable folder \"" + datatableFolder + "\" does not exist!");
+		}
+		Arrays.sort(datatableFiles);
+
+		for (File datatableFile : datatableFiles) {
+			String datatableName = datatableFile.getName().substring(0, datatableFile.getName().lastIndexOf('.'));
+			if (COMMON_DATATABLE_NAME.equals(datatableName)) {
+				continue;
+			}
+
+			String packageName = basePackageName + "." + toPackageName(datatableName);
+			List<String> classNames = generateRecords(datatableFile, sourceFolder, packageName);
+			System.out.println(datatableFile.getName() + ": " + classNames);
+		}
+	}
+
+	/**
+	 * Function to generate the record classes of all the sheets within the
+	 * specified datatable (replacing the records generated earlier)
+	 * 
+	 * @param datatableFile
+	 *            The datatable
+	 * @param sourceFolder
+	 *            The source folder into which the records are to be generated
+	 * @param packageName
+	 *            The package of the records
+	 * @return The names of the generated classes
+	 */
+	public static List<String> generateRecords(File datatableFile, File sourceFolder, String packageName) {
+		Map<String, String> classSources = new LinkedHashMap<String, String>();
+		try (Workbook workbook = WorkbookFactory.create(datatableFile, null, true)) {
+			DataFormatter dataFormatter = new DataFormatter();
+			for (Sheet worksheet : workbook) {
+				List<String> fieldNames = new ArrayList<String>();
+				Row headerRow = worksheet.getRow(0);
+				if (headerRow != null) {
+					for (Cell cell : headerRow) {
+						String fieldName = dataFormatter.formatCellValue(cell).trim();
+						if (!fieldName.isEmpty() && !fieldNames.contains(fieldName)) {
+							fieldNames.add(fieldName);
+						}
+					}
+				}
+				if (fieldNames.isEmpty()) {
+					continue;
+				}
+
+				String className = toClassName(worksheet.getSheetName()) + "Row";
+				String uniqueClassName = className;
+				for (int i = 2; classSources.containsKey(uniqueClassName); i++) {
+					uniqueClassName = className + i;
+				}
+				classSources.put(uniqueClassName, getRecordSource(packageName, uniqueClassName,
+						datatableFile.getName(), worksheet.getSheetName(), fieldNames));
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while reading the datatable \"" + datatableFile + "\"");
+		}
+
+		File packageFolder = new File(sourceFolder, packageName.replace('.', File.separatorChar));
+		try {
+			Files.createDirectories(packageFolder.toPath());
+
+			File[] existingFiles = packageFolder.listFiles((folder, fileName) -> fileName.endsWith(".java"));
+			for (File existingFile : existingFiles) {
+				String existingSource = new String(Files.readAllBytes(existingFile.toPath()), StandardCharsets.UTF_8);
+				if (existingSource.startsWith(GENERATED_MARKER)) {
+					Files.delete(existingFile.toPath());
+				}
+			}
+
+			for (Map.Entry<String, String> classSource : classSources.entrySet()) {
+				Files.write(new File(packageFolder, classSource.getKey() + ".java").toPath(),
+						classSource.getValue().getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while writing the records into \"" + packageFolder + "\"");
+		}
+
+		return new ArrayList<String>(classSources.keySet());
+	}
+
+	private static String getRecordSource(String packageName, String className, String datatableFileName,
+			String datasheetName, List<String> fieldNames) {
+		List<String> memberNames = new ArrayList<String>();
+		for (String fieldName : fieldNames) {
+			String memberName = toMemberName(fieldName);
+			String uniqueMemberName = memberName;
+			for (int i = 2; memberNames.contains(uniqueMemberName) || "TYPE".equals(uniqueMemberName); i++) {
+				uniqueMemberName = memberName + i;
+			}
+			memberNames.add(uniqueMemberName);
+		}
+
+		StringBuilder source = new StringBuilder();
+		source.append(GENERATED_MARKER).append(" from the \"").append(escape(datasheetName))
+				.append("\" sheet\n// of ").append(datatableFileName).append(" - do not edit\n");
+		source.append("package ").append(packageName).append(";\n\n");
+		source.append("import com.cognizant.framework.DataRecordType;\n\n");
+		source.append("/**\n * Typed record of the test data within the \"").append(escape(datasheetName))
+				.append("\" sheet\n */\n");
+		source.append("public final class ").append(className).append(" {\n");
+
+		source.append("\t/**\n\t * The {@link DataRecordType} of this record, to be passed to\n")
+				.append("\t * DataTable.getRecord()\n\t */\n");
+		source.append("\tpublic static final DataRecordType<").append(className).append("> TYPE = new DataRecordType<")
+				.append(className).append(">() {\n");
+		source.append("\t\tprivate final String[] fieldNames = {");
+		for (int i = 0; i < fieldNames.size(); i++) {
+			source.append(i == 0 ? " \"" : ", \"").append(escape(fieldNames.get(i))).append("\"");
+		}
+		source.append(" };\n\n");
+		source.append("\t\t@Override\n\t\tpublic String getDatasheetName() {\n\t\t\treturn \"")
+				.append(escape(datasheetName)).append("\";\n\t\t}\n\n");
+		source.append("\t\t@Override\n\t\tpublic String[] getFieldNames() {\n\t\t\treturn fieldNames.clone();\n")
+				.append("\t\t}\n\n");
+		source.append("\t\t@Override\n\t\tpublic ").append(className)
+				.append(" createRecord(String[] values) {\n\t\t\treturn new ").append(className)
+				.append("(values);\n\t\t}\n\t};\n\n");
+
+		for (String memberName : memberNames) {
+			source.append("\tprivate final String ").append(memberName).append(";\n");
+		}
+		source.append("\n\tprivate ").append(className).append("(String[] values) {\n");
+		for (int i = 0; i < memberNames.size(); i++) {
+			source.append("\t\t").append(memberNames.get(i)).append(" = values[").append(i).append("];\n");
+		}
+		source.append("\t}\n");
+
+		for (int i = 0; i < memberNames.size(); i++) {
+			source.append("\n\t/**\n\t * @return The value of the \"").append(escape(fieldNames.get(i)))
+					.append("\" field\n\t */\n");
+			source.append("\tpublic String ").append(memberNames.get(i)).append("() {\n\t\treturn ")
+					.append(memberNames.get(i)).append(";\n\t}\n");
+		}
+		source.append("}\n");
+
+		return source.toString();
+	}
+
+	private static List<String> getWords(String name) {
+		List<String> words = new ArrayList<String>();
+		for (String word : name.split("[^A-Za-z0-9]+")) {
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	private static String capitalize(String word) {
+		if (word.equals(word.toUpperCase(Locale.ROOT))) {
+			word = word.toLowerCase(Locale.ROOT);
+		}
+		return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+	}
+
+	private static String joinWords(String name, String prefix) {
+		StringBuilder joinedName = new StringBuilder();
+		for (String word : getWords(name)) {
+			joinedName.append(capitalize(word));
+		}
+		if (joinedName.length() == 0 || !Character.isJavaIdentifierStart(joinedName.charAt(0))) {
+			joinedName.insert(0, prefix);
+		}
+		return joinedName.toString();
+	}
+
+	private static String toClassName(String sheetName) {
+		return joinWords(sheetName, "Sheet");
+	}
+
+	private static String toMemberName(String fieldName) {
+		String className = joinWords(fieldName, "Field");
+
+		// Lower-case the leading capitals (e.g., "HtmlPage" to "htmlPage" and
+		// "URLText" to "urlText")
+		int nLeadingCapitals = 0;
+		while (nLeadingCapitals < className.length() && Character.isUpperCase(className.charAt(nLeadingCapitals))) {
+			nLeadingCapitals++;
+		}
+		if (nLeadingCapitals > 1 && nLeadingCapitals < className.length()) {
+			nLeadingCapitals--;
+		}
+		String memberName = className.substring(0, nLeadingCapitals).toLowerCase(Locale.ROOT)
+				+ className.substring(nLeadingCapitals);
+
+		return JAVA_KEYWORDS.contains(memberName) ? memberName + "Value" : memberName;
+	}
+
+	private static String toPackageName(String datatableName) {
+		String packageName = datatableName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+		if (packageName.isEmpty() || !Character.isJavaIdentifierStart(packageName.charAt(0))) {
+			packageName = "datatable" + packageName;
+		}
+		return JAVA_KEYWORDS.contains(packageName) ? packageName + "data" : packageName;
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+}
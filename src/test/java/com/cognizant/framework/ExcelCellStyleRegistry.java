@@ -0,0 +1,134 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Class which hands out one {@link CellStyle} (and font) per distinct
+ * {@link ExcelCellFormatting} value within a workbook, reusing the matching
+ * styles already present in the workbook, so that formatted writes do not
+ * add a new style for every cell
+ * 
+ * @author Cognizant
+ */
+final class ExcelCellStyleRegistry {
+	private final XSSFWorkbook workbook;
+	private final Map<CellStyleKey, CellStyle> cellStyles = new HashMap<CellStyleKey, CellStyle>();
+
+	/**
+	 * Constructor to initialize the registry with the styles already present in
+	 * the specified workbook
+	 * 
+	 * @param workbook
+	 *            The workbook whose styles are to be registered
+	 */
+	ExcelCellStyleRegistry(XSSFWorkbook workbook) {
+		this.workbook = workbook;
+
+		for (int i = 0; i < workbook.getNumCellStyles(); i++) {
+			XSSFCellStyle cellStyle = workbook.getCellStyleAt(i);
+			// Styles which could not have been created from an
+			// ExcelCellFormatting are never reused
+			if (cellStyle.getFillPattern() != FillPatternType.SOLID_FOREGROUND) {
+				continue;
+			}
+			XSSFFont font = cellStyle.getFont();
+			cellStyles.putIfAbsent(new CellStyleKey(font.getFontName(), font.getFontHeightInPoints(),
+					cellStyle.getFillForegroundColor(), font.getColor(), font.getBold(), font.getItalic(),
+					cellStyle.getAlignment() == HorizontalAlignment.CENTER), cellStyle);
+		}
+	}
+
+	/**
+	 * Function to get the cell style corresponding to the specified
+	 * formatting, creating it only if no such style exists in the workbook
+	 * 
+	 * @param cellFormatting
+	 *            The {@link ExcelCellFormatting} to be applied
+	 * @return The {@link CellStyle}
+	 */
+	CellStyle getCellStyle(ExcelCellFormatting cellFormatting) {
+		CellStyleKey cellStyleKey = new CellStyleKey(cellFormatting.getFontName(), cellFormatting.getFontSize(),
+				cellFormatting.getBackColorIndex(), cellFormatting.getForeColorIndex(), cellFormatting.bold,
+				cellFormatting.italics, cellFormatting.centred);
+
+		return cellStyles.computeIfAbsent(cellStyleKey, key -> createCellStyle(cellFormatting));
+	}
+
+	private CellStyle createCellStyle(ExcelCellFormatting cellFormatting) {
+		CellStyle cellStyle = workbook.createCellStyle();
+		if (cellFormatting.centred) {
+			cellStyle.setAlignment(HorizontalAlignment.CENTER);
+		}
+		cellStyle.setFillForegroundColor(cellFormatting.getBackColorIndex());
+		cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+		XSSFFont font = workbook.createFont();
+		font.setFontName(cellFormatting.getFontName());
+		font.setFontHeightInPoints(cellFormatting.getFontSize());
+		font.setBold(cellFormatting.bold);
+		font.setItalic(cellFormatting.italics);
+		font.setColor(cellFormatting.getForeColorIndex());
+		cellStyle.setFont(font);
+
+		return cellStyle;
+	}
+
+	private static final class CellStyleKey {
+		private final String fontName;
+		private final short fontSize, backColorIndex, foreColorIndex;
+		private final boolean bold, italics, centred;
+
+		CellStyleKey(String fontName, short fontSize, short backColorIndex, short foreColorIndex, boolean bold,
+				boolean italics, boolean centred) {
+			this.fontName = fontName;
+			this.fontSize = fontSize;
+			this.backColorIndex = backColorIndex;
+			this.foreColorIndex = foreColorIndex;
+			this.bold = bold;
+			this.italics = italics;
+			this.centred = centred;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof CellStyleKey)) {
+				return false;
+			}
+
+			CellStyleKey cellStyleKey = (CellStyleKey) object;
+			return Objects.equals(fontName, cellStyleKey.fontName) && fontSize == cellStyleKey.fontSize
+					&& backColorIndex == cellStyleKey.backColorIndex
+					&& foreColorIndex == cellStyleKey.foreColorIndex && bold == cellStyleKey.bold
+					&& italics == cellStyleKey.italics && centred == cellStyleKey.centred;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fontName, fontSize, backColorIndex, foreColorIndex, bold, italics, centred);
+		}
+	}
+}
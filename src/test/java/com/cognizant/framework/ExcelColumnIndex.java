@@ -0,0 +1,272 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class to encapsulate the secondary indexes of a single column within a
+ * datatable worksheet (excluding the header row). The hash index (for
+ * equality lookups) and the sorted indexes (for range and prefix lookups) are
+ * each built on first use, and shared by all the threads reading the
+ * worksheet.
+ * 
+ * @author Cognizant
+ */
+final class ExcelColumnIndex {
+	private static final int[] NO_ROWS = new int[0];
+
+	private final ExcelSheetSnapshot worksheet;
+	private final int columnNum;
+
+	private volatile Map<String, int[]> hashIndex;
+	private volatile SortedIndex sortedIndex;
+	private volatile NumericIndex numericIndex;
+
+	/**
+	 * Constructor to initialize the index of the specified column
+	 * 
+	 * @param worksheet
+	 *            The {@link ExcelSheetSnapshot} to be indexed
+	 * @param columnNum
+	 *            The column number to be indexed
+	 */
+	ExcelColumnIndex(ExcelSheetSnapshot worksheet, int columnNum) {
+		this.worksheet = worksheet;
+		this.columnNum = columnNum;
+	}
+
+	/**
+	 * Function to get the value of the specified row within the indexed column
+	 * 
+	 * @param rowNum
+	 *            The row number
+	 * @return The value (null if the cell holds a formula error)
+	 */
+	String getValue(int rowNum) {
+		if (worksheet.getFormulaError(rowNum, columnNum) != null) {
+			return null;
+		}
+		return worksheet.getValue(rowNum, columnNum);
+	}
+
+	/**
+	 * Function to get the numbers of all the (non-header) rows within the
+	 * worksheet
+	 * 
+	 * @return The row numbers, in ascending order
+	 */
+	int[] getAllRowNums() {
+		int[] rowNums = new int[Math.max(worksheet.getLastRowNum(), 0)];
+		for (int i = 0; i < rowNums.length; i++) {
+			rowNums[i] = i + 1;
+		}
+		return rowNums;
+	}
+
+	/**
+	 * Function to get the rows whose value equals the specified value
+	 * 
+	 * @param value
+	 *            The value being searched for
+	 * @return The row numbers, in ascending order
+	 */
+	int[] getRowNums(String value) {
+		Map<String, int[]> currentHashIndex = hashIndex;
+		if (currentHashIndex == null) {
+			currentHashIndex = buildHashIndex();
+			hashIndex = currentHashIndex;
+		}
+
+		int[] rowNums = currentHashIndex.get(value);
+		return rowNums == null ? NO_ROWS : rowNums;
+	}
+
+	private Map<String, int[]> buildHashIndex() {
+		Map<String, List<Integer>> rowNumLists = new HashMap<String, List<Integer>>();
+		for (int rowNum = 1; rowNum <= worksheet.getLastRowNum(); rowNum++) {
+			String value = getValue(rowNum);
+			if (value != null) {
+				rowNumLists.computeIfAbsent(value, key -> new ArrayList<Integer>()).add(rowNum);
+			}
+		}
+
+		Map<String, int[]> rowNums = new HashMap<String, int[]>();
+		for (Map.Entry<String, List<Integer>> rowNumList : rowNumLists.entrySet()) {
+			rowNums.put(rowNumList.getKey(), rowNumList.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+		return Collections.unmodifiableMap(rowNums);
+	}
+
+	/**
+	 * Function to get the rows whose value starts with the specified prefix
+	 * 
+	 * @param prefix
+	 *            The prefix being searched for
+	 * @return The row numbers, in ascending order
+	 */
+	int[] getRowNumsWithPrefix(String prefix) {
+		SortedIndex currentSortedIndex = sortedIndex;
+		if (currentSortedIndex == null) {
+			currentSortedIndex = new SortedIndex();
+			sortedIndex = currentSortedIndex;
+		}
+
+		int fromIndex = currentSortedIndex.getFirstIndex(prefix);
+		int toIndex = fromIndex;
+		while (toIndex < currentSortedIndex.values.length && currentSortedIndex.values[toIndex].startsWith(prefix)) {
+			toIndex++;
+		}
+
+		return sortRowNums(currentSortedIndex.rowNums, fromIndex, toIndex);
+	}
+
+	/**
+	 * Function to get the rows whose (numeric) value lies within the specified
+	 * range. Rows whose value is not a number are never returned.
+	 * 
+	 * @param lowerBound
+	 *            The lower bound of the range
+	 * @param lowerInclusive
+	 *            Boolean value indicating whether the lower bound is part of
+	 *            the range
+	 * @param upperBound
+	 *            The upper bound of the range
+	 * @param upperInclusive
+	 *            Boolean value indicating whether the upper bound is part of
+	 *            the range
+	 * @return The row numbers, in ascending order
+	 */
+	int[] getRowNums(double lowerBound, boolean lowerInclusive, double upperBound, boolean upperInclusive) {
+		NumericIndex currentNumericIndex = numericIndex;
+		if (currentNumericIndex == null) {
+			currentNumericIndex = new NumericIndex();
+			numericIndex = currentNumericIndex;
+		}
+
+		int fromIndex = currentNumericIndex.getFirstIndex(lowerBound, !lowerInclusive);
+		int toIndex = currentNumericIndex.getFirstIndex(upperBound, upperInclusive);
+		if (fromIndex >= toIndex) {
+			return NO_ROWS;
+		}
+
+		return sortRowNums(currentNumericIndex.rowNums, fromIndex, toIndex);
+	}
+
+	private static int[] sortRowNums(int[] rowNums, int fromIndex, int toIndex) {
+		int[] matchingRowNums = Arrays.copyOfRange(rowNums, fromIndex, toIndex);
+		Arrays.sort(matchingRowNums);
+		return matchingRowNums;
+	}
+
+	/**
+	 * Function to parse the specified value as a number
+	 * 
+	 * @param value
+	 *            The value to be parsed
+	 * @return The number (NaN if the value is not a number)
+	 */
+	static double parseNumber(String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return Double.NaN;
+		}
+
+		try {
+			return Double.parseDouble(value.trim());
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+
+	private final class SortedIndex {
+		private final String[] values;
+		private final int[] rowNums;
+
+		SortedIndex() {
+			List<Integer> rowNumList = new ArrayList<Integer>();
+			for (int rowNum = 1; rowNum <= worksheet.getLastRowNum(); rowNum++) {
+				if (getValue(rowNum) != null) {
+					rowNumList.add(rowNum);
+				}
+			}
+			rowNumList.sort((rowNum1, rowNum2) -> getValue(rowNum1).compareTo(getValue(rowNum2)));
+
+			values = new String[rowNumList.size()];
+			rowNums = new int[rowNumList.size()];
+			for (int i = 0; i < rowNums.length; i++) {
+				rowNums[i] = rowNumList.get(i);
+				values[i] = getValue(rowNums[i]);
+			}
+		}
+
+		// Index of the first value which is not less than the specified value
+		int getFirstIndex(String value) {
+			int low = 0, high = values.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[mid].compareTo(value) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+
+	private final class NumericIndex {
+		private final double[] numbers;
+		private final int[] rowNums;
+
+		NumericIndex() {
+			List<Integer> rowNumList = new ArrayList<Integer>();
+			for (int rowNum = 1; rowNum <= worksheet.getLastRowNum(); rowNum++) {
+				if (!Double.isNaN(parseNumber(getValue(rowNum)))) {
+					rowNumList.add(rowNum);
+				}
+			}
+			rowNumList.sort((rowNum1, rowNum2) -> Double.compare(parseNumber(getValue(rowNum1)),
+					parseNumber(getValue(rowNum2))));
+
+			numbers = new double[rowNumList.size()];
+			rowNums = new int[rowNumList.size()];
+			for (int i = 0; i < rowNums.length; i++) {
+				rowNums[i] = rowNumList.get(i);
+				numbers[i] = parseNumber(getValue(rowNums[i]));
+			}
+		}
+
+		// Index of the first number which is not less than (or, when skipping
+		// equal numbers, greater than) the specified number
+		int getFirstIndex(double number, boolean skipEqual) {
+			int low = 0, high = numbers.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (numbers[mid] < number || (skipEqual && numbers[mid] == number)) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+/**
+ * Class which estimates the width required to fit the contents of a column,
+ * using a table of the character widths of the default Excel font (Calibri)
+ * instead of rendering the text using the AWT font metrics. Only a bounded
+ * sample of the rows is inspected on large sheets.
+ * 
+ * @author Cognizant
+ */
+final class ExcelColumnWidthEstimator {
+	/**
+	 * The maximum number of rows inspected per column by default
+	 */
+	static final int DEFAULT_MAX_SAMPLED_ROWS = 1000;
+
+	// Rows at the top of the sheet (such as the headings) are always inspected
+	private static final int N_LEADING_ROWS = 100;
+
+	// Advance widths of the printable ASCII characters (from space onwards) in
+	// Calibri, in font units (2048 per em)
+	private static final int[] CHARACTER_WIDTHS = {
+			463, 544, 821, 1038, 1038, 1463, 1397, 452, 621, 621, 1020, 1038, 511, 627, 517, 791, // space to /
+			1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, // 0 to 9
+			548, 548, 1038, 1038, 1038, 948, 1833, // : to @
+			1185, 1114, 1092, 1260, 1000, 941, 1292, 1276, 516, 653, 1064, 861, 1751, // A to M
+			1322, 1356, 1058, 1378, 1112, 941, 998, 1314, 1162, 1822, 1063, 998, 959, // N to Z
+			627, 791, 627, 1038, 1018, 578, // [ to `
+			981, 1076, 866, 1076, 1019, 625, 964, 1076, 470, 490, 931, 470, 1636, // a to m
+			1076, 1080, 1076, 1076, 714, 801, 686, 1076, 925, 1464, 887, 927, 809, // n to z
+			644, 943, 644, 1038 }; // { to ~
+	private static final int DIGIT_WIDTH = 1038;
+	private static final int WIDE_CHARACTER_WIDTH = 2048;
+	private static final double BOLD_WIDTH_FACTOR = 1.05;
+	// Margin added to the widest cell, in line with the widths set by POI
+	private static final double CELL_PADDING = 1.0;
+
+	private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
+	private final Sheet worksheet;
+	private final int maxSampledRows;
+	private final DataFormatter dataFormatter = new DataFormatter();
+	private final short defaultFontSize;
+
+	/**
+	 * Constructor to initialize the estimator for the specified worksheet
+	 * 
+	 * @param worksheet
+	 *            The worksheet whose columns are to be sized
+	 * @param maxSampledRows
+	 *            The maximum number of rows to be inspected per column
+	 */
+	ExcelColumnWidthEstimator(Sheet worksheet, int maxSampledRows) {
+		this.worksheet = worksheet;
+		this.maxSampledRows = Math.max(maxSampledRows, 1);
+
+		Workbook workbook = worksheet.getWorkbook();
+		short fontSize = workbook.getFontAt(0).getFontHeightInPoints();
+		defaultFontSize = fontSize > 0 ? fontSize : 11;
+	}
+
+	/**
+	 * Function to fit the width of the specified column to its contents (the
+	 * width is left unchanged if the column has no contents)
+	 * 
+	 * @param columnNum
+	 *            The column number
+	 */
+	void autoFitColumn(int columnNum) {
+		int columnWidth = estimateColumnWidth(columnNum);
+		if (columnWidth > 0) {
+			worksheet.setColumnWidth(columnNum, columnWidth);
+		}
+	}
+
+	/**
+	 * Function to estimate the width required to fit the contents of the
+	 * specified column (cells which are part of merged regions are ignored,
+	 * similar to the {@link Sheet#autoSizeColumn(int)} function)
+	 * 
+	 * @param columnNum
+	 *            The column number
+	 * @return The column width (in units of 1/256th of a character), or -1 if
+	 *         the column has no contents
+	 */
+	int estimateColumnWidth(int columnNum) {
+		List<CellRangeAddress> mergedRegions = new ArrayList<CellRangeAddress>();
+		for (CellRangeAddress mergedRegion : worksheet.getMergedRegions()) {
+			if (mergedRegion.getFirstColumn() <= columnNum && mergedRegion.getLastColumn() >= columnNum) {
+				mergedRegions.add(mergedRegion);
+			}
+		}
+
+		double maxWidth = -1;
+		int firstRowNum = Math.max(worksheet.getFirstRowNum(), 0);
+		int lastRowNum = worksheet.getLastRowNum();
+		int nRows = lastRowNum - firstRowNum + 1;
+		int nLeadingRows = Math.min(N_LEADING_ROWS, maxSampledRows);
+		int rowStep = nRows <= maxSampledRows ? 1
+				: (int) Math.ceil((double) (nRows - nLeadingRows) / (maxSampledRows - nLeadingRows + 1));
+
+		for (int rowNum = firstRowNum; rowNum <= lastRowNum;) {
+			Row row = worksheet.getRow(rowNum);
+			Cell cell = (row == null) ? null : row.getCell(columnNum);
+			if (cell != null && !isMerged(mergedRegions, rowNum)) {
+				maxWidth = Math.max(maxWidth, getCellWidth(cell));
+			}
+
+			rowNum += (rowNum - firstRowNum < nLeadingRows) ? 1 : rowStep;
+		}
+
+		if (maxWidth <= 0) {
+			return -1;
+		}
+		return (int) Math.min((maxWidth + CELL_PADDING) * 256, MAX_COLUMN_WIDTH);
+	}
+
+	private boolean isMerged(List<CellRangeAddress> mergedRegions, int rowNum) {
+		for (CellRangeAddress mergedRegion : mergedRegions) {
+			if (mergedRegion.getFirstRow() <= rowNum && mergedRegion.getLastRow() >= rowNum) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private double getCellWidth(Cell cell) {
+		String cellValue = getDisplayedValue(cell);
+		if (cellValue.isEmpty()) {
+			return -1;
+		}
+
+		CellStyle cellStyle = cell.getCellStyle();
+		Font font = worksheet.getWorkbook().getFontAt(cellStyle.getFontIndexAsInt());
+		double fontScale = (double) font.getFontHeightInPoints() / defaultFontSize;
+
+		double maxLineWidth = 0;
+		for (String line : cellValue.split("\n")) {
+			maxLineWidth = Math.max(maxLineWidth, getTextWidth(line, font.getBold()));
+		}
+
+		return maxLineWidth * fontScale + cellStyle.getIndention();
+	}
+
+	private String getDisplayedValue(Cell cell) {
+		CellType cellType = cell.getCellType();
+		if (cellType == CellType.FORMULA) {
+			cellType = cell.getCachedFormulaResultType();
+		}
+
+		switch (cellType) {
+		case STRING:
+			return cell.getRichStringCellValue().getString();
+
+		case NUMERIC:
+			CellStyle cellStyle = cell.getCellStyle();
+			return dataFormatter.formatRawCellContents(cell.getNumericCellValue(), cellStyle.getDataFormat(),
+					cellStyle.getDataFormatString());
+
+		case BOOLEAN:
+			return String.valueOf(cell.getBooleanCellValue()).toUpperCase();
+
+		default:
+			return "";
+		}
+	}
+
+	/**
+	 * Function to get the width of the specified text
+	 * 
+	 * @param text
+	 *            The text to be measured
+	 * @param bold
+	 *            Boolean value indicating whether the text is in bold
+	 * @return The width of the text (in characters, i.e., widths of the digit
+	 *         "0")
+	 */
+	static double getTextWidth(String text, boolean bold) {
+		double textWidth = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char character = text.charAt(i);
+			int characterWidth;
+			if (character >= ' ' && character <= '~') {
+				characterWidth = CHARACTER_WIDTHS[character - ' '];
+				if (bold && !Character.isDigit(character)) {
+					characterWidth = (int) (characterWidth * BOLD_WIDTH_FACTOR);
+				}
+			} else if (Character.isIdeographic(character) || (character >= '\uFF00' && character <= '\uFF60')
+					|| (character >= '\uAC00' && character <= '\uD7A3')) {
+				characterWidth = WIDE_CHARACTER_WIDTH;
+			} else {
+				characterWidth = DIGIT_WIDTH;
+			}
+			textWidth += characterWidth;
+		}
+
+		return textWidth / DIGIT_WIDTH;
+	}
+}
@@ -22,14 +22,10 @@
  */
 package com.cognizant.framework;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
-import org.apache.commons.lang3.NotImplementedException;
 /*
 import org.apache.poi.hssf.usermodel.Cell;
 import org.apache.poi.hssf.usermodel.CellStyle;
@@ -39,16 +35,7 @@ import org.apache.poi.hssf.usermodel.Row;
 import org.apache.poi.hssf.usermodel.XSSFSheet;
 import org.apache.poi.hssf.usermodel.XSSFWorkbook;
 */
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.Row;
 // import org.apache.poi.ss.util.CellReference;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.ss.usermodel.FormulaEvaluator;
-import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 
@@ -103,66 +90,49 @@ public class ExcelDataAccess {
 		}
 	}
 
-	private XSSFWorkbook openFileForReading() {
-
-		String encryptedAbsoluteFilePath = WhitelistingPath
-				.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xlsx");
-		String absoluteFilePath = encryptedAbsoluteFilePath;
-
-		FileInputStream fileInputStream;
-		try {
-			fileInputStream = new FileInputStream(absoluteFilePath);
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
-		}
-
-		XSSFWorkbook workbook;
-		try {
-			workbook = new XSSFWorkbook(fileInputStream);
-			// fileInputStream.close();
-		} catch (IOException e) {
-			e.printStackTrace();
-			throw new FrameworkException(
-					"Error while opening the specified Excel workbook \"" + absoluteFilePath + "\"");
-		}
-
-		return workbook;
+	private String getAbsoluteFilePath() {
+		return WhitelistingPath.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xlsx");
 	}
 
-	private void writeIntoFile(XSSFWorkbook workbook) {
-		String encryptedAbsoluteFilePath = WhitelistingPath
-				.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xls");
-		String absoluteFilePath = encryptedAbsoluteFilePath;
-
-		FileOutputStream fileOutputStream;
-		try {
-			fileOutputStream = new FileOutputStream(absoluteFilePath);
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
-		}
-
-		try {
-			workbook.write(fileOutputStream);
-			fileOutputStream.close();
-		} catch (IOException e) {
-			e.printStackTrace();
-			throw new FrameworkException(
-					"Error while writing into the specified Excel workbook \"" + absoluteFilePath + "\"");
-		}
-	}
-
-	private XSSFSheet getWorkSheet(XSSFWorkbook workbook) {
-		XSSFSheet worksheet = workbook.getSheet(datasheetName);
+	/**
+	 * Function to get the cached, read-only snapshot of the current worksheet
+	 * 
+	 * @return The {@link ExcelSheetSnapshot}
+	 */
+	ExcelSheetSnapshot getSheetSnapshot() {
+		ExcelWorkbookSnapshot workbook = ExcelWorkbookCache.getInstance().getWorkbook(getAbsoluteFilePath());
+		ExcelSheetSnapshot worksheet = workbook.getSheet(datasheetName);
 		if (worksheet == null) {
 			throw new FrameworkException("The specified sheet \"" + datasheetName + "\""
-					+ "does not exist within the workbook \"" + fileName + ".xls\"");
+					+ "does not exist within the workbook \"" + fileName + ".xlsx\"");
 		}
 
 		return worksheet;
 	}
 
+	/**
+	 * Function to stream the header row and the rows of the specified test case
+	 * from the worksheet, without loading the entire workbook
+	 * 
+	 * @param testcase The test case whose rows are required
+	 * @return An {@link ExcelSheetSnapshot} containing the header row followed by
+	 *         the rows of the test case
+	 */
+	ExcelSheetSnapshot getTestcaseRows(String testcase) {
+		return ExcelStreamingReader.readTestcaseRows(getAbsoluteFilePath(), datasheetName, testcase);
+	}
+
+	/**
+	 * Function to open the workbook for applying a batch of edits, which are
+	 * written into the workbook in one go when the returned editor is committed
+	 * 
+	 * @return The {@link ExcelWorkbookEditor}, positioned on the current
+	 *         worksheet
+	 */
+	public ExcelWorkbookEditor edit() {
+		return new ExcelWorkbookEditor(getAbsoluteFilePath(), fileName, datasheetName);
+	}
+
 	/**
 	 * Function to search for a specified key within a column, and return the
 	 * corresponding row number
@@ -179,61 +149,7 @@ public class ExcelDataAccess {
 	public int getRowNum(String key, int columnNum, int startRowNum) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		String currentValue;
-		for (int currentRowNum = startRowNum; currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
-
-			Row row = worksheet.getRow(currentRowNum);
-			Cell cell = row.getCell(columnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(key)) {
-				return currentRowNum;
-			}
-		}
-
-		return -1;
-	}
-
-	/*
-	 * private String getCellValueAsString(Cell cell, FormulaEvaluator
-	 * formulaEvaluator) { if (cell == null) { return ""; } else {
-	 * switch(formulaEvaluator.evaluate(cell).getCellType()) { case
-	 * Cell.CELL_TYPE_BLANK: case Cell.CELL_TYPE_STRING:
-	 * System.out.print("string: "); return cell.getStringCellValue().trim();
-	 * 
-	 * case Cell.CELL_TYPE_BOOLEAN: System.out.print("bool: "); return
-	 * Boolean.toString(cell.getBooleanCellValue());
-	 * 
-	 * case Cell.CELL_TYPE_NUMERIC: if
-	 * (HSSFDateUtil.isCellDateFormatted(cell)) { System.out.print("date: ");
-	 * return cell.getDateCellValue().toString(); } else { System.out.print(
-	 * "numeric: "); return Double.toString(cell.getNumericCellValue()); }
-	 * 
-	 * case Cell.CELL_TYPE_ERROR: System.out.print("error: "); throw new
-	 * FrameworkException("Error in formula within this cell! " + "Error code: "
-	 * + cell.getErrorCellValue());
-	 * 
-	 * //case Cell.CELL_TYPE_FORMULA: // This will never occur!
-	 * 
-	 * default: throw new FrameworkException("Unhandled cell type!"); } } }
-	 */
-
-	private String getCellValueAsString(Cell cell, FormulaEvaluator formulaEvaluator) {
-		if (cell == null || cell.getCellType() ==CellType.BLANK) {
-			return "";
-		} else {
-			if (formulaEvaluator.evaluate(cell).getCellType() == CellType.ERROR) {
-				throw new FrameworkException(
-						"Error in formula within this cell! " + "Error code: " + cell.getErrorCellValue());
-			}
-
-			DataFormatter dataFormatter = new DataFormatter();
-			return dataFormatter.formatCellValue(formulaEvaluator.evaluateInCell(cell));
-		}
+		return getSheetSnapshot().getRowNum(key, columnNum, startRowNum);
 	}
 
 	/**
@@ -259,10 +175,7 @@ public class ExcelDataAccess {
 	public int getLastRowNum() {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		return worksheet.getLastRowNum();
+		return getSheetSnapshot().getLastRowNum();
 	}
 
 	/**
@@ -280,9 +193,7 @@ public class ExcelDataAccess {
 	public int getRowCount(String key, int columnNum, int startRowNum) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+		ExcelSheetSnapshot worksheet = getSheetSnapshot();
 
 		int rowCount = 0;
 		boolean keyFound = false;
@@ -290,9 +201,7 @@ public class ExcelDataAccess {
 		String currentValue;
 		for (int currentRowNum = startRowNum; currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
 
-			Row row = worksheet.getRow(currentRowNum);
-			Cell cell = row.getCell(columnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
+			currentValue = worksheet.getValue(currentRowNum, columnNum);
 
 			if (currentValue.equals(key)) {
 				rowCount++;
@@ -335,23 +244,7 @@ public class ExcelDataAccess {
 	public int getColumnNum(String key, int rowNum) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		Row row = worksheet.getRow(rowNum);
-		String currentValue;
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-
-			Cell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(key)) {
-				return currentColumnNum;
-			}
-		}
-
-		return -1;
+		return getSheetSnapshot().getColumnNum(key, rowNum);
 	}
 
 	/**
@@ -367,13 +260,7 @@ public class ExcelDataAccess {
 	public String getValue(int rowNum, int columnNum) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		Row row = worksheet.getRow(rowNum);
-		Cell cell = row.getCell(columnNum);
-		return getCellValueAsString(cell, formulaEvaluator);
+		return getSheetSnapshot().getValue(rowNum, columnNum);
 	}
 
 	/**
@@ -389,53 +276,18 @@ public class ExcelDataAccess {
 	public String getValue(int rowNum, String columnHeader) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		Row row = worksheet.getRow(0); // 0 because header is always in the
-											// first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-
-			Cell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
+		ExcelSheetSnapshot worksheet = getSheetSnapshot();
+		return worksheet.getValue(rowNum, getColumnNum(worksheet, columnHeader));
+	}
 
+	private int getColumnNum(ExcelSheetSnapshot worksheet, String columnHeader) {
+		int columnNum = worksheet.getIndex().getColumnNum(columnHeader);
 		if (columnNum == -1) {
 			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
 					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-			row = worksheet.getRow(rowNum);
-			Cell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
 		}
-	}
 
-	private CellStyle applyCellStyle(XSSFWorkbook workbook, ExcelCellFormatting cellFormatting) {
-		CellStyle cellStyle = workbook.createCellStyle();
-		if (cellFormatting.centred) {
-			// cellStyle.setAlignment(CellStyle.ALIGN_CENTER);
-		}
-		cellStyle.setFillForegroundColor(cellFormatting.getBackColorIndex());
-		// cellStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
-
-		Font font = workbook.createFont();
-		font.setFontName(cellFormatting.getFontName());
-		font.setFontHeightInPoints(cellFormatting.getFontSize());
-		if (cellFormatting.bold) {
-			// font.setBoldweight(HSSFFont.BOLDWEIGHT_BOLD);
-		}
-		font.setColor(cellFormatting.getForeColorIndex());
-		cellStyle.setFont(font);
-
-		return cellStyle;
+		return columnNum;
 	}
 
 	/**
@@ -469,20 +321,25 @@ public class ExcelDataAccess {
 	public void setValue(int rowNum, int columnNum, String value, ExcelCellFormatting cellFormatting) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		Row row = worksheet.getRow(rowNum);
-		Cell cell = row.createCell(columnNum);
-		// cell.setCellType(CellType.STRING);
-		cell.setCellValue(value);
-
-		if (cellFormatting != null) {
-			CellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
-			cell.setCellStyle(cellStyle);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.setValue(rowNum, columnNum, value, cellFormatting);
+			workbookEditor.commit();
 		}
+	}
 
-		writeIntoFile(workbook);
+	/**
+	 * Function to set several values across the worksheets of the workbook,
+	 * writing the workbook only once
+	 * 
+	 * @param values
+	 *            The values to be set, keyed by worksheet name and then by
+	 *            {@link ExcelSheetSnapshot#getCellKey(int, int)}
+	 */
+	void setValues(Map<String, Map<Long, String>> values) {
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.setValues(values);
+			workbookEditor.commit();
+		}
 	}
 
 	/**
@@ -516,40 +373,9 @@ public class ExcelDataAccess {
 	public void setValue(int rowNum, String columnHeader, String value, ExcelCellFormatting cellFormatting) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		Row row = worksheet.getRow(0); // 0 because header is always in the
-											// first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-
-			Cell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-
-		if (columnNum == -1) {
-			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
-					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-			row = worksheet.getRow(rowNum);
-			Cell cell = row.createCell(columnNum);
-			// cell.setCellType(CellType.STRING);
-			cell.setCellValue(value);
-
-			if (cellFormatting != null) {
-				CellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
-				cell.setCellStyle(cellStyle);
-			}
-
-			writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.setValue(rowNum, columnHeader, value, cellFormatting);
+			workbookEditor.commit();
 		}
 	}
 
@@ -567,38 +393,10 @@ public class ExcelDataAccess {
 	public void setHyperlink(int rowNum, int columnNum, String linkAddress) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		Row row = worksheet.getRow(rowNum);
-		Cell cell = row.getCell(columnNum);
-		if (cell == null) {
-			throw new FrameworkException(
-					"Specified cell is empty! " + "Please set a value before including a hyperlink...");
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.setHyperlink(rowNum, columnNum, linkAddress);
+			workbookEditor.commit();
 		}
-
-		setCellHyperlink(workbook, cell, linkAddress);
-
-		writeIntoFile(workbook);
-	}
-
-	private void setCellHyperlink(XSSFWorkbook workbook, Cell cell, String linkAddress) {
-		throw new NotImplementedException("No cell style stuff");
-
-		/*
-		CellStyle cellStyle = cell.getCellStyle();
-		Font font = cellStyle.getFont();
-		font.setUnderline(Font.U_SINGLE);
-		cellStyle.setFont(font);
-
-		// CreationHelper creationHelper = workbook.getCreationHelper();
-		// Hyperlink hyperlink =
-		// creationHelper.createHyperlink(Hyperlink.LINK_URL);
-		// hyperlink.setAddress(linkAddress);
-
-		cell.setCellStyle(cellStyle);
-		// cell.setHyperlink(hyperlink);
-		*/
 	}
 
 	/**
@@ -615,39 +413,9 @@ public class ExcelDataAccess {
 	public void setHyperlink(int rowNum, String columnHeader, String linkAddress) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		Row row = worksheet.getRow(0); // 0 because header is always in the
-											// first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-
-			Cell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-
-		if (columnNum == -1) {
-			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
-					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-			row = worksheet.getRow(rowNum);
-			Cell cell = row.getCell(columnNum);
-			if (cell == null) {
-				throw new FrameworkException(
-						"Specified cell is empty! " + "Please set a value before including a hyperlink...");
-			}
-
-			setCellHyperlink(workbook, cell, linkAddress);
-
-			writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.setHyperlink(rowNum, columnHeader, linkAddress);
+			workbookEditor.commit();
 		}
 	}
 
@@ -657,7 +425,26 @@ public class ExcelDataAccess {
 	public void createWorkbook() {
 		XSSFWorkbook workbook = new XSSFWorkbook();
 
-		writeIntoFile(workbook);
+		String absoluteFilePath = getAbsoluteFilePath();
+		ReentrantLock writeLock = ExcelWriteBuffer.getInstance().getWriteLock(absoluteFilePath);
+		writeLock.lock();
+		try {
+			ExcelWorkbookEditor.writeWorkbook(workbook, absoluteFilePath);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Function to create a new Excel workbook, whose contents are streamed into
+	 * it row by row (suitable for large output workbooks, which need not be held
+	 * in memory as a whole). The workbook is written when the returned writer is
+	 * closed.
+	 * 
+	 * @return The {@link ExcelStreamingWriter}
+	 */
+	public ExcelStreamingWriter createStreamingWorkbook() {
+		return new ExcelStreamingWriter(filePath, fileName);
 	}
 
 	/**
@@ -667,12 +454,10 @@ public class ExcelDataAccess {
 	 *            The sheet name to be added
 	 */
 	public void addSheet(String sheetName) {
-		XSSFWorkbook workbook = openFileForReading();
-
-		XSSFSheet worksheet = workbook.createSheet(sheetName);
-		worksheet.createRow(0); // include a blank row in the sheet created
-
-		writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.addSheet(sheetName);
+			workbookEditor.commit();
+		}
 
 		this.datasheetName = sheetName;
 	}
@@ -685,15 +470,12 @@ public class ExcelDataAccess {
 	public int addRow() {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		int newRowNum = worksheet.getLastRowNum() + 1;
-		worksheet.createRow(newRowNum);
-
-		writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			int result = workbookEditor.addRow();
+			workbookEditor.commit();
 
-		return newRowNum;
+			return result;
+		}
 	}
 
 	/**
@@ -718,26 +500,10 @@ public class ExcelDataAccess {
 	public void addColumn(String columnHeader, ExcelCellFormatting cellFormatting) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		Row row = worksheet.getRow(0); // 0 because header is always in the
-											// first row
-		int lastCellNum = row.getLastCellNum();
-		if (lastCellNum == -1) {
-			lastCellNum = 0;
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.addColumn(columnHeader, cellFormatting);
+			workbookEditor.commit();
 		}
-
-		Cell cell = row.createCell(lastCellNum);
-		// cell.setCellType(CellType.STRING);
-		cell.setCellValue(columnHeader);
-
-		if (cellFormatting != null) {
-			CellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
-			cell.setCellStyle(cellStyle);
-		}
-
-		writeIntoFile(workbook);
 	}
 
 	/**
@@ -750,21 +516,10 @@ public class ExcelDataAccess {
 	 *            The hex value of the color to be set within the palette
 	 */
 	public void setCustomPaletteColor(short index, String hexColor) {
-		throw new NotImplementedException("HSSFPalette not implemented in XSSFWorkbook");
-		/* 
-		XSSFWorkbook workbook = openFileForReading();
-		HSSFPalette palette = workbook.getCustomPalette();
-
-		if (index < 0x8 || index > 0x40) {
-			throw new FrameworkException(
-					"Valid indexes for the Excel custom palette are from 0x8 to 0x40 (inclusive)!");
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.setCustomPaletteColor(index, hexColor);
+			workbookEditor.commit();
 		}
-
-		Color color = Color.decode(hexColor);
-		palette.setColorAtIndex(index, (byte) color.getRed(), (byte) color.getGreen(), (byte) color.getBlue());
-
-		writeIntoFile(workbook);
-		*/
 	}
 
 	/**
@@ -782,13 +537,10 @@ public class ExcelDataAccess {
 	public void mergeCells(int firstRow, int lastRow, int firstCol, int lastCol) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		CellRangeAddress cellRangeAddress = new CellRangeAddress(firstRow, lastRow, firstCol, lastCol);
-		worksheet.addMergedRegion(cellRangeAddress);
-
-		writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.mergeCells(firstRow, lastRow, firstCol, lastCol);
+			workbookEditor.commit();
+		}
 	}
 
 	/**
@@ -802,12 +554,10 @@ public class ExcelDataAccess {
 	public void setRowSumsBelow(boolean rowSumsBelow) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		worksheet.setRowSumsBelow(rowSumsBelow);
-
-		writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.setRowSumsBelow(rowSumsBelow);
+			workbookEditor.commit();
+		}
 	}
 
 	/**
@@ -821,12 +571,24 @@ public class ExcelDataAccess {
 	public void groupRows(int firstRow, int lastRow) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		worksheet.groupRow(firstRow, lastRow);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.groupRows(firstRow, lastRow);
+			workbookEditor.commit();
+		}
+	}
 
-		writeIntoFile(workbook);
+	/**
+	 * Function to automatically adjust the column width to fit the contents for
+	 * the specified range of columns (all inputs are 0-based), using the
+	 * {@link AutoFitMode#ESTIMATED} column widths
+	 * 
+	 * @param firstCol
+	 *            The first column
+	 * @param lastCol
+	 *            The last column
+	 */
+	public void autoFitContents(int firstCol, int lastCol) {
+		autoFitContents(firstCol, lastCol, AutoFitMode.ESTIMATED);
 	}
 
 	/**
@@ -837,26 +599,16 @@ public class ExcelDataAccess {
 	 *            The first column
 	 * @param lastCol
 	 *            The last column
+	 * @param autoFitMode
+	 *            The {@link AutoFitMode} to be used
 	 */
-	public void autoFitContents(int firstCol, int lastCol) {
+	public void autoFitContents(int firstCol, int lastCol, AutoFitMode autoFitMode) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		if (firstCol < 0) {
-			firstCol = 0;
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.autoFitContents(firstCol, lastCol, autoFitMode);
+			workbookEditor.commit();
 		}
-
-		if (firstCol > lastCol) {
-			throw new FrameworkException("First column cannot be greater than last column!");
-		}
-
-		for (int currentColumn = firstCol; currentColumn <= lastCol; currentColumn++) {
-			worksheet.autoSizeColumn(currentColumn);
-		}
-
-		writeIntoFile(workbook);
 	}
 
 	/**
@@ -871,17 +623,10 @@ public class ExcelDataAccess {
 	public void addOuterBorder(int firstCol, int lastCol) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		// XSSFSheet worksheet = getWorkSheet(workbook);
-
-		// CellRangeAddress cellRangeAddress = new CellRangeAddress(0,
-		// worksheet.getLastRowNum(), firstCol, lastCol);
-		// HSSFRegionUtil.setBorderBottom(CellStyle.BORDER_THIN,
-		// cellRangeAddress, worksheet, workbook);
-		// HSSFRegionUtil.setBorderRight(CellStyle.BORDER_THIN,
-		// cellRangeAddress, worksheet, workbook);
-
-		writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.addOuterBorder(firstCol, lastCol);
+			workbookEditor.commit();
+		}
 	}
 
 	/**
@@ -900,64 +645,32 @@ public class ExcelDataAccess {
 	public void addOuterBorder(int firstRow, int lastRow, int firstCol, int lastCol) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		// XSSFSheet worksheet = getWorkSheet(workbook);
-
-		// CellRangeAddress cellRangeAddress = new CellRangeAddress(firstRow,
-		// lastRow, firstCol, lastCol);
-		// HSSFRegionUtil.setBorderBottom(CellStyle.BORDER_THIN,
-		// cellRangeAddress, worksheet, workbook);
-		// HSSFRegionUtil.setBorderTop(CellStyle.BORDER_THIN,
-		// cellRangeAddress, worksheet, workbook);
-		// HSSFRegionUtil.setBorderRight(CellStyle.BORDER_THIN,
-		// cellRangeAddress, worksheet, workbook);
-		// HSSFRegionUtil.setBorderLeft(CellStyle.BORDER_THIN,
-		// cellRangeAddress, worksheet, workbook);
-
-		writeIntoFile(workbook);
+		try (ExcelWorkbookEditor workbookEditor = edit()) {
+			workbookEditor.addOuterBorder(firstRow, lastRow, firstCol, lastCol);
+			workbookEditor.commit();
+		}
 	}
 
+	/**
+	 * Function to get the values in the cells identified by the specified row
+	 * number and column headers
+	 * 
+	 * @param keys
+	 *            The column headers of the cells
+	 * @param rowNum
+	 *            The row number of the cells
+	 * @return The Map of column headers with values
+	 */
 	public Map<String, String> getValuesForSpecificRow(String[] keys, int rowNum) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		Row hrow = worksheet.getRow(0);
+		ExcelSheetSnapshot worksheet = getSheetSnapshot();
 
 		Map<String, String> valueMap = new HashMap<String, String>();
-		Row row = worksheet.getRow(rowNum);
 		for (int j = 0; j < keys.length; j++) {
-			String value = getValue(hrow, row, keys[j], formulaEvaluator, keys.length);
+			String value = worksheet.getValue(rowNum, getColumnNum(worksheet, keys[j]));
 			valueMap.put(keys[j], value);
 		}
 		return valueMap;
 	}
-
-	private String getValue(Row hrow, Row row, String columnHeader, FormulaEvaluator formulaEvaluator,
-			int length) {
-		int columnNum = -1;
-		String currentValue;
-
-		for (int currentColumnNum = 0; currentColumnNum < length; currentColumnNum++) {
-			Cell cell = hrow.getCell(currentColumnNum);
-
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-
-		if (columnNum == -1) {
-			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
-					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-
-			Cell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
-		}
-	}
 }
\ No newline at end of file
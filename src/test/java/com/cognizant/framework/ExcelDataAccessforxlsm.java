@@ -15,22 +15,11 @@
  */
 package com.cognizant.framework;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.FormulaEvaluator;
-import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 public class ExcelDataAccessforxlsm {
 
 	private final String filePath, fileName;
@@ -77,38 +66,15 @@ public class ExcelDataAccessforxlsm {
 		}
 	}
 
-	private XSSFWorkbook openFileForReading() {
-
-		String encryptedAbsoluteFilePath = WhitelistingPath
+	private ExcelSheetSnapshot getSheetSnapshot() {
+		String absoluteFilePath = WhitelistingPath
 				.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xlsm");
-		String absoluteFilePath = encryptedAbsoluteFilePath;
-
-		FileInputStream fileInputStream;
-		try {
-			fileInputStream = new FileInputStream(absoluteFilePath);
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
-		}
-
-		XSSFWorkbook workbook;
-		try {
-			workbook = new XSSFWorkbook(fileInputStream);
-			// fileInputStream.close();
-		} catch (IOException e) {
-			e.printStackTrace();
-			throw new FrameworkException(
-					"Error while opening the specified Excel workbook \"" + absoluteFilePath + "\"");
-		}
-
-		return workbook;
-	}
 
-	private XSSFSheet getWorkSheet(XSSFWorkbook workbook) {
-		XSSFSheet worksheet = workbook.getSheet(datasheetName);
+		ExcelWorkbookSnapshot workbook = ExcelWorkbookCache.getInstance().getWorkbook(absoluteFilePath);
+		ExcelSheetSnapshot worksheet = workbook.getSheet(datasheetName);
 		if (worksheet == null) {
 			throw new FrameworkException("The specified sheet \"" + datasheetName + "\""
-					+ "does not exist within the workbook \"" + fileName + ".xls\"");
+					+ "does not exist within the workbook \"" + fileName + ".xlsm\"");
 		}
 
 		return worksheet;
@@ -122,10 +88,7 @@ public class ExcelDataAccessforxlsm {
 	public int getLastRowNum() {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-
-		return worksheet.getLastRowNum();
+		return getSheetSnapshot().getLastRowNum();
 	}
 
 	/**
@@ -144,23 +107,7 @@ public class ExcelDataAccessforxlsm {
 	public int getRowNum(String key, int columnNum, int startRowNum) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		String currentValue;
-		for (int currentRowNum = startRowNum; currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
-
-			XSSFRow row = worksheet.getRow(currentRowNum);
-			XSSFCell cell = row.getCell(columnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(key)) {
-				return currentRowNum;
-			}
-		}
-
-		return -1;
+		return getSheetSnapshot().getRowNum(key, columnNum, startRowNum);
 	}
 
 	/**
@@ -176,65 +123,39 @@ public class ExcelDataAccessforxlsm {
 	public String getValue(int rowNum, String columnHeader) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		XSSFRow row = worksheet.getRow(0); // 0 because header is always in the
-											// first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-
-			XSSFCell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-
-		if (columnNum == -1) {
-			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
-					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-			row = worksheet.getRow(rowNum);
-			XSSFCell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
-		}
+		ExcelSheetSnapshot worksheet = getSheetSnapshot();
+		return worksheet.getValue(rowNum, getColumnNum(worksheet, columnHeader));
 	}
 
-	
-	private String getCellValueAsString(XSSFCell cell, FormulaEvaluator formulaEvaluator) {
-		if (cell == null || cell.getCellType() == CellType.BLANK) {
-			return "";
-		} else {
-			if (formulaEvaluator.evaluate(cell).getCellType() == CellType.ERROR) {
-				throw new FrameworkException(
-						"Error in formula within this cell! " + "Error code: " + cell.getErrorCellValue());
-			}
+	/**
+	 * Function to check whether the specified column header is present in the
+	 * worksheet (e.g., for optional columns)
+	 * 
+	 * @param columnHeader
+	 *            The column header to be searched for
+	 * @return Boolean value indicating whether the column header is present
+	 */
+	public boolean containsColumn(String columnHeader) {
+		checkPreRequisites();
 
-			DataFormatter dataFormatter = new DataFormatter();
-			return dataFormatter.formatCellValue(formulaEvaluator.evaluateInCell(cell));
-		}
+		return getSheetSnapshot().getIndex().getColumnNum(columnHeader) != -1;
 	}
 
 	public List<Map<String, String>> getValues(String[] keys) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+		ExcelSheetSnapshot worksheet = getSheetSnapshot();
+
+		int[] columnNums = new int[keys.length];
+		for (int j = 0; j < keys.length; j++) {
+			columnNums[j] = getColumnNum(worksheet, keys[j]);
+		}
 
-		XSSFRow hrow = worksheet.getRow(0);
 		List<Map<String, String>> values = new ArrayList<Map<String, String>>();
-		for (int i = 1; i <= this.getLastRowNum(); i++) {
+		for (int i = 1; i <= worksheet.getLastRowNum(); i++) {
 			Map<String, String> valueMap = new HashMap<String, String>();
-			XSSFRow row = worksheet.getRow(i);
 			for (int j = 0; j < keys.length; j++) {
-				String value = getValue(hrow, row, keys[j], formulaEvaluator);
-				valueMap.put(keys[j], value);
+				valueMap.put(keys[j], worksheet.getValue(i, columnNums[j]));
 			}
 			values.add(valueMap);
 		}
@@ -245,71 +166,24 @@ public class ExcelDataAccessforxlsm {
 	public Map<String, String> getValuesForSpecificRow(String[] keys, int rowNum) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		XSSFRow hrow = worksheet.getRow(0);
+		ExcelSheetSnapshot worksheet = getSheetSnapshot();
 
 		Map<String, String> valueMap = new HashMap<String, String>();
-		XSSFRow row = worksheet.getRow(rowNum);
 		for (int j = 0; j < keys.length; j++) {
-			String value = getValue(hrow, row, keys[j], formulaEvaluator, keys.length);
-			valueMap.put(keys[j], value);
+			valueMap.put(keys[j], worksheet.getValue(rowNum, getColumnNum(worksheet, keys[j])));
 		}
 
 		return valueMap;
 	}
 
-	private String getValue(XSSFRow hrow, XSSFRow row, String columnHeader, FormulaEvaluator formulaEvaluator) {
-		int columnNum = -1;
-		String currentValue;
-
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-			XSSFCell cell = hrow.getCell(currentColumnNum);
-
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-
+	private int getColumnNum(ExcelSheetSnapshot worksheet, String columnHeader) {
+		int columnNum = worksheet.getIndex().getColumnNum(columnHeader);
 		if (columnNum == -1) {
 			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
 					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-
-			XSSFCell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
 		}
-	}
-
-	private String getValue(XSSFRow hrow, XSSFRow row, String columnHeader, FormulaEvaluator formulaEvaluator,
-			int length) {
-		int columnNum = -1;
-		String currentValue;
-
-		for (int currentColumnNum = 0; currentColumnNum < length; currentColumnNum++) {
-			XSSFCell cell = hrow.getCell(currentColumnNum);
 
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-
-		if (columnNum == -1) {
-			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
-					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-
-			XSSFCell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
-		}
+		return columnNum;
 	}
 
 }
@@ -0,0 +1,81 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * {@link DataSource} which reads the test data from Excel workbooks through
+ * the {@link ExcelDataAccess} layer
+ * 
+ * @author Cognizant
+ */
+final class ExcelDataSource implements DataSource {
+	static final ExcelDataSource INSTANCE = new ExcelDataSource();
+
+	private ExcelDataSource() {
+		// To prevent external instantiation of this class
+	}
+
+	@Override
+	public String getAbsolutePath(String datatablePath, String datatableName) {
+		return WhitelistingPath.cleanStringForFilePath(datatablePath + Util.getFileSeparator() + datatableName + ".xlsx");
+	}
+
+	@Override
+	public ExcelSheetSnapshot getDatasheet(String datatablePath, String datatableName, String datasheetName) {
+		return getExcelDataAccess(datatablePath, datatableName, datasheetName).getSheetSnapshot();
+	}
+
+	@Override
+	public ExcelSheetSnapshot getTestcaseRows(String datatablePath, String datatableName, String datasheetName,
+			String testcase) {
+		return getExcelDataAccess(datatablePath, datatableName, datasheetName).getTestcaseRows(testcase);
+	}
+
+	@Override
+	public void setValues(String datatablePath, String datatableName, Map<String, Map<Long, String>> values) {
+		new ExcelDataAccess(datatablePath, datatableName).setValues(values);
+	}
+
+	@Override
+	public void copyDatatable(String datatablePath, String targetPath, String datatableName) {
+		File datatable = new File(getAbsolutePath(datatablePath, datatableName));
+		File targetDatatable = new File(getAbsolutePath(targetPath, datatableName));
+		if (!datatable.isFile() || targetDatatable.exists()) {
+			return;
+		}
+
+		try {
+			FileUtils.copyFile(datatable, targetDatatable);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error in creating run-time datatable: Copying the datatable \""
+					+ datatableName + "\" failed...");
+		}
+	}
+
+	private ExcelDataAccess getExcelDataAccess(String datatablePath, String datatableName, String datasheetName) {
+		ExcelDataAccess excelDataAccess = new ExcelDataAccess(datatablePath, datatableName);
+		excelDataAccess.setDatasheetName(datasheetName);
+
+		return excelDataAccess;
+	}
+}
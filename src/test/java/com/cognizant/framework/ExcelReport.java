@@ -0,0 +1,220 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.Date;
+
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+/**
+ * Class to encapsulate the Excel report generation functions of the framework.
+ * The reports are streamed into the workbooks row by row (using the
+ * {@link ExcelStreamingWriter}), so that large test logs and result summaries
+ * are not held in memory as a whole
+ * 
+ * @author Cognizant
+ */
+class ExcelReport implements ReportType {
+	private static final String EXCEL_RESULTS = "Excel Results";
+	private static final String TEST_LOG_SHEET = "Test_Log";
+	private static final String RESULT_SUMMARY_SHEET = "Result_Summary";
+	private static final String RESULT_SUMMARY_FILE = "Summary";
+
+	private final ReportSettings reportSettings;
+	private final String excelResultsPath;
+
+	private final ExcelCellFormatting headingFormatting, subHeadingFormatting, sectionFormatting,
+			subSectionFormatting, contentFormatting, passFormatting, failFormatting, warningFormatting;
+
+	private ExcelStreamingWriter testLogWriter, resultSummaryWriter;
+
+	/**
+	 * Constructor to initialize the Excel report
+	 * 
+	 * @param reportSettings
+	 *            The {@link ReportSettings} object
+	 * @param reportTheme
+	 *            The {@link ReportTheme} object (the Excel report uses a fixed
+	 *            set of palette colors, since the themes are defined as HTML
+	 *            colors)
+	 */
+	public ExcelReport(ReportSettings reportSettings, ReportTheme reportTheme) {
+		this.reportSettings = reportSettings;
+		excelResultsPath = WhitelistingPath
+				.cleanStringForFilePath(reportSettings.getReportPath() + Util.getFileSeparator() + EXCEL_RESULTS);
+
+		headingFormatting = createCellFormatting((short) 12, IndexedColors.DARK_BLUE, IndexedColors.WHITE, true);
+		subHeadingFormatting = createCellFormatting((short) 10, IndexedColors.PALE_BLUE, IndexedColors.BLACK, true);
+		sectionFormatting = createCellFormatting((short) 10, IndexedColors.GREY_25_PERCENT, IndexedColors.BLACK,
+				true);
+		subSectionFormatting = createCellFormatting((short) 10, IndexedColors.GREY_25_PERCENT,
+				IndexedColors.BLACK, false);
+		contentFormatting = createCellFormatting((short) 10, IndexedColors.WHITE, IndexedColors.BLACK, false);
+		passFormatting = createCellFormatting((short) 10, IndexedColors.WHITE, IndexedColors.GREEN, false);
+		failFormatting = createCellFormatting((short) 10, IndexedColors.WHITE, IndexedColors.RED, true);
+		warningFormatting = createCellFormatting((short) 10, IndexedColors.WHITE, IndexedColors.ORANGE, false);
+	}
+
+	private ExcelCellFormatting createCellFormatting(short fontSize, IndexedColors backColor,
+			IndexedColors foreColor, boolean bold) {
+		ExcelCellFormatting cellFormatting = new ExcelCellFormatting();
+		cellFormatting.setFontName("Verdana");
+		cellFormatting.setFontSize(fontSize);
+		cellFormatting.setBackColorIndex(backColor.getIndex());
+		cellFormatting.setForeColorIndex(foreColor.getIndex());
+		cellFormatting.bold = bold;
+		return cellFormatting;
+	}
+
+	private ExcelCellFormatting getStatusFormatting(Status stepStatus) {
+		switch (stepStatus) {
+		case PASS:
+			return passFormatting;
+
+		case FAIL:
+			return failFormatting;
+
+		case WARNING:
+			return warningFormatting;
+
+		default:
+			return contentFormatting;
+		}
+	}
+
+	/* TEST LOG FUNCTIONS */
+
+	@Override
+	public void initializeTestLog() {
+		testLogWriter = new ExcelStreamingWriter(excelResultsPath, reportSettings.getReportName());
+		testLogWriter.addSheet(TEST_LOG_SHEET);
+		testLogWriter.setColumnWidth(0, 12);
+		testLogWriter.setColumnWidth(1, 30);
+		testLogWriter.setColumnWidth(2, 80);
+		testLogWriter.setColumnWidth(3, 12);
+		testLogWriter.setColumnWidth(4, 25);
+	}
+
+	@Override
+	public void addTestLogHeading(String heading) {
+		int rowNum = testLogWriter.addRow(headingFormatting, heading, "", "", "", "");
+		testLogWriter.mergeCells(rowNum, rowNum, 0, 4);
+	}
+
+	@Override
+	public void addTestLogSubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		testLogWriter.addRow(subHeadingFormatting, subHeading1, subHeading2, subHeading3, subHeading4, "");
+	}
+
+	@Override
+	public void addTestLogTableHeadings() {
+		testLogWriter.addRow(headingFormatting, "Step_No", "Step_Name", "Description", "Status", "Step_Time");
+	}
+
+	@Override
+	public void addTestLogSection(String section) {
+		int rowNum = testLogWriter.addRow(sectionFormatting, section, "", "", "", "");
+		testLogWriter.mergeCells(rowNum, rowNum, 0, 4);
+	}
+
+	@Override
+	public void addTestLogSubSection(String subSection) {
+		int rowNum = testLogWriter.addRow(subSectionFormatting, " " + subSection, "", "", "", "");
+		testLogWriter.mergeCells(rowNum, rowNum, 0, 4);
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+			String screenshotName, Date stepTime) {
+		testLogWriter.addRow(getStatusFormatting(stepStatus), stepNumber, stepName, stepDescription,
+				stepStatus.toString(), Util.getFormattedTime(stepTime, reportSettings.getDateFormatString()));
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String endPoint, Object expectedValue, Object actualValue,
+			Status stepStatus, Date stepTime) {
+		testLogWriter.addRow(getStatusFormatting(stepStatus), stepNumber, endPoint,
+				"Expected: " + expectedValue + "; Actual: " + actualValue, stepStatus.toString(),
+				Util.getFormattedTime(stepTime, reportSettings.getDateFormatString()));
+	}
+
+	@Override
+	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
+		int rowNum = testLogWriter.addRow(headingFormatting, "Execution Duration: " + executionTime, "", "", "", "");
+		testLogWriter.mergeCells(rowNum, rowNum, 0, 4);
+		testLogWriter.addRow(subHeadingFormatting, "Steps passed", ": " + nStepsPassed, "Steps failed",
+				": " + nStepsFailed, "");
+
+		testLogWriter.close();
+	}
+
+	/* RESULT SUMMARY FUNCTIONS */
+
+	@Override
+	public void initializeResultSummary() {
+		resultSummaryWriter = new ExcelStreamingWriter(excelResultsPath, RESULT_SUMMARY_FILE);
+		resultSummaryWriter.addSheet(RESULT_SUMMARY_SHEET);
+		resultSummaryWriter.setColumnWidth(0, 25);
+		resultSummaryWriter.setColumnWidth(1, 25);
+		resultSummaryWriter.setColumnWidth(2, 25);
+		resultSummaryWriter.setColumnWidth(3, 50);
+		resultSummaryWriter.setColumnWidth(4, 30);
+		resultSummaryWriter.setColumnWidth(5, 20);
+		resultSummaryWriter.setColumnWidth(6, 12);
+	}
+
+	@Override
+	public void addResultSummaryHeading(String heading) {
+		int rowNum = resultSummaryWriter.addRow(headingFormatting, heading, "", "", "", "", "", "");
+		resultSummaryWriter.mergeCells(rowNum, rowNum, 0, 6);
+	}
+
+	@Override
+	public void addResultSummarySubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		resultSummaryWriter.addRow(subHeadingFormatting, subHeading1, subHeading2, subHeading3, subHeading4, "",
+				"", "");
+	}
+
+	@Override
+	public void addResultSummaryTableHeadings() {
+		resultSummaryWriter.addRow(headingFormatting, "Test_Scenario", "Test_Case", "Test_Instance",
+				"Test_Description", "Additional_Details", "Execution_Time", "Test_Status");
+	}
+
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName, String executionTime,
+			String testStatus) {
+		ExcelCellFormatting statusFormatting = "passed".equalsIgnoreCase(testStatus) ? passFormatting
+				: failFormatting;
+		resultSummaryWriter.addRow(statusFormatting, testParameters.getCurrentScenario(),
+				testParameters.getCurrentTestcase(), testParameters.getCurrentTestInstance(),
+				testParameters.getCurrentTestDescription(), testParameters.getAdditionalDetails(), executionTime,
+				testStatus);
+	}
+
+	@Override
+	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed) {
+		int rowNum = resultSummaryWriter.addRow(headingFormatting, "Total Duration: " + totalExecutionTime, "", "",
+				"", "", "", "");
+		resultSummaryWriter.mergeCells(rowNum, rowNum, 0, 6);
+		resultSummaryWriter.addRow(subHeadingFormatting, "Tests passed", ": " + nTestsPassed, "Tests failed",
+				": " + nTestsFailed, "", "", "");
+
+		resultSummaryWriter.close();
+	}
+}
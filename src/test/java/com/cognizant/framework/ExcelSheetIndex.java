@@ -0,0 +1,161 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class to encapsulate the lookup index of a datatable worksheet, mapping each
+ * column header to its column number and each test case (and iteration) to
+ * its row number
+ * 
+ * @author Cognizant
+ */
+final class ExcelSheetIndex {
+	private static final int TESTCASE_COLUMN_NUM = 0;
+	private static final int ITERATION_COLUMN_NUM = 1;
+
+	private final Map<String, Integer> columnNums;
+	private final Map<String, Integer> testcaseRowNums;
+	private final Map<String, int[]> iterationRowNums;
+
+	private ExcelSheetIndex(Map<String, Integer> columnNums, Map<String, Integer> testcaseRowNums,
+			Map<String, int[]> iterationRowNums) {
+		this.columnNums = Collections.unmodifiableMap(columnNums);
+		this.testcaseRowNums = Collections.unmodifiableMap(testcaseRowNums);
+		this.iterationRowNums = Collections.unmodifiableMap(iterationRowNums);
+	}
+
+	/**
+	 * Function to build the index of the specified worksheet. The header is
+	 * assumed to be in the first row, the test case ID in the first column and
+	 * the iteration number in the second column. Cells with formula errors are
+	 * left out of the index (so that a single such cell does not break the
+	 * lookups of the whole worksheet).
+	 * 
+	 * @param worksheet
+	 *            The {@link ExcelSheetSnapshot} to be indexed
+	 * @return The {@link ExcelSheetIndex}
+	 */
+	static ExcelSheetIndex build(ExcelSheetSnapshot worksheet) {
+		Map<String, Integer> columnNums = new HashMap<String, Integer>();
+		for (int columnNum = 0; columnNum < worksheet.getLastCellNum(0); columnNum++) {
+			String columnHeader = getIndexedValue(worksheet, 0, columnNum);
+			if (columnHeader != null) {
+				columnNums.putIfAbsent(columnHeader, columnNum);
+			}
+		}
+
+		Map<String, Integer> testcaseRowNums = new HashMap<String, Integer>();
+		Map<String, int[]> iterationRowNums = new HashMap<String, int[]>();
+		for (int rowNum = 1; rowNum <= worksheet.getLastRowNum(); rowNum++) {
+			String testcase = getIndexedValue(worksheet, rowNum, TESTCASE_COLUMN_NUM);
+			if (testcase == null) {
+				continue;
+			}
+			testcaseRowNums.putIfAbsent(testcase, rowNum);
+
+			int iteration = parseIteration(getIndexedValue(worksheet, rowNum, ITERATION_COLUMN_NUM));
+			if (iteration <= 0) {
+				continue;
+			}
+
+			int[] rowNums = iterationRowNums.get(testcase);
+			if (rowNums == null || rowNums.length <= iteration) {
+				int[] grownRowNums = new int[Math.max(iteration + 1, rowNums == null ? 2 : rowNums.length * 2)];
+				Arrays.fill(grownRowNums, -1);
+				if (rowNums != null) {
+					System.arraycopy(rowNums, 0, grownRowNums, 0, rowNums.length);
+				}
+				rowNums = grownRowNums;
+				iterationRowNums.put(testcase, rowNums);
+			}
+			if (rowNums[iteration] == -1) {
+				rowNums[iteration] = rowNum;
+			}
+		}
+
+		return new ExcelSheetIndex(columnNums, testcaseRowNums, iterationRowNums);
+	}
+
+	private static String getIndexedValue(ExcelSheetSnapshot worksheet, int rowNum, int columnNum) {
+		if (worksheet.getFormulaError(rowNum, columnNum) != null) {
+			return null;
+		}
+
+		return worksheet.getValue(rowNum, columnNum);
+	}
+
+	private static int parseIteration(String iteration) {
+		if (iteration == null) {
+			return -1;
+		}
+
+		try {
+			return Integer.parseInt(iteration.trim());
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Function to get the column number corresponding to the specified column
+	 * header
+	 * 
+	 * @param columnHeader
+	 *            The column header
+	 * @return The column number (-1 if the column header is not found)
+	 */
+	int getColumnNum(String columnHeader) {
+		Integer columnNum = columnNums.get(columnHeader);
+		return columnNum == null ? -1 : columnNum;
+	}
+
+	/**
+	 * Function to get the first row number corresponding to the specified test
+	 * case (or common data reference ID)
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return The row number (-1 if the test case is not found)
+	 */
+	int getRowNum(String testcase) {
+		Integer rowNum = testcaseRowNums.get(testcase);
+		return rowNum == null ? -1 : rowNum;
+	}
+
+	/**
+	 * Function to get the row number corresponding to the specified test case
+	 * and iteration
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @param iteration
+	 *            The iteration number
+	 * @return The row number (-1 if the iteration is not found)
+	 */
+	int getRowNum(String testcase, int iteration) {
+		int[] rowNums = iterationRowNums.get(testcase);
+		if (rowNums == null || iteration <= 0 || iteration >= rowNums.length) {
+			return -1;
+		}
+
+		return rowNums[iteration];
+	}
+}
@@ -0,0 +1,264 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to encapsulate an immutable, read-only snapshot of the cell values
+ * within a single Excel worksheet
+ * 
+ * @author Cognizant
+ */
+final class ExcelSheetSnapshot {
+	private final String sheetName;
+	private final String[][] cellValues;
+	private final Map<Long, Byte> formulaErrors;
+	private final int[] sourceRowNums;
+
+	private volatile ExcelSheetIndex index;
+	private volatile IterationMetadata iterationMetadata;
+	private final Map<Integer, ExcelColumnIndex> columnIndexes = new ConcurrentHashMap<Integer, ExcelColumnIndex>();
+
+	/**
+	 * Constructor to initialize the {@link ExcelSheetSnapshot}
+	 * 
+	 * @param sheetName
+	 *            The name of the worksheet
+	 * @param cellValues
+	 *            The formatted cell values, indexed by row and column number (a
+	 *            null row indicates that the row does not exist, a null cell
+	 *            indicates a formula error)
+	 * @param formulaErrors
+	 *            The error codes of the cells whose formula could not be
+	 *            evaluated, keyed by {@link #getCellKey(int, int)}
+	 */
+	ExcelSheetSnapshot(String sheetName, String[][] cellValues, Map<Long, Byte> formulaErrors) {
+		this(sheetName, cellValues, formulaErrors, null);
+	}
+
+	/**
+	 * Constructor to initialize an {@link ExcelSheetSnapshot} which holds only
+	 * a subset of the rows within the worksheet
+	 * 
+	 * @param sheetName
+	 *            The name of the worksheet
+	 * @param cellValues
+	 *            The formatted cell values, indexed by row and column number
+	 * @param formulaErrors
+	 *            The error codes of the cells whose formula could not be
+	 *            evaluated, keyed by {@link #getCellKey(int, int)}
+	 * @param sourceRowNums
+	 *            The row numbers within the worksheet from which each of the
+	 *            rows was read (null if the snapshot holds all the rows)
+	 */
+	ExcelSheetSnapshot(String sheetName, String[][] cellValues, Map<Long, Byte> formulaErrors,
+			int[] sourceRowNums) {
+		this.sheetName = sheetName;
+		this.cellValues = cellValues;
+		this.formulaErrors = formulaErrors;
+		this.sourceRowNums = sourceRowNums;
+	}
+
+	static long getCellKey(int rowNum, int columnNum) {
+		return ((long) rowNum << 32) | (columnNum & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Function to get the name of the worksheet
+	 * 
+	 * @return The worksheet name
+	 */
+	String getSheetName() {
+		return sheetName;
+	}
+
+	/**
+	 * Function to get the row number within the worksheet from which the
+	 * specified row of this snapshot was read
+	 * 
+	 * @param rowNum
+	 *            The row number within this snapshot
+	 * @return The corresponding row number within the worksheet
+	 */
+	int getSourceRowNum(int rowNum) {
+		return (sourceRowNums == null) ? rowNum : sourceRowNums[rowNum];
+	}
+
+	/**
+	 * Function to get the lookup index of the worksheet (built on first use and
+	 * shared by all the threads reading this snapshot)
+	 * 
+	 * @return The {@link ExcelSheetIndex}
+	 */
+	ExcelSheetIndex getIndex() {
+		ExcelSheetIndex currentIndex = index;
+		if (currentIndex == null) {
+			currentIndex = ExcelSheetIndex.build(this);
+			index = currentIndex;
+		}
+
+		return currentIndex;
+	}
+
+	/**
+	 * Function to get the iteration metadata of the worksheet (built on first use
+	 * and shared by all the threads reading this snapshot)
+	 * 
+	 * @return The {@link IterationMetadata}
+	 */
+	IterationMetadata getIterationMetadata() {
+		IterationMetadata currentIterationMetadata = iterationMetadata;
+		if (currentIterationMetadata == null) {
+			currentIterationMetadata = IterationMetadata.build(this);
+			iterationMetadata = currentIterationMetadata;
+		}
+
+		return currentIterationMetadata;
+	}
+
+	/**
+	 * Function to get the secondary index of the specified column (built on
+	 * first use and shared by all the threads reading this snapshot)
+	 * 
+	 * @param columnNum
+	 *            The column number
+	 * @return The {@link ExcelColumnIndex}
+	 */
+	ExcelColumnIndex getColumnIndex(int columnNum) {
+		return columnIndexes.computeIfAbsent(columnNum, key -> new ExcelColumnIndex(this, columnNum));
+	}
+
+	/**
+	 * Function to get the last row number within the worksheet
+	 * 
+	 * @return The last row number within the worksheet (-1 if the worksheet
+	 *         is empty)
+	 */
+	int getLastRowNum() {
+		return cellValues.length - 1;
+	}
+
+	/**
+	 * Function to get the number of cells in the specified row (i.e., the last
+	 * column number plus one)
+	 * 
+	 * @param rowNum
+	 *            The row number
+	 * @return The number of cells in the row (-1 if the row does not exist)
+	 */
+	int getLastCellNum(int rowNum) {
+		if (rowNum < 0 || rowNum >= cellValues.length || cellValues[rowNum] == null) {
+			return -1;
+		}
+
+		return cellValues[rowNum].length;
+	}
+
+	/**
+	 * Function to get the value in the cell identified by the specified row and
+	 * column numbers
+	 * 
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @return The value present in the cell (blank if the cell does not exist)
+	 */
+	String getValue(int rowNum, int columnNum) {
+		if (rowNum < 0 || rowNum >= cellValues.length) {
+			return "";
+		}
+
+		String[] row = cellValues[rowNum];
+		if (row == null || columnNum < 0 || columnNum >= row.length) {
+			return "";
+		}
+
+		String value = row[columnNum];
+		if (value == null) {
+			throw new FrameworkException("Error in formula within this cell! " + "Error code: "
+					+ formulaErrors.get(getCellKey(rowNum, columnNum)));
+		}
+
+		return value;
+	}
+
+	/**
+	 * Function to get the error code of the specified cell, if its formula
+	 * could not be evaluated
+	 * 
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @return The formula error code (null if the cell does not hold a formula
+	 *         error)
+	 */
+	Byte getFormulaError(int rowNum, int columnNum) {
+		if (getLastCellNum(rowNum) <= columnNum || columnNum < 0 || cellValues[rowNum][columnNum] != null) {
+			return null;
+		}
+
+		return formulaErrors.get(getCellKey(rowNum, columnNum));
+	}
+
+	/**
+	 * Function to search for a specified key within a column, and return the
+	 * corresponding row number
+	 * 
+	 * @param key
+	 *            The value being searched for
+	 * @param columnNum
+	 *            The column number in which the key should be searched
+	 * @param startRowNum
+	 *            The row number from which the search should start
+	 * @return The row number in which the specified key is found (-1 if the key
+	 *         is not found)
+	 */
+	int getRowNum(String key, int columnNum, int startRowNum) {
+		for (int currentRowNum = startRowNum; currentRowNum < cellValues.length; currentRowNum++) {
+			if (getValue(currentRowNum, columnNum).equals(key)) {
+				return currentRowNum;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Function to search for a specified key within a row, and return the
+	 * corresponding column number
+	 * 
+	 * @param key
+	 *            The value being searched for
+	 * @param rowNum
+	 *            The row number in which the key should be searched
+	 * @return The column number in which the specified key is found (-1 if the
+	 *         key is not found)
+	 */
+	int getColumnNum(String key, int rowNum) {
+		int lastCellNum = getLastCellNum(rowNum);
+		for (int currentColumnNum = 0; currentColumnNum < lastCellNum; currentColumnNum++) {
+			if (getValue(rowNum, currentColumnNum).equals(key)) {
+				return currentColumnNum;
+			}
+		}
+
+		return -1;
+	}
+}
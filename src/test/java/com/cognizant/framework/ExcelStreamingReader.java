@@ -0,0 +1,173 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Class to read the rows of a single test case from an Excel worksheet using
+ * the POI event (SAX) API, so that only one row is held in memory while the
+ * worksheet is being scanned
+ * 
+ * @author Cognizant
+ */
+final class ExcelStreamingReader {
+	private ExcelStreamingReader() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to read the header row and all the rows of the specified test
+	 * case (identified by the value in the first column) from the specified
+	 * worksheet. The rows of a test case are expected to be contiguous, as
+	 * elsewhere within the framework, so the scan stops at the end of the
+	 * test case block.<br>
+	 * Formula cells are reported with the result last cached by Excel.
+	 * 
+	 * @param absoluteFilePath
+	 *            The absolute path of the Excel workbook
+	 * @param datasheetName
+	 *            The name of the worksheet
+	 * @param testcase
+	 *            The test case whose rows are required
+	 * @return An {@link ExcelSheetSnapshot} containing the header row followed
+	 *         by the rows of the test case
+	 */
+	static ExcelSheetSnapshot readTestcaseRows(String absoluteFilePath, String datasheetName, String testcase) {
+		File file = new File(absoluteFilePath);
+		if (!file.isFile()) {
+			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
+		}
+
+		try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+			XSSFReader xssfReader = new XSSFReader(opcPackage);
+			ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+			StylesTable styles = xssfReader.getStylesTable();
+
+			XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+			while (sheetIterator.hasNext()) {
+				try (InputStream sheetInputStream = sheetIterator.next()) {
+					if (!sheetIterator.getSheetName().equals(datasheetName)) {
+						continue;
+					}
+
+					TestcaseRowCollector rowCollector = new TestcaseRowCollector(testcase);
+					XMLReader sheetParser = XMLHelper.newXMLReader();
+					sheetParser.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings, rowCollector,
+							new DataFormatter(), false));
+					try {
+						sheetParser.parse(new InputSource(sheetInputStream));
+					} catch (EndOfTestcaseException e) {
+						// The remaining rows belong to other test cases
+					}
+
+					return rowCollector.toSnapshot(datasheetName);
+				}
+			}
+		} catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while streaming the specified Excel workbook \"" + absoluteFilePath
+					+ "\"");
+		}
+
+		throw new FrameworkException("The specified sheet \"" + datasheetName + "\""
+				+ "does not exist within the workbook \"" + file.getName() + "\"");
+	}
+
+	private static final class EndOfTestcaseException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private static final class TestcaseRowCollector implements SheetContentsHandler {
+		private final String testcase;
+		private final List<String[]> rows = new ArrayList<String[]>();
+		private final List<Integer> sourceRowNums = new ArrayList<Integer>();
+
+		private final List<String> currentRow = new ArrayList<String>();
+		private int currentRowNum;
+
+		TestcaseRowCollector(String testcase) {
+			this.testcase = testcase;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			currentRowNum = rowNum;
+			currentRow.clear();
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int columnNum = new CellReference(cellReference).getCol();
+			while (currentRow.size() < columnNum) {
+				currentRow.add("");
+			}
+			currentRow.add(formattedValue == null ? "" : formattedValue);
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			boolean isTestcaseRow = !currentRow.isEmpty() && currentRow.get(0).equals(testcase);
+			if (rowNum != 0 && !isTestcaseRow) {
+				if (rows.size() > 1) {
+					throw new EndOfTestcaseException();
+				}
+				return;
+			}
+
+			if (rows.isEmpty() && rowNum != 0) {
+				// The header row is missing from the worksheet
+				rows.add(new String[0]);
+				sourceRowNums.add(0);
+			}
+			rows.add(currentRow.toArray(new String[currentRow.size()]));
+			sourceRowNums.add(currentRowNum);
+		}
+
+		ExcelSheetSnapshot toSnapshot(String datasheetName) {
+			String[][] cellValues = rows.toArray(new String[rows.size()][]);
+			int[] rowNums = new int[sourceRowNums.size()];
+			for (int i = 0; i < rowNums.length; i++) {
+				rowNums[i] = sourceRowNums.get(i);
+			}
+
+			return new ExcelSheetSnapshot(datasheetName, cellValues, Collections.<Long, Byte>emptyMap(), rowNums);
+		}
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Class to write large Excel workbooks one row at a time, using the streaming
+ * (SXSSF) API of POI. Only a bounded window of the most recently added rows is
+ * held in memory; older rows are spilled into a (compressed) temporary file,
+ * so that the memory used stays the same regardless of the number of rows
+ * written. Rows which have left the window can no longer be accessed.<br>
+ * <br>
+ * The workbook is created afresh, and replaces any existing workbook at the
+ * specified path only when the writer is closed.
+ * 
+ * @author Cognizant
+ */
+public class ExcelStreamingWriter implements AutoCloseable {
+	/**
+	 * The default number of rows held in memory per worksheet
+	 */
+	public static final int DEFAULT_ROW_WINDOW_SIZE = 100;
+
+	private final String absoluteFilePath, fileName;
+	private final SXSSFWorkbook workbook;
+	private final ExcelCellStyleRegistry cellStyleRegistry;
+
+	private SXSSFSheet worksheet;
+	private int nextRowNum;
+	private boolean closed = false;
+
+	/**
+	 * Constructor to initialize the streaming writer with the
+	 * {@link #DEFAULT_ROW_WINDOW_SIZE}
+	 * 
+	 * @param filePath
+	 *            The absolute path where the Excel file is to be stored
+	 * @param fileName
+	 *            The name of the Excel file (without the extension)
+	 */
+	public ExcelStreamingWriter(String filePath, String fileName) {
+		this(filePath, fileName, DEFAULT_ROW_WINDOW_SIZE);
+	}
+
+	/**
+	 * Constructor to initialize the streaming writer
+	 * 
+	 * @param filePath
+	 *            The absolute path where the Excel file is to be stored
+	 * @param fileName
+	 *            The name of the Excel file (without the extension)
+	 * @param rowWindowSize
+	 *            The number of rows per worksheet to be held in memory
+	 */
+	public ExcelStreamingWriter(String filePath, String fileName, int rowWindowSize) {
+		if (rowWindowSize < 1) {
+			throw new FrameworkException("The row window size of the streaming writer must be positive!");
+		}
+		this.absoluteFilePath = WhitelistingPath
+				.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xlsx");
+		this.fileName = fileName;
+
+		workbook = new SXSSFWorkbook(rowWindowSize);
+		workbook.setCompressTempFiles(true);
+		cellStyleRegistry = new ExcelCellStyleRegistry(workbook.getXSSFWorkbook());
+	}
+
+	/**
+	 * Function to add a sheet to the workbook, to which all the subsequent rows
+	 * are added
+	 * 
+	 * @param sheetName
+	 *            The sheet name to be added
+	 */
+	public void addSheet(String sheetName) {
+		checkOpen();
+		worksheet = workbook.createSheet(sheetName);
+		nextRowNum = 0;
+	}
+
+	/**
+	 * Function to add a row to the current sheet
+	 * 
+	 * @param values
+	 *            The values to be written into the cells of the row
+	 * @return The row number of the added row
+	 */
+	public int addRow(String... values) {
+		return addRow(null, values);
+	}
+
+	/**
+	 * Function to add a row to the current sheet, with the specified
+	 * formatting applied to all its cells
+	 * 
+	 * @param cellFormatting
+	 *            The {@link ExcelCellFormatting} to be applied (may be null)
+	 * @param values
+	 *            The values to be written into the cells of the row
+	 * @return The row number of the added row
+	 */
+	int addRow(ExcelCellFormatting cellFormatting, String... values) {
+		checkOpen();
+		if (worksheet == null) {
+			throw new FrameworkException("No sheet has been added to the workbook \"" + fileName + ".xlsx\"!");
+		}
+
+		CellStyle cellStyle = null;
+		if (cellFormatting != null) {
+			cellStyle = cellStyleRegistry.getCellStyle(cellFormatting);
+		}
+
+		int rowNum = nextRowNum++;
+		Row row = worksheet.createRow(rowNum);
+		for (int columnNum = 0; columnNum < values.length; columnNum++) {
+			Cell cell = row.createCell(columnNum);
+			cell.setCellValue(values[columnNum] == null ? "" : values[columnNum]);
+			if (cellStyle != null) {
+				cell.setCellStyle(cellStyle);
+			}
+		}
+
+		return rowNum;
+	}
+
+	/**
+	 * Function to merge the specified cells within the current sheet
+	 * 
+	 * @param firstRow
+	 *            The first row
+	 * @param lastRow
+	 *            The last row
+	 * @param firstCol
+	 *            The first column
+	 * @param lastCol
+	 *            The last column
+	 */
+	public void mergeCells(int firstRow, int lastRow, int firstCol, int lastCol) {
+		checkOpen();
+		worksheet.addMergedRegion(new CellRangeAddress(firstRow, lastRow, firstCol, lastCol));
+	}
+
+	/**
+	 * Function to set the width of the specified column within the current
+	 * sheet
+	 * 
+	 * @param columnNum
+	 *            The column number
+	 * @param nCharacters
+	 *            The width of the column, in characters
+	 */
+	public void setColumnWidth(int columnNum, int nCharacters) {
+		checkOpen();
+		worksheet.setColumnWidth(columnNum, Math.min(nCharacters, 255) * 256);
+	}
+
+	/**
+	 * Function to write the workbook into the Excel file, and release the
+	 * temporary files used by the writer
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		ReentrantLock writeLock = ExcelWriteBuffer.getInstance().getWriteLock(absoluteFilePath);
+		writeLock.lock();
+		try {
+			ExcelWorkbookEditor.writeWorkbook(workbook, absoluteFilePath);
+		} finally {
+			writeLock.unlock();
+			workbook.dispose();
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new FrameworkException("The streaming writer of \"" + fileName + ".xlsx\" is closed!");
+		}
+	}
+}
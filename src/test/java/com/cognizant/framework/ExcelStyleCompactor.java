@@ -0,0 +1,273 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.poi.ooxml.POIXMLTypeLoader;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.xmlbeans.XmlException;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellStyleXfs;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCol;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCols;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTFont;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTStylesheet;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.StyleSheetDocument;
+
+/**
+ * Utility which collapses the duplicate cell styles (and fonts) within
+ * existing datatables, such as those left behind by formatted writes made
+ * before the styles were being reused. Each cell, row and column is pointed at
+ * the first of its identical styles, after which the unused styles are
+ * removed from the workbook.
+ * 
+ * <pre>
+ * java com.cognizant.framework.ExcelStyleCompactor [&lt;workbook or folder&gt; ...]
+ * </pre>
+ * 
+ * (compacts all the workbooks within src/test/resources/Datatables if no
+ * paths are specified)
+ * 
+ * @author Cognizant
+ */
+public class ExcelStyleCompactor {
+
+	private ExcelStyleCompactor() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * The entry point of the style compaction
+	 * 
+	 * @param args The workbooks (or folders of workbooks) to be compacted
+	 */
+	public static void main(String[] args) {
+		List<File> workbookFiles = new ArrayList<File>();
+		if (args.length == 0) {
+			args = new String[] { System.getProperty("user.dir") + Util.getFileSeparator() + "src"
+					+ Util.getFileSeparator() + "test" + Util.getFileSeparator() + "resources"
+					+ Util.getFileSeparator() + "Datatables" };
+		}
+		for (String arg : args) {
+			File file = new File(arg);
+			File[] folderFiles = file.listFiles((folder, fileName) -> fileName.endsWith(".xlsx"));
+			if (folderFiles != null) {
+				for (File folderFile : folderFiles) {
+					workbookFiles.add(folderFile);
+				}
+			} else {
+				workbookFiles.add(file);
+			}
+		}
+
+		for (File workbookFile : workbookFiles) {
+			int nStylesRemoved = compact(workbookFile);
+			System.out.println(workbookFile.getName() + ": " + nStylesRemoved + " duplicate style(s) and font(s) removed");
+		}
+	}
+
+	/**
+	 * Function to collapse the duplicate cell styles within the specified
+	 * workbook
+	 * 
+	 * @param workbookFile The workbook to be compacted
+	 * @return The number of duplicate cell styles and fonts removed
+	 */
+	public static int compact(File workbookFile) {
+		String absoluteFilePath = workbookFile.getAbsolutePath();
+
+		ReentrantLock writeLock = ExcelWriteBuffer.getInstance().getWriteLock(absoluteFilePath);
+		writeLock.lock();
+		try {
+			byte[] compactedWorkbook;
+			int nStylesRemoved;
+			try (InputStream inputStream = new FileInputStream(workbookFile);
+					XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+				StyleMapping styleMapping = new StyleMapping(workbook);
+				nStylesRemoved = styleMapping.getNumberOfDuplicates();
+				if (nStylesRemoved == 0) {
+					return 0;
+				}
+
+				remapCellStyles(workbook, styleMapping.newCellXfIds);
+				ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+				workbook.write(outputStream);
+				compactedWorkbook = removeDuplicateStyles(outputStream.toByteArray(), styleMapping);
+			}
+
+			Path temporaryFile = Files.createTempFile(workbookFile.getAbsoluteFile().getParentFile().toPath(),
+					workbookFile.getName(), ".tmp");
+			try {
+				Files.write(temporaryFile, compactedWorkbook);
+				Files.move(temporaryFile, workbookFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+			ExcelWorkbookCache.getInstance().invalidate(absoluteFilePath);
+
+			return nStylesRemoved;
+		} catch (IOException | InvalidFormatException | XmlException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while compacting the styles of the Excel workbook \""
+					+ absoluteFilePath + "\"");
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private static void remapCellStyles(XSSFWorkbook workbook, int[] newCellXfIds) {
+		for (int sheetNum = 0; sheetNum < workbook.getNumberOfSheets(); sheetNum++) {
+			XSSFSheet worksheet = workbook.getSheetAt(sheetNum);
+
+			for (Row row : worksheet) {
+				XSSFRow xssfRow = (XSSFRow) row;
+				if (xssfRow.getCTRow().isSetS()) {
+					xssfRow.getCTRow().setS(newCellXfIds[(int) xssfRow.getCTRow().getS()]);
+				}
+				for (Cell cell : row) {
+					XSSFCell xssfCell = (XSSFCell) cell;
+					if (xssfCell.getCTCell().isSetS()) {
+						xssfCell.getCTCell().setS(newCellXfIds[(int) xssfCell.getCTCell().getS()]);
+					}
+				}
+			}
+
+			for (CTCols cols : worksheet.getCTWorksheet().getColsList()) {
+				for (CTCol col : cols.getColList()) {
+					if (col.isSetStyle()) {
+						col.setStyle(newCellXfIds[(int) col.getStyle()]);
+					}
+				}
+			}
+		}
+	}
+
+	private static byte[] removeDuplicateStyles(byte[] workbookBytes, StyleMapping styleMapping)
+			throws IOException, InvalidFormatException, XmlException {
+		// The styles table offers no way of removing styles, hence the style
+		// sheet part is rewritten directly
+		try (OPCPackage opcPackage = OPCPackage.open(new ByteArrayInputStream(workbookBytes))) {
+			PackagePart stylesPart = opcPackage.getPartsByContentType(XSSFRelation.STYLES.getContentType()).get(0);
+			StyleSheetDocument styleSheetDocument;
+			try (InputStream inputStream = stylesPart.getInputStream()) {
+				styleSheetDocument = StyleSheetDocument.Factory.parse(inputStream);
+			}
+			CTStylesheet styleSheet = styleSheetDocument.getStyleSheet();
+
+			CTFont[] fonts = new CTFont[styleMapping.uniqueFontIds.size()];
+			for (int i = 0; i < fonts.length; i++) {
+				fonts[i] = (CTFont) styleSheet.getFonts().getFontArray(styleMapping.uniqueFontIds.get(i)).copy();
+			}
+			styleSheet.getFonts().setFontArray(fonts);
+			styleSheet.getFonts().setCount(fonts.length);
+
+			CTXf[] cellXfs = new CTXf[styleMapping.uniqueCellXfIds.size()];
+			for (int i = 0; i < cellXfs.length; i++) {
+				cellXfs[i] = (CTXf) styleSheet.getCellXfs().getXfArray(styleMapping.uniqueCellXfIds.get(i)).copy();
+				cellXfs[i].setFontId(styleMapping.newFontIds[(int) cellXfs[i].getFontId()]);
+			}
+			styleSheet.getCellXfs().setXfArray(cellXfs);
+			styleSheet.getCellXfs().setCount(cellXfs.length);
+
+			CTCellStyleXfs cellStyleXfs = styleSheet.getCellStyleXfs();
+			if (cellStyleXfs != null) {
+				for (CTXf cellStyleXf : cellStyleXfs.getXfList()) {
+					cellStyleXf.setFontId(styleMapping.newFontIds[(int) cellStyleXf.getFontId()]);
+				}
+			}
+
+			try (OutputStream outputStream = stylesPart.getOutputStream()) {
+				styleSheetDocument.save(outputStream, POIXMLTypeLoader.DEFAULT_XML_OPTIONS);
+			}
+
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			opcPackage.save(outputStream);
+			return outputStream.toByteArray();
+		}
+	}
+
+	private static final class StyleMapping {
+		private final List<Integer> uniqueFontIds = new ArrayList<Integer>();
+		private final int[] newFontIds;
+		private final List<Integer> uniqueCellXfIds = new ArrayList<Integer>();
+		private final int[] newCellXfIds;
+
+		StyleMapping(XSSFWorkbook workbook) {
+			// Identical fonts are collapsed first, so that the styles which
+			// differ only in their (duplicate) fonts are collapsed as well
+			List<CTFont> fonts = new ArrayList<CTFont>();
+			for (int i = 0; i < workbook.getNumberOfFontsAsInt(); i++) {
+				fonts.add(workbook.getFontAt(i).getCTFont());
+			}
+			newFontIds = new int[fonts.size()];
+			Map<String, Integer> fontIds = new HashMap<String, Integer>();
+			for (int i = 0; i < fonts.size(); i++) {
+				Integer fontId = fontIds.get(fonts.get(i).xmlText());
+				if (fontId == null) {
+					fontId = uniqueFontIds.size();
+					fontIds.put(fonts.get(i).xmlText(), fontId);
+					uniqueFontIds.add(i);
+				}
+				newFontIds[i] = fontId;
+			}
+
+			int nCellXfs = workbook.getNumCellStyles();
+			newCellXfIds = new int[nCellXfs];
+			Map<String, Integer> cellXfIds = new HashMap<String, Integer>();
+			for (int i = 0; i < nCellXfs; i++) {
+				CTXf cellXf = (CTXf) workbook.getStylesSource().getCellXfAt(i).copy();
+				cellXf.setFontId(newFontIds[(int) cellXf.getFontId()]);
+
+				Integer cellXfId = cellXfIds.get(cellXf.xmlText());
+				if (cellXfId == null) {
+					cellXfId = uniqueCellXfIds.size();
+					cellXfIds.put(cellXf.xmlText(), cellXfId);
+					uniqueCellXfIds.add(i);
+				}
+				newCellXfIds[i] = cellXfId;
+			}
+		}
+
+		int getNumberOfDuplicates() {
+			return newCellXfIds.length - uniqueCellXfIds.size() + newFontIds.length - uniqueFontIds.size();
+		}
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * Singleton class which caches parsed Excel workbooks for the duration of a
+ * test batch execution. Workbooks are keyed by their absolute path and
+ * re-parsed whenever the file on disk is modified. The least recently used
+ * workbook is evicted once the configured cache size is exceeded.
+ * 
+ * @author Cognizant
+ */
+public class ExcelWorkbookCache {
+	private static final int DEFAULT_MAX_CACHED_WORKBOOKS = 16;
+
+	private static final ExcelWorkbookCache EXCEL_WORKBOOK_CACHE = new ExcelWorkbookCache();
+
+	private final Map<String, ExcelWorkbookSnapshot> workbooks = new LinkedHashMap<String, ExcelWorkbookSnapshot>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ExcelWorkbookSnapshot> eldest) {
+			return size() > maxCachedWorkbooks;
+		}
+	};
+	// The loads in progress, each removed as soon as it completes
+	private final Map<String, FutureTask<ExcelWorkbookSnapshot>> pendingLoads =
+			new ConcurrentHashMap<String, FutureTask<ExcelWorkbookSnapshot>>();
+	private volatile int maxCachedWorkbooks = DEFAULT_MAX_CACHED_WORKBOOKS;
+	private volatile String compiledWorkbookPath;
+
+	private ExcelWorkbookCache() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to return the singleton instance of the
+	 * {@link ExcelWorkbookCache} object
+	 * 
+	 * @return Instance of the {@link ExcelWorkbookCache} object
+	 */
+	public static ExcelWorkbookCache getInstance() {
+		return EXCEL_WORKBOOK_CACHE;
+	}
+
+	/**
+	 * Function to set the maximum number of workbooks to be held in the cache
+	 * 
+	 * @param maxCachedWorkbooks
+	 *            The maximum number of cached workbooks (defaults to 1 if the
+	 *            input is less than or equal to 0)
+	 */
+	public void setMaxCachedWorkbooks(int maxCachedWorkbooks) {
+		this.maxCachedWorkbooks = Math.max(maxCachedWorkbooks, 1);
+	}
+
+	/**
+	 * Function to set the path where the compiled forms of the workbooks are to
+	 * be stored, so that subsequent runs can read them instead of parsing the
+	 * workbooks
+	 * 
+	 * @param compiledWorkbookPath
+	 *            The path where the compiled workbooks are stored (null to
+	 *            always parse the workbooks)
+	 * @see CompiledWorkbook
+	 */
+	public void setCompiledWorkbookPath(String compiledWorkbookPath) {
+		this.compiledWorkbookPath = compiledWorkbookPath;
+	}
+
+	/**
+	 * Function to discard all the cached workbooks
+	 */
+	public void clear() {
+		synchronized (workbooks) {
+			workbooks.clear();
+		}
+		pendingLoads.clear();
+	}
+
+	/**
+	 * Function to get the snapshot of the specified workbook, parsing it only
+	 * if it is not cached or has been modified since it was cached
+	 * 
+	 * @param absoluteFilePath
+	 *            The absolute path of the workbook
+	 * @return The {@link ExcelWorkbookSnapshot}
+	 */
+	ExcelWorkbookSnapshot getWorkbook(String absoluteFilePath) {
+		return getWorkbook(absoluteFilePath, null);
+	}
+
+	/**
+	 * Function to get the snapshot of the specified file, loading it through
+	 * the specified loader only if it is not cached or has been modified since
+	 * it was cached
+	 * 
+	 * @param absoluteFilePath
+	 *            The absolute path of the file
+	 * @param workbookLoader
+	 *            The function which loads the file into an
+	 *            {@link ExcelWorkbookSnapshot} (null to parse the file as an
+	 *            Excel workbook)
+	 * @return The {@link ExcelWorkbookSnapshot}
+	 */
+	ExcelWorkbookSnapshot getWorkbook(String absoluteFilePath,
+			Function<File, ExcelWorkbookSnapshot> workbookLoader) {
+		File workbookFile = new File(absoluteFilePath);
+		if (!workbookFile.isFile()) {
+			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
+		}
+
+		while (true) {
+			long lastModified = workbookFile.lastModified();
+			long length = workbookFile.length();
+
+			ExcelWorkbookSnapshot workbook = getCachedWorkbook(absoluteFilePath, lastModified, length);
+			if (workbook != null) {
+				return workbook;
+			}
+
+			// Parse each workbook only once, even if several threads request
+			// it at the same time, without blocking the threads reading other
+			// workbooks
+			FutureTask<ExcelWorkbookSnapshot> newLoad = new FutureTask<ExcelWorkbookSnapshot>(
+					() -> loadWorkbook(absoluteFilePath, workbookFile, workbookLoader));
+			FutureTask<ExcelWorkbookSnapshot> pendingLoad = pendingLoads.putIfAbsent(absoluteFilePath, newLoad);
+			if (pendingLoad == null) {
+				try {
+					newLoad.run();
+				} finally {
+					pendingLoads.remove(absoluteFilePath, newLoad);
+				}
+				return getLoadedWorkbook(newLoad);
+			}
+
+			// The load of another thread may have begun before the workbook
+			// was last modified, in which case the workbook is looked up again
+			workbook = getLoadedWorkbook(pendingLoad);
+			if (workbook.isCurrent(lastModified, length)) {
+				return workbook;
+			}
+		}
+	}
+
+	private ExcelWorkbookSnapshot loadWorkbook(String absoluteFilePath, File workbookFile,
+			Function<File, ExcelWorkbookSnapshot> workbookLoader) {
+		ExcelWorkbookSnapshot workbook;
+		String currentCompiledWorkbookPath = compiledWorkbookPath;
+		if (workbookLoader != null) {
+			workbook = workbookLoader.apply(workbookFile);
+		} else if (currentCompiledWorkbookPath == null) {
+			workbook = ExcelWorkbookSnapshot.load(workbookFile);
+		} else {
+			workbook = CompiledWorkbook.load(workbookFile, currentCompiledWorkbookPath);
+		}
+		synchronized (workbooks) {
+			workbooks.put(absoluteFilePath, workbook);
+		}
+
+		return workbook;
+	}
+
+	private static ExcelWorkbookSnapshot getLoadedWorkbook(FutureTask<ExcelWorkbookSnapshot> load) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return load.get();
+				} catch (InterruptedException e) {
+					// The load is completed by another thread regardless
+					interrupted = true;
+				}
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new FrameworkException("Error while loading the workbook: " + e.getCause());
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Function to discard the cached snapshot of the specified workbook (to be
+	 * called after the framework modifies the workbook)
+	 * 
+	 * @param absoluteFilePath
+	 *            The absolute path of the workbook
+	 */
+	void invalidate(String absoluteFilePath) {
+		synchronized (workbooks) {
+			workbooks.remove(absoluteFilePath);
+		}
+	}
+
+	private ExcelWorkbookSnapshot getCachedWorkbook(String absoluteFilePath, long lastModified, long length) {
+		synchronized (workbooks) {
+			ExcelWorkbookSnapshot workbook = workbooks.get(absoluteFilePath);
+			if (workbook != null && !workbook.isCurrent(lastModified, length)) {
+				workbooks.remove(absoluteFilePath);
+				workbook = null;
+			}
+
+			return workbook;
+		}
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		throw new CloneNotSupportedException();
+	}
+}
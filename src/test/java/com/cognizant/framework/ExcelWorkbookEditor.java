@@ -0,0 +1,623 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.poi.common.usermodel.HyperlinkType;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellUtil;
+import org.apache.poi.ss.util.RegionUtil;
+import org.apache.poi.xssf.usermodel.DefaultIndexedColorMap;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTColors;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTIndexedColors;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTStylesheet;
+
+/**
+ * Class which applies a batch of edits to an Excel workbook as a single
+ * transaction: the workbook is opened once, all the edits are applied in
+ * memory, and {@link #commit()} writes it into a temporary file which then
+ * replaces the workbook in one atomic rename. Edits which are not committed
+ * are discarded when the editor is closed. The workbook's write lock is held
+ * from opening until closing, so that concurrent transactions do not
+ * overwrite each other's edits (hence an editor must be used and closed by the
+ * thread which opened it).
+ * 
+ * <pre>
+ * try (ExcelWorkbookEditor workbookEditor = excelDataAccess.edit()) {
+ * 	workbookEditor.addColumn("Status", cellFormatting);
+ * 	workbookEditor.setValue(1, "Status", "Passed");
+ * 	workbookEditor.autoFitContents(0, 5);
+ * 	workbookEditor.commit();
+ * }
+ * </pre>
+ * 
+ * @author Cognizant
+ * @see ExcelDataAccess#edit()
+ */
+public class ExcelWorkbookEditor implements AutoCloseable {
+	private final String absoluteFilePath, fileName;
+	private final ReentrantLock writeLock;
+	private final XSSFWorkbook workbook;
+	private final DataFormatter dataFormatter = new DataFormatter();
+	private ExcelCellStyleRegistry cellStyleRegistry;
+
+	private String datasheetName;
+	private boolean closed = false;
+
+	/**
+	 * Constructor to open the specified workbook for editing
+	 * 
+	 * @param absoluteFilePath
+	 *            The absolute path of the workbook
+	 * @param fileName
+	 *            The name of the workbook (without the extension)
+	 * @param datasheetName
+	 *            The name of the worksheet to be edited (may be null if only
+	 *            workbook level edits are to be applied)
+	 */
+	ExcelWorkbookEditor(String absoluteFilePath, String fileName, String datasheetName) {
+		this.absoluteFilePath = absoluteFilePath;
+		this.fileName = fileName;
+		this.datasheetName = datasheetName;
+
+		writeLock = ExcelWriteBuffer.getInstance().getWriteLock(absoluteFilePath);
+		writeLock.lock();
+		try {
+			workbook = openWorkbook(absoluteFilePath);
+		} catch (FrameworkException e) {
+			writeLock.unlock();
+			throw e;
+		}
+	}
+
+	private static XSSFWorkbook openWorkbook(String absoluteFilePath) {
+		try (FileInputStream fileInputStream = new FileInputStream(absoluteFilePath)) {
+			return new XSSFWorkbook(fileInputStream);
+		} catch (FileNotFoundException e) {
+			e.printStackTrace();
+			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException(
+					"Error while opening the specified Excel workbook \"" + absoluteFilePath + "\"");
+		}
+	}
+
+	/**
+	 * Function to write the specified workbook into a temporary file, which
+	 * then atomically replaces the workbook at the specified path
+	 * 
+	 * @param workbook
+	 *            The workbook to be written
+	 * @param absoluteFilePath
+	 *            The absolute path of the workbook
+	 */
+	static void writeWorkbook(Workbook workbook, String absoluteFilePath) {
+		File workbookFile = new File(absoluteFilePath);
+		Path temporaryFile = null;
+		try {
+			// The temporary file must be on the same file system for the
+			// rename to be atomic
+			temporaryFile = Files.createTempFile(workbookFile.getAbsoluteFile().getParentFile().toPath(),
+					workbookFile.getName(), ".tmp");
+			try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+				workbook.write(outputStream);
+			}
+			Files.move(temporaryFile, workbookFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException(
+					"Error while writing into the specified Excel workbook \"" + absoluteFilePath + "\"");
+		} finally {
+			if (temporaryFile != null) {
+				try {
+					Files.deleteIfExists(temporaryFile);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		ExcelWorkbookCache.getInstance().invalidate(absoluteFilePath);
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new FrameworkException("The workbook editor of \"" + fileName + ".xlsx\" is closed!");
+		}
+	}
+
+	/**
+	 * Function to get the Excel sheet name
+	 * 
+	 * @return The Excel sheet name
+	 */
+	public String getDatasheetName() {
+		return datasheetName;
+	}
+
+	/**
+	 * Function to set the Excel sheet name, to which the subsequent edits apply
+	 * 
+	 * @param datasheetName
+	 *            The Excel sheet name
+	 */
+	public void setDatasheetName(String datasheetName) {
+		this.datasheetName = datasheetName;
+	}
+
+	private XSSFSheet getWorkSheet() {
+		checkOpen();
+		if (datasheetName == null) {
+			throw new FrameworkException("ExcelWorkbookEditor.datasheetName is not set!");
+		}
+
+		return getWorkSheet(datasheetName);
+	}
+
+	private XSSFSheet getWorkSheet(String sheetName) {
+		XSSFSheet worksheet = workbook.getSheet(sheetName);
+		if (worksheet == null) {
+			throw new FrameworkException("The specified sheet \"" + sheetName + "\""
+					+ "does not exist within the workbook \"" + fileName + ".xlsx\"");
+		}
+
+		return worksheet;
+	}
+
+	private int getColumnNum(XSSFSheet worksheet, String columnHeader) {
+		// The header is always in the first row (read from the workbook being
+		// edited, so that columns added within this transaction are found)
+		Row headerRow = worksheet.getRow(0);
+		if (headerRow != null) {
+			for (Cell cell : headerRow) {
+				if (dataFormatter.formatCellValue(cell).equals(columnHeader)) {
+					return cell.getColumnIndex();
+				}
+			}
+		}
+
+		throw new FrameworkException("The specified column header \"" + columnHeader + "\""
+				+ "is not found in the sheet \"" + datasheetName + "\"!");
+	}
+
+	private Cell getCell(XSSFSheet worksheet, int rowNum, int columnNum) {
+		Row row = worksheet.getRow(rowNum);
+		if (row == null) {
+			row = worksheet.createRow(rowNum);
+		}
+		Cell cell = row.getCell(columnNum);
+		if (cell == null) {
+			cell = row.createCell(columnNum);
+		}
+
+		return cell;
+	}
+
+	private CellStyle applyCellStyle(ExcelCellFormatting cellFormatting) {
+		// Identical formatting shares a single style within the workbook
+		if (cellStyleRegistry == null) {
+			cellStyleRegistry = new ExcelCellStyleRegistry(workbook);
+		}
+
+		return cellStyleRegistry.getCellStyle(cellFormatting);
+	}
+
+	/**
+	 * Function to set the specified value in the cell identified by the
+	 * specified row and column numbers
+	 * 
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @param value
+	 *            The value to be set in the cell
+	 * @param cellFormatting
+	 *            The {@link ExcelCellFormatting} to be applied to the cell
+	 *            (null to leave the formatting of the cell unchanged)
+	 */
+	public void setValue(int rowNum, int columnNum, String value, ExcelCellFormatting cellFormatting) {
+		Cell cell = getCell(getWorkSheet(), rowNum, columnNum);
+		cell.setCellValue(value);
+
+		if (cellFormatting != null) {
+			cell.setCellStyle(applyCellStyle(cellFormatting));
+		}
+	}
+
+	/**
+	 * Function to set the specified value in the cell identified by the
+	 * specified row number and column header
+	 * 
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnHeader
+	 *            The column header of the cell
+	 * @param value
+	 *            The value to be set in the cell
+	 * @param cellFormatting
+	 *            The {@link ExcelCellFormatting} to be applied to the cell
+	 *            (null to leave the formatting of the cell unchanged)
+	 */
+	public void setValue(int rowNum, String columnHeader, String value, ExcelCellFormatting cellFormatting) {
+		setValue(rowNum, getColumnNum(getWorkSheet(), columnHeader), value, cellFormatting);
+	}
+
+	/**
+	 * Function to set several values across the worksheets of the workbook
+	 * 
+	 * @param values
+	 *            The values to be set, keyed by worksheet name and then by
+	 *            {@link ExcelSheetSnapshot#getCellKey(int, int)}
+	 */
+	void setValues(Map<String, Map<Long, String>> values) {
+		checkOpen();
+
+		for (Map.Entry<String, Map<Long, String>> sheetValues : values.entrySet()) {
+			XSSFSheet worksheet = getWorkSheet(sheetValues.getKey());
+
+			for (Map.Entry<Long, String> cellValue : sheetValues.getValue().entrySet()) {
+				int rowNum = (int) (cellValue.getKey() >>> 32);
+				int columnNum = (int) cellValue.getKey().longValue();
+
+				getCell(worksheet, rowNum, columnNum).setCellValue(cellValue.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Function to set a hyperlink in the cell identified by the specified row
+	 * and column numbers
+	 * 
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @param linkAddress
+	 *            The link address to be set
+	 */
+	public void setHyperlink(int rowNum, int columnNum, String linkAddress) {
+		XSSFSheet worksheet = getWorkSheet();
+
+		Row row = worksheet.getRow(rowNum);
+		Cell cell = (row == null) ? null : row.getCell(columnNum);
+		if (cell == null) {
+			throw new FrameworkException(
+					"Specified cell is empty! " + "Please set a value before including a hyperlink...");
+		}
+
+		Hyperlink hyperlink = workbook.getCreationHelper().createHyperlink(HyperlinkType.URL);
+		hyperlink.setAddress(linkAddress);
+		cell.setHyperlink(hyperlink);
+
+		// The linked cell is underlined, reusing an existing font and cell
+		// style wherever possible
+		Font font = workbook.getFontAt(cell.getCellStyle().getFontIndexAsInt());
+		Font hyperlinkFont = workbook.findFont(font.getBold(), font.getColor(), font.getFontHeight(),
+				font.getFontName(), font.getItalic(), font.getStrikeout(), font.getTypeOffset(), Font.U_SINGLE);
+		if (hyperlinkFont == null) {
+			hyperlinkFont = workbook.createFont();
+			hyperlinkFont.setBold(font.getBold());
+			hyperlinkFont.setColor(font.getColor());
+			hyperlinkFont.setFontHeight(font.getFontHeight());
+			hyperlinkFont.setFontName(font.getFontName());
+			hyperlinkFont.setItalic(font.getItalic());
+			hyperlinkFont.setStrikeout(font.getStrikeout());
+			hyperlinkFont.setTypeOffset(font.getTypeOffset());
+			hyperlinkFont.setUnderline(Font.U_SINGLE);
+		}
+		CellUtil.setFont(cell, hyperlinkFont);
+	}
+
+	/**
+	 * Function to set a hyperlink in the cell identified by the specified row
+	 * number and column header
+	 * 
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnHeader
+	 *            The column header of the cell
+	 * @param linkAddress
+	 *            The link address to be set
+	 */
+	public void setHyperlink(int rowNum, String columnHeader, String linkAddress) {
+		setHyperlink(rowNum, getColumnNum(getWorkSheet(), columnHeader), linkAddress);
+	}
+
+	/**
+	 * Function to add a sheet to the Excel workbook, to which the subsequent
+	 * edits apply
+	 * 
+	 * @param sheetName
+	 *            The sheet name to be added
+	 */
+	public void addSheet(String sheetName) {
+		checkOpen();
+
+		XSSFSheet worksheet = workbook.createSheet(sheetName);
+		worksheet.createRow(0); // include a blank row in the sheet created
+
+		this.datasheetName = sheetName;
+	}
+
+	/**
+	 * Function to add a new row to the Excel worksheet
+	 * 
+	 * @return The row number of the newly added row
+	 */
+	public int addRow() {
+		XSSFSheet worksheet = getWorkSheet();
+
+		int newRowNum = worksheet.getLastRowNum() + 1;
+		worksheet.createRow(newRowNum);
+
+		return newRowNum;
+	}
+
+	/**
+	 * Function to add a new column to the Excel worksheet
+	 * 
+	 * @param columnHeader
+	 *            The column header to be added
+	 * @param cellFormatting
+	 *            The {@link ExcelCellFormatting} to be applied to the column
+	 *            header (may be null)
+	 */
+	public void addColumn(String columnHeader, ExcelCellFormatting cellFormatting) {
+		XSSFSheet worksheet = getWorkSheet();
+
+		Row row = worksheet.getRow(0); // 0 because header is always in the
+										// first row
+		if (row == null) {
+			row = worksheet.createRow(0);
+		}
+		int lastCellNum = row.getLastCellNum();
+		if (lastCellNum == -1) {
+			lastCellNum = 0;
+		}
+
+		Cell cell = row.createCell(lastCellNum);
+		cell.setCellValue(columnHeader);
+
+		if (cellFormatting != null) {
+			cell.setCellStyle(applyCellStyle(cellFormatting));
+		}
+	}
+
+	/**
+	 * Function to set a specified color at the specified index within the
+	 * custom palette (i.e., the indexed colors of the workbook, which are used
+	 * by the color indexes of the {@link ExcelCellFormatting})
+	 * 
+	 * @param index
+	 *            The index at which the color should be set within the palette
+	 * @param hexColor
+	 *            The hex value of the color to be set within the palette
+	 */
+	public void setCustomPaletteColor(short index, String hexColor) {
+		checkOpen();
+
+		if (index < 0x8 || index > 0x3F) {
+			throw new FrameworkException(
+					"Valid indexes for the Excel custom palette are from 0x8 to 0x3F (inclusive)!");
+		}
+		Color color = Color.decode(hexColor);
+
+		CTStylesheet stylesheet = workbook.getStylesSource().getCTStylesheet();
+		CTColors colors = stylesheet.isSetColors() ? stylesheet.getColors() : stylesheet.addNewColors();
+		CTIndexedColors indexedColors = colors.isSetIndexedColors() ? colors.getIndexedColors()
+				: colors.addNewIndexedColors();
+
+		// A custom palette replaces the default palette as a whole, hence it
+		// starts off with the default colors (the first 8 of which repeat the
+		// next 8)
+		while (indexedColors.sizeOfRgbColorArray() < 0x40) {
+			int defaultIndex = indexedColors.sizeOfRgbColorArray();
+			byte[] defaultRgb = DefaultIndexedColorMap.getDefaultRGB(defaultIndex < 0x8 ? defaultIndex + 0x8
+					: defaultIndex);
+			indexedColors.addNewRgbColor()
+					.setRgb(new byte[] { (byte) 0xFF, defaultRgb[0], defaultRgb[1], defaultRgb[2] });
+		}
+		indexedColors.getRgbColorArray(index).setRgb(
+				new byte[] { (byte) 0xFF, (byte) color.getRed(), (byte) color.getGreen(), (byte) color.getBlue() });
+	}
+
+	/**
+	 * Function to merge the specified range of cells (all inputs are 0-based)
+	 * 
+	 * @param firstRow
+	 *            The first row
+	 * @param lastRow
+	 *            The last row
+	 * @param firstCol
+	 *            The first column
+	 * @param lastCol
+	 *            The last column
+	 */
+	public void mergeCells(int firstRow, int lastRow, int firstCol, int lastCol) {
+		getWorkSheet().addMergedRegion(new CellRangeAddress(firstRow, lastRow, firstCol, lastCol));
+	}
+
+	/**
+	 * Function to specify whether the row summaries appear below the detail
+	 * within an outline (grouped set of rows)
+	 * 
+	 * @param rowSumsBelow
+	 *            Boolean value to specify row summaries below detail within an
+	 *            outline
+	 */
+	public void setRowSumsBelow(boolean rowSumsBelow) {
+		getWorkSheet().setRowSumsBelow(rowSumsBelow);
+	}
+
+	/**
+	 * Function to outline (i.e., group together) the specified rows
+	 * 
+	 * @param firstRow
+	 *            The first row
+	 * @param lastRow
+	 *            The last row
+	 */
+	public void groupRows(int firstRow, int lastRow) {
+		getWorkSheet().groupRow(firstRow, lastRow);
+	}
+
+	/**
+	 * Function to automatically adjust the column width to fit the contents for
+	 * the specified range of columns (all inputs are 0-based), using the
+	 * {@link AutoFitMode#ESTIMATED} column widths
+	 * 
+	 * @param firstCol
+	 *            The first column
+	 * @param lastCol
+	 *            The last column
+	 */
+	public void autoFitContents(int firstCol, int lastCol) {
+		autoFitContents(firstCol, lastCol, AutoFitMode.ESTIMATED);
+	}
+
+	/**
+	 * Function to automatically adjust the column width to fit the contents for
+	 * the specified range of columns (all inputs are 0-based)
+	 * 
+	 * @param firstCol
+	 *            The first column
+	 * @param lastCol
+	 *            The last column
+	 * @param autoFitMode
+	 *            The {@link AutoFitMode} to be used
+	 */
+	public void autoFitContents(int firstCol, int lastCol, AutoFitMode autoFitMode) {
+		XSSFSheet worksheet = getWorkSheet();
+
+		if (firstCol < 0) {
+			firstCol = 0;
+		}
+
+		if (firstCol > lastCol) {
+			throw new FrameworkException("First column cannot be greater than last column!");
+		}
+
+		switch (autoFitMode) {
+		case FONT_METRICS:
+			for (int currentColumn = firstCol; currentColumn <= lastCol; currentColumn++) {
+				worksheet.autoSizeColumn(currentColumn);
+			}
+			break;
+
+		default:
+			ExcelColumnWidthEstimator columnWidthEstimator = new ExcelColumnWidthEstimator(worksheet,
+					ExcelColumnWidthEstimator.DEFAULT_MAX_SAMPLED_ROWS);
+			for (int currentColumn = firstCol; currentColumn <= lastCol; currentColumn++) {
+				columnWidthEstimator.autoFitColumn(currentColumn);
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Function to add an outer border around the specified range of columns
+	 * (all inputs are 0-based)
+	 * 
+	 * @param firstCol
+	 *            The first column
+	 * @param lastCol
+	 *            The last column
+	 */
+	public void addOuterBorder(int firstCol, int lastCol) {
+		addOuterBorder(0, getWorkSheet().getLastRowNum(), firstCol, lastCol);
+	}
+
+	/**
+	 * Function to add an outer border around the specified range of cells (all
+	 * inputs are 0-based)
+	 * 
+	 * @param firstRow
+	 *            The first row
+	 * @param lastRow
+	 *            The last row
+	 * @param firstCol
+	 *            The first column
+	 * @param lastCol
+	 *            The last column
+	 */
+	public void addOuterBorder(int firstRow, int lastRow, int firstCol, int lastCol) {
+		XSSFSheet worksheet = getWorkSheet();
+
+		CellRangeAddress cellRangeAddress = new CellRangeAddress(firstRow, lastRow, firstCol, lastCol);
+		RegionUtil.setBorderBottom(BorderStyle.THIN, cellRangeAddress, worksheet);
+		RegionUtil.setBorderTop(BorderStyle.THIN, cellRangeAddress, worksheet);
+		RegionUtil.setBorderRight(BorderStyle.THIN, cellRangeAddress, worksheet);
+		RegionUtil.setBorderLeft(BorderStyle.THIN, cellRangeAddress, worksheet);
+	}
+
+	/**
+	 * Function to write all the edits into the workbook, in a single atomic
+	 * write (the editor is closed thereafter)
+	 */
+	public void commit() {
+		checkOpen();
+
+		try {
+			writeWorkbook(workbook, absoluteFilePath);
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Function to close the editor, discarding any edits which have not been
+	 * committed
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		try {
+			workbook.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Class to encapsulate an immutable, read-only snapshot of an Excel workbook,
+ * which may be safely shared across parallel threads
+ * 
+ * @author Cognizant
+ */
+final class ExcelWorkbookSnapshot {
+	private final String absoluteFilePath;
+	private final long lastModified;
+	private final long length;
+	private final Map<String, ExcelSheetSnapshot> sheets;
+
+	/**
+	 * Constructor to initialize the {@link ExcelWorkbookSnapshot}
+	 * 
+	 * @param absoluteFilePath
+	 *            The absolute path of the workbook
+	 * @param lastModified
+	 *            The last modified time of the workbook when it was read
+	 * @param length
+	 *            The size of the workbook when it was read
+	 * @param sheets
+	 *            The snapshots of the worksheets, keyed by worksheet name
+	 */
+	ExcelWorkbookSnapshot(String absoluteFilePath, long lastModified, long length,
+			Map<String, ExcelSheetSnapshot> sheets) {
+		this.absoluteFilePath = absoluteFilePath;
+		this.lastModified = lastModified;
+		this.length = length;
+		this.sheets = Collections.unmodifiableMap(sheets);
+	}
+
+	/**
+	 * Function to get the absolute path of the workbook
+	 * 
+	 * @return The absolute path of the workbook
+	 */
+	String getAbsoluteFilePath() {
+		return absoluteFilePath;
+	}
+
+	/**
+	 * Function to get the last modified time of the workbook when it was read
+	 * 
+	 * @return The last modified time of the workbook
+	 */
+	long getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Function to get the size of the workbook when it was read
+	 * 
+	 * @return The size of the workbook
+	 */
+	long getLength() {
+		return length;
+	}
+
+	/**
+	 * Function to check whether this snapshot still reflects the workbook on
+	 * disk
+	 * 
+	 * @param lastModified
+	 *            The last modified time of the workbook on disk
+	 * @param length
+	 *            The size of the workbook on disk
+	 * @return Boolean value indicating whether the snapshot is up to date
+	 */
+	boolean isCurrent(long lastModified, long length) {
+		return this.lastModified == lastModified && this.length == length;
+	}
+
+	/**
+	 * Function to get the snapshot of the specified worksheet
+	 * 
+	 * @param sheetName
+	 *            The name of the worksheet
+	 * @return The {@link ExcelSheetSnapshot} (null if the sheet does not exist)
+	 */
+	ExcelSheetSnapshot getSheet(String sheetName) {
+		return sheets.get(sheetName);
+	}
+
+	/**
+	 * Function to get the snapshots of all the worksheets within the workbook
+	 * 
+	 * @return The {@link ExcelSheetSnapshot} objects
+	 */
+	Collection<ExcelSheetSnapshot> getSheets() {
+		return sheets.values();
+	}
+
+	/**
+	 * Function to parse the specified workbook and capture the values of all
+	 * its worksheets
+	 * 
+	 * @param workbookFile
+	 *            The {@link File} object representing the workbook
+	 * @return The {@link ExcelWorkbookSnapshot}
+	 */
+	static ExcelWorkbookSnapshot load(File workbookFile) {
+		String absoluteFilePath = workbookFile.getAbsolutePath();
+
+		// Capture the file attributes before parsing, so that any concurrent
+		// modification results in a stale (rather than a falsely current)
+		// snapshot
+		long lastModified = workbookFile.lastModified();
+		long length = workbookFile.length();
+
+		Map<String, ExcelSheetSnapshot> sheets = new HashMap<String, ExcelSheetSnapshot>();
+		try (InputStream inputStream = new FileInputStream(workbookFile);
+				XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+			FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+			DataFormatter dataFormatter = new DataFormatter();
+
+			for (int sheetIndex = 0; sheetIndex < workbook.getNumberOfSheets(); sheetIndex++) {
+				XSSFSheet worksheet = workbook.getSheetAt(sheetIndex);
+				sheets.put(worksheet.getSheetName(), loadSheet(worksheet, formulaEvaluator, dataFormatter));
+			}
+		} catch (FileNotFoundException e) {
+			e.printStackTrace();
+			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException(
+					"Error while opening the specified Excel workbook \"" + absoluteFilePath + "\"");
+		}
+
+		return new ExcelWorkbookSnapshot(absoluteFilePath, lastModified, length, sheets);
+	}
+
+	private static ExcelSheetSnapshot loadSheet(XSSFSheet worksheet, FormulaEvaluator formulaEvaluator,
+			DataFormatter dataFormatter) {
+		int nRows = worksheet.getPhysicalNumberOfRows() == 0 ? 0 : worksheet.getLastRowNum() + 1;
+		String[][] cellValues = new String[nRows][];
+		Map<Long, Byte> formulaErrors = new HashMap<Long, Byte>();
+
+		for (int rowNum = 0; rowNum < nRows; rowNum++) {
+			Row row = worksheet.getRow(rowNum);
+			if (row == null) {
+				continue;
+			}
+
+			int lastCellNum = Math.max(row.getLastCellNum(), 0);
+			String[] rowValues = new String[lastCellNum];
+			for (int columnNum = 0; columnNum < lastCellNum; columnNum++) {
+				Cell cell = row.getCell(columnNum);
+				if (cell == null || cell.getCellType() == CellType.BLANK) {
+					rowValues[columnNum] = "";
+					continue;
+				}
+
+				CellType cellType = cell.getCellType();
+				boolean isEvaluated = true;
+				if (cellType == CellType.FORMULA) {
+					try {
+						// The evaluator caches the result, so that it is
+						// not evaluated again while being formatted below
+						cellType = formulaEvaluator.evaluateFormulaCell(cell);
+					} catch (RuntimeException e) {
+						// A formula which cannot be evaluated (e.g., one using
+						// an unsupported function) falls back to the result
+						// cached in the workbook, without failing the others
+						cellType = cell.getCachedFormulaResultType();
+						isEvaluated = false;
+					}
+				}
+
+				if (cellType == CellType.ERROR) {
+					formulaErrors.put(ExcelSheetSnapshot.getCellKey(rowNum, columnNum), cell.getErrorCellValue());
+				} else if (isEvaluated) {
+					// Formats the result of a formula without replacing the
+					// formula
+					rowValues[columnNum] = dataFormatter.formatCellValue(cell, formulaEvaluator);
+				} else {
+					rowValues[columnNum] = formatCachedFormulaResult(cell, cellType, dataFormatter);
+				}
+			}
+			cellValues[rowNum] = rowValues;
+		}
+
+		return new ExcelSheetSnapshot(worksheet.getSheetName(), cellValues, formulaErrors);
+	}
+
+	private static String formatCachedFormulaResult(Cell cell, CellType cachedResultType,
+			DataFormatter dataFormatter) {
+		switch (cachedResultType) {
+		case NUMERIC:
+			CellStyle cellStyle = cell.getCellStyle();
+			return dataFormatter.formatRawCellContents(cell.getNumericCellValue(), cellStyle.getDataFormat(),
+					cellStyle.getDataFormatString());
+
+		case STRING:
+			return cell.getRichStringCellValue().getString();
+
+		case BOOLEAN:
+			return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+
+		default:
+			return "";
+		}
+	}
+}
@@ -0,0 +1,247 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Singleton class which stages the values written into the datatables during
+ * test execution, so that each workbook is rewritten once per batch of values
+ * rather than once per value. Each workbook is guarded by its own lock, so
+ * that threads writing into different workbooks do not block each other.
+ * Any values still pending when the JVM shuts down are written before exit.
+ * 
+ * @author Cognizant
+ */
+public class ExcelWriteBuffer {
+	private static final int DEFAULT_MAX_PENDING_VALUES = 50;
+
+	private static final ExcelWriteBuffer EXCEL_WRITE_BUFFER = new ExcelWriteBuffer();
+
+	private final Map<String, ReentrantLock> writeLocks = new ConcurrentHashMap<String, ReentrantLock>();
+	private final Map<String, PendingWorkbook> pendingWorkbooks = new ConcurrentHashMap<String, PendingWorkbook>();
+	private volatile int maxPendingValues = DEFAULT_MAX_PENDING_VALUES;
+
+	private ExcelWriteBuffer() {
+		// To prevent external instantiation of this class
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				flushAll();
+			} catch (FrameworkException e) {
+				e.printStackTrace();
+			}
+		}, "ExcelWriteBuffer-shutdown"));
+	}
+
+	/**
+	 * Function to return the singleton instance of the {@link ExcelWriteBuffer}
+	 * object
+	 * 
+	 * @return Instance of the {@link ExcelWriteBuffer} object
+	 */
+	public static ExcelWriteBuffer getInstance() {
+		return EXCEL_WRITE_BUFFER;
+	}
+
+	/**
+	 * Function to set the number of values which may be pending against a
+	 * workbook before they are written into it
+	 * 
+	 * @param maxPendingValues
+	 *            The maximum number of pending values per workbook (defaults to
+	 *            1 if the input is less than or equal to 0, which effectively
+	 *            disables the buffering)
+	 */
+	public void setMaxPendingValues(int maxPendingValues) {
+		this.maxPendingValues = Math.max(maxPendingValues, 1);
+	}
+
+	/**
+	 * Function to get the lock which guards all the writes into the specified
+	 * workbook (reentrant, so that a flush may write through an
+	 * {@link ExcelWorkbookEditor} which takes the same lock)
+	 * 
+	 * @param absoluteFilePath
+	 *            The absolute path of the workbook
+	 * @return The lock object
+	 */
+	ReentrantLock getWriteLock(String absoluteFilePath) {
+		return writeLocks.computeIfAbsent(absoluteFilePath, key -> new ReentrantLock());
+	}
+
+	/**
+	 * Function to stage a value to be written into the specified cell
+	 * 
+	 * @param dataSource
+	 *            The {@link DataSource} through which the value is to be
+	 *            written
+	 * @param filePath
+	 *            The absolute path where the workbook is stored
+	 * @param fileName
+	 *            The name of the workbook (without the extension)
+	 * @param datasheetName
+	 *            The name of the worksheet
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @param value
+	 *            The value to be written into the cell
+	 */
+	void stageValue(DataSource dataSource, String filePath, String fileName, String datasheetName, int rowNum,
+			int columnNum, String value) {
+		String absoluteFilePath = dataSource.getAbsolutePath(filePath, fileName);
+
+		boolean isFlushRequired;
+		ReentrantLock writeLock = getWriteLock(absoluteFilePath);
+		writeLock.lock();
+		try {
+			PendingWorkbook pendingWorkbook = pendingWorkbooks.computeIfAbsent(absoluteFilePath,
+					key -> new PendingWorkbook(dataSource, filePath, fileName));
+			pendingWorkbook.put(datasheetName, rowNum, columnNum, value);
+			isFlushRequired = pendingWorkbook.size() >= maxPendingValues;
+		} finally {
+			writeLock.unlock();
+		}
+
+		if (isFlushRequired) {
+			flush(absoluteFilePath);
+		}
+	}
+
+	/**
+	 * Function to get the value staged for the specified cell, if any
+	 * 
+	 * @param dataSource
+	 *            The {@link DataSource} through which the value is to be
+	 *            written
+	 * @param filePath
+	 *            The absolute path where the workbook is stored
+	 * @param fileName
+	 *            The name of the workbook (without the extension)
+	 * @param datasheetName
+	 *            The name of the worksheet
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnNum
+	 *            The column number of the cell
+	 * @return The staged value (null if no value is pending for the cell)
+	 */
+	String getPendingValue(DataSource dataSource, String filePath, String fileName, String datasheetName,
+			int rowNum, int columnNum) {
+		// The pending values are read without taking the write lock, so that
+		// the reads do not wait for a flush which is rewriting the workbook
+		String absoluteFilePath = dataSource.getAbsolutePath(filePath, fileName);
+		PendingWorkbook pendingWorkbook = pendingWorkbooks.get(absoluteFilePath);
+		return (pendingWorkbook == null) ? null : pendingWorkbook.get(datasheetName, rowNum, columnNum);
+	}
+
+	/**
+	 * Function to write all the values pending against the specified workbook
+	 * 
+	 * @param dataSource
+	 *            The {@link DataSource} through which the values are to be
+	 *            written
+	 * @param filePath
+	 *            The absolute path where the workbook is stored
+	 * @param fileName
+	 *            The name of the workbook (without the extension)
+	 */
+	void flush(DataSource dataSource, String filePath, String fileName) {
+		flush(dataSource.getAbsolutePath(filePath, fileName));
+	}
+
+	/**
+	 * Function to write all the pending values into their respective workbooks
+	 */
+	public void flushAll() {
+		List<String> absoluteFilePaths = new ArrayList<String>(pendingWorkbooks.keySet());
+		FrameworkException flushException = null;
+		for (String absoluteFilePath : absoluteFilePaths) {
+			try {
+				flush(absoluteFilePath);
+			} catch (FrameworkException e) {
+				flushException = e;
+			}
+		}
+
+		if (flushException != null) {
+			throw flushException;
+		}
+	}
+
+	private void flush(String absoluteFilePath) {
+		ReentrantLock writeLock = getWriteLock(absoluteFilePath);
+		writeLock.lock();
+		try {
+			PendingWorkbook pendingWorkbook = pendingWorkbooks.get(absoluteFilePath);
+			if (pendingWorkbook == null) {
+				return;
+			}
+
+			pendingWorkbook.dataSource.setValues(pendingWorkbook.filePath, pendingWorkbook.fileName,
+					pendingWorkbook.values);
+
+			// Discard the values only once they are safely written, so that
+			// they are not lost if the write fails
+			pendingWorkbooks.remove(absoluteFilePath);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	// The values are staged under the write lock of the workbook, but may be
+	// read concurrently without it
+	private static final class PendingWorkbook {
+		private final DataSource dataSource;
+		private final String filePath, fileName;
+		private final Map<String, Map<Long, String>> values = new ConcurrentHashMap<String, Map<Long, String>>();
+		private int size;
+
+		PendingWorkbook(DataSource dataSource, String filePath, String fileName) {
+			this.dataSource = dataSource;
+			this.filePath = filePath;
+			this.fileName = fileName;
+		}
+
+		void put(String datasheetName, int rowNum, int columnNum, String value) {
+			Map<Long, String> sheetValues = values.computeIfAbsent(datasheetName,
+					key -> new ConcurrentHashMap<Long, String>());
+			if (sheetValues.put(ExcelSheetSnapshot.getCellKey(rowNum, columnNum), value) == null) {
+				size++;
+			}
+		}
+
+		String get(String datasheetName, int rowNum, int columnNum) {
+			Map<Long, String> sheetValues = values.get(datasheetName);
+			return (sheetValues == null) ? null
+					: sheetValues.get(ExcelSheetSnapshot.getCellKey(rowNum, columnNum));
+		}
+
+		int size() {
+			return size;
+		}
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		throw new CloneNotSupportedException();
+	}
+}
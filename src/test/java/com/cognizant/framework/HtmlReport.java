@@ -15,21 +15,234 @@
  */
 package com.cognizant.framework;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
 
 /**
- * Class to encapsulate the HTML report generation functions of the framework
+ * Class to encapsulate the HTML report generation functions of the framework.
+ * The HTML fragments are {@link HtmlTemplate}s compiled once, which are
+ * rendered into the {@link StringBuilder} of the current thread and written
+ * from there into the report files. The theme CSS and the JavaScript functions
+ * are either included in every report, or written once into the "assets"
+ * folder and linked from every report.
  * 
  * @author Cognizant
  */
 class HtmlReport implements ReportType {
-	private String testLogPath, resultSummaryPath;
+	private static final HtmlTemplate HEAD_SECTION = HtmlTemplate.compile("<!DOCTYPE html> \n" + "<html> \n"
+			+ "\t <head> \n" + "\t\t <meta charset='UTF-8'> \n" + "\t\t <title>${projectName} - ${title}</title> \n\n",
+			"projectName", "title");
+	private static final String HEAD_SECTION_END = "\t </head> \n";
+
+	private static final String STYLE_START = "\t\t <style type='text/css'> \n";
+	private static final String STYLE_END = "\t\t </style> \n\n";
+
+	private static final HtmlTemplate THEME_CSS = HtmlTemplate.compile("\t\t\t body { \n"
+			+ "\t\t\t\t background-color: ${contentForeColor}; \n" + "\t\t\t\t font-family: Verdana, Geneva, sans-serif; \n" + "\t\t\t\t text-align: center; \n"
+			+ "\t\t\t } \n\n" +
+
+			"\t\t\t small { \n" + "\t\t\t\t font-size: 0.7em; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t table { \n" +
+			// "\t\t\t\t border: 1px solid #4D7C7B; \n" +
+			// "\t\t\t\t border-collapse: collapse; \n" +
+			// "\t\t\t\t border-spacing: 0px; \n" +
+			"\t\t\t\t width: 95%; \n" + "\t\t\t\t margin-left: auto; \n" + "\t\t\t\t margin-right: auto; \n"
+			+ "\t\t\t } \n\n" +
+
+			"\t\t\t tr.heading { \n" + "\t\t\t\t background-color: ${headingBackColor}; \n"
+			+ "\t\t\t\t color: ${headingForeColor}; \n" + "\t\t\t\t font-size: 0.9em; \n"
+			+ "\t\t\t\t font-weight: bold; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t tr.subheading { \n" + "\t\t\t\t background-color: ${subHeadingBackColor}; \n"
+			+ "\t\t\t\t color: ${subHeadingForeColor}; \n" + "\t\t\t\t font-weight: bold; \n"
+			+ "\t\t\t\t font-size: 0.9em; \n" + "\t\t\t\t text-align: justify; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t tr.section { \n" + "\t\t\t\t background-color: ${sectionBackColor}; \n"
+			+ "\t\t\t\t color: ${sectionForeColor}; \n" + "\t\t\t\t cursor: pointer; \n"
+			+ "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t font-size: 0.9em; \n"
+			+ "\t\t\t\t text-align: justify; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t tr.subsection { \n" + "\t\t\t\t background-color: ${subSectionBackColor}; \n"
+			+ "\t\t\t\t cursor: pointer; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t tr.content { \n" + "\t\t\t\t background-color: ${subSectionBackColor}; \n"
+			+ "\t\t\t\t color: ${contentBackColor}; \n" + "\t\t\t\t font-size: 0.9em; \n"
+			+ "\t\t\t\t display: table-row; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t td { \n" + "\t\t\t\t padding: 4px; \n" + "\t\t\t\t text-align: inherit\\0/; \n"
+			+ "\t\t\t\t word-wrap: break-word; \n" + "\t\t\t\t max-width: 450px; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t th { \n" + "\t\t\t\t padding: 4px; \n" + "\t\t\t\t text-align: inherit\\0/; \n"
+			// + "\t\t\t\t word-break: break-all; \n"
+			+ "\t\t\t\t max-width: 450px; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t td.justified { \n" + "\t\t\t\t text-align: justify; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t td.pass { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: green; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t td.fail { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: red; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t td.done, td.screenshot { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: black; \n"
+			+ "\t\t\t } \n\n" +
+
+			"\t\t\t td.debug { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: blue; \n" + "\t\t\t } \n\n" +
+
+			"\t\t\t td.warning { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: orange; \n"
+			+ "\t\t\t } \n" + "\t\t\t img { \n" + "\t\t\t\t width:${width}; \n" + "\t\t\t\t height:${height}; \n"
+			+ "\t\t\t } \n" + "\t\t\t th.perfColor { \n" + "\t\t\t\t color: darkorchid; \n" + "\t\t\t } \n\n",
+			"contentForeColor", "headingBackColor", "headingForeColor", "subHeadingBackColor",
+			"subHeadingForeColor", "sectionBackColor", "sectionForeColor", "subSectionBackColor",
+			"contentBackColor", "width", "height");
+
+	private static final String SCRIPT_START = "\t\t <script> \n";
+	private static final String SCRIPT_END = "\t\t </script> \n";
+
+	private static final String JAVASCRIPT_FUNCTIONS = "\t\t\t function toggleMenu(objID) { \n"
+			+ "\t\t\t\t if (!document.getElementById) return; \n"
+			+ "\t\t\t\t var ob = document.getElementById(objID).style; \n" + "\t\t\t\t if(ob.display === 'none') { \n"
+			+ "\t\t\t\t\t try { \n" + "\t\t\t\t\t\t ob.display='table-row-group'; \n" + "\t\t\t\t\t } catch(ex) { \n"
+			+ "\t\t\t\t\t\t ob.display='block'; \n" + "\t\t\t\t\t } \n" + "\t\t\t\t } \n" + "\t\t\t\t else { \n"
+			+ "\t\t\t\t\t ob.display='none'; \n" + "\t\t\t\t } \n" + "\t\t\t } \n" +
+
+			"\t\t\t function toggleSubMenu(objId) { \n" + "\t\t\t\t for(i=1; i<10000; i++) { \n"
+			+ "\t\t\t\t\t var ob = document.getElementById(objId.concat(i)); \n" + "\t\t\t\t\t if(ob === null) { \n"
+			+ "\t\t\t\t\t\t break; \n" + "\t\t\t\t\t } \n" + "\t\t\t\t\t if(ob.style.display === 'none') { \n"
+			+ "\t\t\t\t\t\t try { \n" + "\t\t\t\t\t\t\t ob.style.display='table-row'; \n"
+			+ "\t\t\t\t\t\t } catch(ex) { \n" + "\t\t\t\t\t\t\t ob.style.display='block'; \n" + "\t\t\t\t\t\t } \n"
+			+ "\t\t\t\t\t } \n" + "\t\t\t\t\t else { \n" + "\t\t\t\t\t\t ob.style.display='none'; \n"
+			+ "\t\t\t\t\t } \n" + "\t\t\t\t } \n" + "\t\t\t } \n";
+
+	private static final String JAVASCRIPT_FILE = "report.js";
+
+	private static final HtmlTemplate ASSET_LINKS = HtmlTemplate.compile(
+			"\t\t <link rel='stylesheet' type='text/css' href='" + HtmlReportAssets.ASSETS + "/${cssFile}'> \n"
+					+ "\t\t <script src='" + HtmlReportAssets.ASSETS + "/${javascriptFile}'></script> \n\n",
+			"cssFile", "javascriptFile");
+
+	private static final String HEADER_TABLE = "\t <body> \n" + "\t\t <table id='header'> \n" + "\t\t\t <thead> \n";
+
+	private static final HtmlTemplate HEADING = HtmlTemplate.compile("\t\t\t\t <tr class='heading'> \n"
+			+ "\t\t\t\t\t <th colspan='4' style='font-family:Copperplate Gothic; font-size:1.4em;'> \n"
+			+ "\t\t\t\t\t\t ${heading} \n" + "\t\t\t\t\t </th> \n" + "\t\t\t\t </tr> \n", "heading");
+
+	private static final HtmlTemplate SUB_HEADING = HtmlTemplate.compile("\t\t\t\t <tr class='subheading'> \n"
+			+ "\t\t\t\t\t <th>&nbsp;${subHeading1}</th> \n" + "\t\t\t\t\t <th>&nbsp;${subHeading2}</th> \n"
+			+ "\t\t\t\t\t <th>&nbsp;${subHeading3}</th> \n" + "\t\t\t\t\t <th>&nbsp;${subHeading4}</th> \n"
+			+ "\t\t\t\t </tr> \n", "subHeading1", "subHeading2", "subHeading3", "subHeading4");
+
+	private static final String TEST_LOG_MAIN_TABLE = "\t\t\t </thead> \n" + "\t\t </table> \n\n"
+			+ "\t\t <table id='main'> \n";
+
+	private static final String TEST_LOG_TABLE_HEADINGS = "\t\t\t <thead> \n" + "\t\t\t\t <tr class='heading'> \n"
+			+ "\t\t\t\t\t <th>Step No</th> \n" + "\t\t\t\t\t <th>Step Name</th> \n"
+			+ "\t\t\t\t\t <th>Description</th> \n" + "\t\t\t\t\t <th>Status</th> \n"
+			+ "\t\t\t\t\t <th>Step Time</th> \n" + "\t\t\t\t\t <th>ScreenShot</th> \n" + "\t\t\t\t </tr> \n"
+			+ "\t\t\t </thead> \n\n";
+
+	private static final String SECTION_END = "\t\t\t </tbody>";
+
+	private static final HtmlTemplate SECTION = HtmlTemplate.compile("\t\t\t <tbody> \n"
+			+ "\t\t\t\t <tr class='section'> \n"
+			+ "\t\t\t\t\t <td colspan='${columnCount}' onclick=\"toggleMenu('${sectionId}')\">+ ${section}</td> \n"
+			+ "\t\t\t\t </tr> \n" + "\t\t\t </tbody> \n"
+			+ "\t\t\t <tbody id='${sectionId}' style='display:table-row-group'> \n", "columnCount", "sectionId",
+			"section");
+
+	private static final HtmlTemplate SUB_SECTION = HtmlTemplate.compile(
+			"\t\t\t\t <tr class='subheading subsection'> \n" + "\t\t\t\t\t <td colspan='${columnCount}' "
+					+ "onclick=\"toggleSubMenu('${sectionId}${subSectionId}')\">&nbsp;+ ${subSection}</td> \n"
+					+ "\t\t\t\t </tr> \n",
+			"columnCount", "sectionId", "subSectionId", "subSection");
+
+	private static final HtmlTemplate STEP_ROW_START = HtmlTemplate.compile(
+			"\t\t\t\t <tr class='content' id='${sectionId}${subSectionId}${contentNumber}'> \n"
+					+ "\t\t\t\t\t <td>${stepNumber}</td> \n" + "\t\t\t\t\t <td class='justified'>${stepName}</td> \n",
+			"sectionId", "subSectionId", "contentNumber", "stepNumber", "stepName");
+
+	private static final HtmlTemplate STEP_DESCRIPTION = HtmlTemplate.compile(
+			"\t\t\t\t\t <td class='justified'>${stepDescription}</td> \n"
+					+ "\t\t\t\t\t <td class='${statusClass}'>${stepStatus}</td> \n",
+			"stepDescription", "statusClass", "stepStatus");
+
+	private static final String WEB_AUTOMATION_CELLS = "\t\t\t\t\t <td>N/A</td> \n" + "\t\t\t\t\t <td>N/A</td> \n"
+			+ "\t\t\t\t\t <td>N/A</td> \n" + "\t\t\t\t\t <td>N/A</td> \n";
+
+	private static final HtmlTemplate STEP_TIME = HtmlTemplate
+			.compile("\t\t\t\t\t <td><small>${stepTime}</small></td> \n", "stepTime");
+
+	private static final HtmlTemplate LINKED_SCREENSHOT = HtmlTemplate.compile(
+			"\t\t\t\t\t <td><img src='..\\Screenshots\\${screenshotName}'></img></td> \n" + "\t\t\t\t </tr> \n",
+			"screenshotName");
+
+	private static final HtmlTemplate SCREENSHOT_REFERENCE = HtmlTemplate.compile(
+			"\t\t\t\t\t <td> (Refer Screenshot @ ${screenshotName})</td> \n" + "\t\t\t\t </tr> \n",
+			"screenshotName");
+
+	private static final String NO_SCREENSHOT = "\t\t\t\t\t <td> N/A </td> \n" + "\t\t\t\t </tr> \n";
+
+	private static final HtmlTemplate API_STEP_VALUES = HtmlTemplate.compile(
+			"\t\t\t\t\t <td class='justified'>${expectedValue}</td> \n"
+					+ "\t\t\t\t\t <td class='justified'>${actualValue}</td> \n"
+					+ "\t\t\t\t\t <td class='${statusClass}'>${stepStatus}</td> \n" + "\t\t\t\t </tr> \n",
+			"expectedValue", "actualValue", "statusClass", "stepStatus");
+
+	private static final HtmlTemplate FOOTER = HtmlTemplate.compile("\t\t\t </tbody> \n" + "\t\t </table> \n\n"
+			+ "\t\t <table id='footer'> \n" + "\t\t\t <colgroup> \n" + "\t\t\t\t <col style='width: 25%' /> \n"
+			+ "\t\t\t\t <col style='width: 25%' /> \n" + "\t\t\t\t <col style='width: 25%' /> \n"
+			+ "\t\t\t\t <col style='width: 25%' /> \n" + "\t\t\t </colgroup> \n\n" + "\t\t\t <tfoot> \n"
+			+ "\t\t\t\t <tr class='heading'> \n" + "\t\t\t\t\t <th colspan='4'>${durationLabel}: ${duration}</th> \n"
+			+ "\t\t\t\t </tr> \n" + "\t\t\t\t <tr class='subheading'> \n"
+			+ "\t\t\t\t\t <td class='pass'>&nbsp;${countLabel} passed</td> \n"
+			+ "\t\t\t\t\t <td class='pass'>&nbsp;: ${nPassed}</td> \n"
+			+ "\t\t\t\t\t <td class='fail'>&nbsp;${countLabel} failed</td> \n"
+			+ "\t\t\t\t\t <td class='fail'>&nbsp;: ${nFailed}</td> \n" + "\t\t\t\t </tr> \n" + "\t\t\t </tfoot> \n"
+			+ "\t\t </table> \n" + "\t </body> \n" + "</html>", "durationLabel", "duration", "countLabel",
+			"nPassed", "nFailed");
+
+	private static final String RESULT_SUMMARY_MAIN_TABLE = "\t\t\t </thead> \n" + "\t\t </table> \n\n"
+			+ "\t\t <table id='main'> \n" + "\t\t\t <colgroup> \n";
+
+	private static final String RESULT_SUMMARY_TABLE_HEADINGS = "\t\t\t <thead> \n"
+			+ "\t\t\t\t <tr class='heading'> \n" + "\t\t\t\t\t <th>Test Scenario</th> \n"
+			+ "\t\t\t\t\t <th>Test Case</th> \n" + "\t\t\t\t\t <th>Test Instance</th> \n"
+			+ "\t\t\t\t\t <th>Test Description</th> \n" + "\t\t\t\t\t <th>Additional Details</th> \n"
+			+ "\t\t\t\t\t <th>Execution Time</th> \n" + "\t\t\t\t\t <th>Test Status</th> \n" + "\t\t\t\t </tr> \n"
+			+ "\t\t\t </thead> \n\n";
+
+	private static final HtmlTemplate RESULT_SUMMARY_ROW_START = HtmlTemplate.compile(
+			"\t\t\t\t <tr class='content' > \n" + "\t\t\t\t\t <td class='justified'>${scenarioName}</td> \n"
+					+ "\t\t\t\t\t <td class='justified'>${testcaseName}</td> \n",
+			"scenarioName", "testcaseName");
+
+	private static final HtmlTemplate LINKED_TEST_INSTANCE = HtmlTemplate.compile(
+			"\t\t\t\t\t <td class='justified'><a href='${testReportLink}' target='about_blank'>"
+					+ "${testInstanceName}</a></td> \n",
+			"testReportLink", "testInstanceName");
+
+	private static final HtmlTemplate TEST_INSTANCE = HtmlTemplate
+			.compile("\t\t\t\t\t <td class='justified'>${testInstanceName}</td> \n", "testInstanceName");
+
+	private static final HtmlTemplate RESULT_SUMMARY_ROW_END = HtmlTemplate.compile(
+			"\t\t\t\t\t <td class='justified'>${testcaseDescription}</td> \n"
+					+ "\t\t\t\t\t <td class='justified'>${additionalDetails}</td> \n"
+					+ "\t\t\t\t\t <td>${executionTime}</td> \n"
+					+ "\t\t\t\t\t <td class='${statusClass}'>${testStatus}</td> \n" + "\t\t\t\t </tr> \n",
+			"testcaseDescription", "additionalDetails", "executionTime", "statusClass", "testStatus");
+
+	// The CSS class of each status, indexed by the ordinal of the status
+	private static final String[] STATUS_CLASSES = new String[Status.values().length];
+
+	static {
+		for (Status status : Status.values()) {
+			STATUS_CLASSES[status.ordinal()] = status.toString().toLowerCase();
+		}
+	}
+
+	private String htmlResultsPath, testLogPath, resultSummaryPath;
+	private ReportLogWriter testLogWriter, resultSummaryWriter;
 	private ReportSettings reportSettings;
 	private ReportTheme reportTheme;
 
@@ -52,125 +265,110 @@ class HtmlReport implements ReportType {
 		this.reportSettings = reportSettings;
 		this.reportTheme = reportTheme;
 
-		String encryptedTestLogPath = WhitelistingPath
-				.cleanStringForFilePath(reportSettings.getReportPath() + Util.getFileSeparator() + "HTML Results"
-						+ Util.getFileSeparator() + reportSettings.getReportName() + ".html");
+		htmlResultsPath = WhitelistingPath
+				.cleanStringForFilePath(reportSettings.getReportPath() + Util.getFileSeparator() + "HTML Results");
+		String fileExtension = reportSettings.shouldCompressHtmlReports() ? ".html.gz" : ".html";
+
+		String encryptedTestLogPath = WhitelistingPath.cleanStringForFilePath(
+				htmlResultsPath + Util.getFileSeparator() + reportSettings.getReportName() + fileExtension);
 		testLogPath = encryptedTestLogPath;
 
-		String encryptedResultSummaryPath = WhitelistingPath.cleanStringForFilePath(reportSettings.getReportPath()
-				+ Util.getFileSeparator() + "HTML Results" + Util.getFileSeparator() + "Summary" + ".html");
+		String encryptedResultSummaryPath = WhitelistingPath
+				.cleanStringForFilePath(htmlResultsPath + Util.getFileSeparator() + "Summary" + fileExtension);
 		resultSummaryPath = encryptedResultSummaryPath;
 	}
 
-	private String getThemeCss() {
-		return "\t\t <style type='text/css'> \n" + "\t\t\t body { \n" + "\t\t\t\t background-color: "
-				+ reportTheme.getContentForeColor() + "; \n" + "\t\t\t\t font-family: Verdana, Geneva, sans-serif; \n"
-				+ "\t\t\t\t text-align: center; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t small { \n" + "\t\t\t\t font-size: 0.7em; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t table { \n" +
-				// "\t\t\t\t border: 1px solid #4D7C7B; \n" +
-				// "\t\t\t\t border-collapse: collapse; \n" +
-				// "\t\t\t\t border-spacing: 0px; \n" +
-				"\t\t\t\t width: 95%; \n" + "\t\t\t\t margin-left: auto; \n" + "\t\t\t\t margin-right: auto; \n"
-				+ "\t\t\t } \n\n" +
-
-				"\t\t\t tr.heading { \n" + "\t\t\t\t background-color: " + reportTheme.getHeadingBackColor() + "; \n"
-				+ "\t\t\t\t color: " + reportTheme.getHeadingForeColor() + "; \n" + "\t\t\t\t font-size: 0.9em; \n"
-				+ "\t\t\t\t font-weight: bold; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t tr.subheading { \n" + "\t\t\t\t background-color: " + reportTheme.getsubHeadingBackColor()
-				+ "; \n" + "\t\t\t\t color: " + reportTheme.getsubHeadingForeColor() + "; \n"
-				+ "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t font-size: 0.9em; \n"
-				+ "\t\t\t\t text-align: justify; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t tr.section { \n" + "\t\t\t\t background-color: " + reportTheme.getSectionBackColor() + "; \n"
-				+ "\t\t\t\t color: " + reportTheme.getSectionForeColor() + "; \n" + "\t\t\t\t cursor: pointer; \n"
-				+ "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t font-size: 0.9em; \n"
-				+ "\t\t\t\t text-align: justify; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t tr.subsection { \n" + "\t\t\t\t background-color: " + reportTheme.getsubSectionBackColor()
-				+ "; \n" + "\t\t\t\t cursor: pointer; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t tr.content { \n" + "\t\t\t\t background-color: " + reportTheme.getsubSectionBackColor() + "; \n"
-				+ "\t\t\t\t color: " + reportTheme.getContentBackColor() + "; \n" + "\t\t\t\t font-size: 0.9em; \n"
-				+ "\t\t\t\t display: table-row; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t td { \n" + "\t\t\t\t padding: 4px; \n" + "\t\t\t\t text-align: inherit\\0/; \n"
-				+ "\t\t\t\t word-wrap: break-word; \n" + "\t\t\t\t max-width: 450px; \n" + "\t\t\t } \n\n" +
-
-				"\t\t\t th { \n" + "\t\t\t\t padding: 4px; \n" + "\t\t\t\t text-align: inherit\\0/; \n"
-				// + "\t\t\t\t word-break: break-all; \n"
-				+ "\t\t\t\t max-width: 450px; \n" + "\t\t\t } \n\n" +
+	private ReportLogWriter openReportFile(String reportPath, boolean append) throws IOException {
+		if (reportSettings.shouldCompressHtmlReports()) {
+			HtmlReportAssets.writeOnce(htmlResultsPath + Util.getFileSeparator() + HtmlReportAssets.LOADER_PAGE,
+					HtmlReportAssets.LOADER_PAGE_CONTENTS);
+			return append ? ReportLogWriter.appendCompressed(reportPath, StandardCharsets.UTF_8)
+					: ReportLogWriter.createCompressed(reportPath, StandardCharsets.UTF_8);
+		}
 
-				"\t\t\t td.justified { \n" + "\t\t\t\t text-align: justify; \n" + "\t\t\t } \n\n" +
+		return append ? ReportLogWriter.append(reportPath) : ReportLogWriter.create(reportPath);
+	}
 
-				"\t\t\t td.pass { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: green; \n" + "\t\t\t } \n\n"
-				+
+	private String getTestReportLink(String testReportName) {
+		if (!reportSettings.shouldCompressHtmlReports()) {
+			return testReportName + ".html";
+		}
 
-				"\t\t\t td.fail { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: red; \n" + "\t\t\t } \n\n" +
+		return HtmlReportAssets.LOADER_PAGE + "?report=" + URLEncoder.encode(testReportName, StandardCharsets.UTF_8);
+	}
 
-				"\t\t\t td.done, td.screenshot { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: black; \n"
-				+ "\t\t\t } \n\n" +
+	private StringBuilder renderThemeCss(StringBuilder stringBuilder) {
+		return THEME_CSS.render(stringBuilder, reportTheme.getContentForeColor(), reportTheme.getHeadingBackColor(),
+				reportTheme.getHeadingForeColor(), reportTheme.getsubHeadingBackColor(),
+				reportTheme.getsubHeadingForeColor(), reportTheme.getSectionBackColor(),
+				reportTheme.getSectionForeColor(), reportTheme.getsubSectionBackColor(),
+				reportTheme.getContentBackColor(), reportSettings.getWidth(), reportSettings.getHeight());
+	}
 
-				"\t\t\t td.debug { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: blue; \n" + "\t\t\t } \n\n"
-				+
+	private StringBuilder renderHeadSection(String title) {
+		String cssFile = null;
+		if (reportSettings.shouldShareReportAssets()) {
+			// The CSS depends on the theme (and on the screenshot size), hence
+			// each variant is written into a file of its own
+			String themeCss = renderThemeCss(new StringBuilder()).toString();
+			cssFile = "theme-" + Integer.toHexString(themeCss.hashCode()) + ".css";
+			String assetsPath = htmlResultsPath + Util.getFileSeparator() + HtmlReportAssets.ASSETS
+					+ Util.getFileSeparator();
+			HtmlReportAssets.writeOnce(assetsPath + cssFile, themeCss);
+			HtmlReportAssets.writeOnce(assetsPath + JAVASCRIPT_FILE, JAVASCRIPT_FUNCTIONS);
+		}
 
-				"\t\t\t td.warning { \n" + "\t\t\t\t font-weight: bold; \n" + "\t\t\t\t color: orange; \n"
-				+ "\t\t\t } \n" + "\t\t\t img { \n" + "\t\t\t\t width:" + reportSettings.getWidth() + "; \n"
-				+ "\t\t\t\t height:" + reportSettings.getHeight() + "; \n" + "\t\t\t } \n" + "\t\t\t th.perfColor { \n"
-				+ "\t\t\t\t color: darkorchid; \n" + "\t\t\t } \n\n" + "\t\t </style> \n\n";
+		StringBuilder headSection = HtmlTemplate.getStringBuilder();
+		HEAD_SECTION.render(headSection, reportSettings.getProjectName(), title);
+		if (cssFile != null) {
+			ASSET_LINKS.render(headSection, cssFile, JAVASCRIPT_FILE);
+		} else {
+			renderThemeCss(headSection.append(STYLE_START)).append(STYLE_END);
+			headSection.append(SCRIPT_START).append(JAVASCRIPT_FUNCTIONS).append(SCRIPT_END);
+		}
+		return headSection.append(HEAD_SECTION_END).append(System.lineSeparator());
 	}
 
-	private String getJavascriptFunctions() {
-		return "\t\t <script> \n" + "\t\t\t function toggleMenu(objID) { \n"
-				+ "\t\t\t\t if (!document.getElementById) return; \n"
-				+ "\t\t\t\t var ob = document.getElementById(objID).style; \n"
-				+ "\t\t\t\t if(ob.display === 'none') { \n" + "\t\t\t\t\t try { \n"
-				+ "\t\t\t\t\t\t ob.display='table-row-group'; \n" + "\t\t\t\t\t } catch(ex) { \n"
-				+ "\t\t\t\t\t\t ob.display='block'; \n" + "\t\t\t\t\t } \n" + "\t\t\t\t } \n" + "\t\t\t\t else { \n"
-				+ "\t\t\t\t\t ob.display='none'; \n" + "\t\t\t\t } \n" + "\t\t\t } \n" +
+	private static StringBuilder renderSubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		return SUB_HEADING.render(HtmlTemplate.getStringBuilder(), subHeading1.replace(" ", "&nbsp;"),
+				subHeading2.replace(" ", "&nbsp;"), subHeading3.replace(" ", "&nbsp;"),
+				subHeading4.replace(" ", "&nbsp;"));
+	}
 
-				"\t\t\t function toggleSubMenu(objId) { \n" + "\t\t\t\t for(i=1; i<10000; i++) { \n"
-				+ "\t\t\t\t\t var ob = document.getElementById(objId.concat(i)); \n" + "\t\t\t\t\t if(ob === null) { \n"
-				+ "\t\t\t\t\t\t break; \n" + "\t\t\t\t\t } \n" + "\t\t\t\t\t if(ob.style.display === 'none') { \n"
-				+ "\t\t\t\t\t\t try { \n" + "\t\t\t\t\t\t\t ob.style.display='table-row'; \n"
-				+ "\t\t\t\t\t\t } catch(ex) { \n" + "\t\t\t\t\t\t\t ob.style.display='block'; \n" + "\t\t\t\t\t\t } \n"
-				+ "\t\t\t\t\t } \n" + "\t\t\t\t\t else { \n" + "\t\t\t\t\t\t ob.style.display='none'; \n"
-				+ "\t\t\t\t\t } \n" + "\t\t\t\t } \n" + "\t\t\t } \n" + "\t\t </script> \n";
+	private static String getStatusClass(Status stepStatus) {
+		return STATUS_CLASSES[stepStatus.ordinal()];
 	}
 
 	/* TEST LOG FUNCTIONS */
 
 	@Override
 	public void initializeTestLog() {
-		File testLogFile = new File(testLogPath);
+		StringBuilder testLogHeadSection = renderHeadSection(
+				reportSettings.getReportName() + " Automation Execution Results");
+
 		try {
-			testLogFile.createNewFile();
+			closeTestLogWriter();
+			testLogWriter = openReportFile(testLogPath, false);
+			testLogWriter.write(testLogHeadSection);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while creating HTML test log file");
 		}
+	}
 
-		FileOutputStream outputStream;
-		try {
-			outputStream = new FileOutputStream(testLogFile);
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-			throw new FrameworkException("Cannot find HTML test log file");
+	private ReportLogWriter getTestLogWriter() throws IOException {
+		if (testLogWriter == null) {
+			testLogWriter = openReportFile(testLogPath, true);
 		}
-		PrintStream printStream = new PrintStream(outputStream);
-
-		String testLogHeadSection;
-
-		testLogHeadSection = "<!DOCTYPE html> \n" + "<html> \n" + "\t <head> \n" + "\t\t <meta charset='UTF-8'> \n"
-				+ "\t\t <title>" + reportSettings.getProjectName() + " - " + reportSettings.getReportName()
-				+ " Automation Execution Results" + "</title> \n\n" + getThemeCss() + getJavascriptFunctions()
-				+ "\t </head> \n";
+		return testLogWriter;
+	}
 
-		printStream.println(testLogHeadSection);
-		printStream.close();
+	private void closeTestLogWriter() throws IOException {
+		if (testLogWriter != null) {
+			testLogWriter.close();
+			testLogWriter = null;
+		}
 	}
 
 	@Override
@@ -180,15 +378,8 @@ class HtmlReport implements ReportType {
 			isTestLogHeaderTableCreated = true;
 		}
 
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			String testLogHeading = "\t\t\t\t <tr class='heading'> \n"
-					+ "\t\t\t\t\t <th colspan='4' style='font-family:Copperplate Gothic; font-size:1.4em;'> \n"
-					+ "\t\t\t\t\t\t " + heading + " \n" + "\t\t\t\t\t </th> \n" + "\t\t\t\t </tr> \n";
-			bufferedWriter.write(testLogHeading);
-			bufferedWriter.close();
+			getTestLogWriter().write(HEADING.render(HtmlTemplate.getStringBuilder(), heading));
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding heading to HTML test log");
@@ -196,13 +387,8 @@ class HtmlReport implements ReportType {
 	}
 
 	private void createTestLogHeaderTable() {
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			String testLogHeaderTable = "\t <body> \n" + "\t\t <table id='header'> \n" + "\t\t\t <thead> \n";
-			bufferedWriter.write(testLogHeaderTable);
-			bufferedWriter.close();
+			getTestLogWriter().write(HEADER_TABLE);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding header table to HTML test log");
@@ -211,17 +397,8 @@ class HtmlReport implements ReportType {
 
 	@Override
 	public void addTestLogSubHeading(String subHeading1, String subHeading2, String subHeading3, String subHeading4) {
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			String testLogSubHeading = "\t\t\t\t <tr class='subheading'> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading1.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading2.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading3.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading4.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t </tr> \n";
-			bufferedWriter.write(testLogSubHeading);
-			bufferedWriter.close();
+			getTestLogWriter().write(renderSubHeading(subHeading1, subHeading2, subHeading3, subHeading4));
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding sub-heading to HTML test log");
@@ -229,16 +406,8 @@ class HtmlReport implements ReportType {
 	}
 
 	private void createTestLogMainTable() {
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			String testLogMainTable = "\t\t\t </thead> \n" + "\t\t </table> \n\n" +
-
-					"\t\t <table id='main'> \n";
-
-			bufferedWriter.write(testLogMainTable);
-			bufferedWriter.close();
+			getTestLogWriter().write(TEST_LOG_MAIN_TABLE);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding main table to HTML test log");
@@ -252,19 +421,8 @@ class HtmlReport implements ReportType {
 			isTestLogMainTableCreated = true;
 		}
 
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-			String testLogTableHeading;
-
-			testLogTableHeading = "\t\t\t <thead> \n" + "\t\t\t\t <tr class='heading'> \n"
-					+ "\t\t\t\t\t <th>Step No</th> \n" + "\t\t\t\t\t <th>Step Name</th> \n"
-					+ "\t\t\t\t\t <th>Description</th> \n" + "\t\t\t\t\t <th>Status</th> \n"
-					+ "\t\t\t\t\t <th>Step Time</th> \n" + "\t\t\t\t\t <th>ScreenShot</th> \n" + "\t\t\t\t </tr> \n"
-					+ "\t\t\t </thead> \n\n";
-
-			bufferedWriter.write(testLogTableHeading);
-			bufferedWriter.close();
+			getTestLogWriter().write(TEST_LOG_TABLE_HEADINGS);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding main table headings to HTML test log");
@@ -273,23 +431,17 @@ class HtmlReport implements ReportType {
 
 	@Override
 	public void addTestLogSection(String section) {
-		String testLogSection = "";
+		StringBuilder testLogSection = HtmlTemplate.getStringBuilder();
 		if (!"".equals(currentSection)) {
-			testLogSection = "\t\t\t </tbody>";
+			testLogSection.append(SECTION_END);
 		}
 
 		currentSection = section.replaceAll("[^a-zA-Z0-9]", "");
 
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			testLogSection += "\t\t\t <tbody> \n" + "\t\t\t\t <tr class='section'> \n" + "\t\t\t\t\t <td colspan='"
-					+ reportSettings.getColumnCount() + "' onclick=\"toggleMenu('" + currentSection + "')\">+ "
-					+ section + "</td> \n" + "\t\t\t\t </tr> \n" + "\t\t\t </tbody> \n" + "\t\t\t <tbody id='"
-					+ currentSection + "' style='display:table-row-group'> \n";
-			bufferedWriter.write(testLogSection);
-			bufferedWriter.close();
+			SECTION.render(testLogSection, reportSettings.getColumnCount(), currentSection, section);
+			getTestLogWriter().write(testLogSection);
+			getTestLogWriter().flush();
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding section to HTML test log");
@@ -301,196 +453,111 @@ class HtmlReport implements ReportType {
 		currentSubSection = subSection.replaceAll("[^a-zA-Z0-9]", "");
 		currentContentNumber = 1;
 
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			String testLogSubSection = "\t\t\t\t <tr class='subheading subsection'> \n" + "\t\t\t\t\t <td colspan='"
-					+ reportSettings.getColumnCount() + "' onclick=\"toggleSubMenu('" + currentSection
-					+ currentSubSection + "')\">&nbsp;+ " + subSection + "</td> \n" + "\t\t\t\t </tr> \n";
-			bufferedWriter.write(testLogSubSection);
-			bufferedWriter.close();
+			getTestLogWriter().write(SUB_SECTION.render(HtmlTemplate.getStringBuilder(),
+					reportSettings.getColumnCount(), currentSection, currentSubSection, subSection));
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding sub-section to HTML test log");
 		}
 	}
 
+	private StringBuilder renderTestStepRowStart(String stepNumber, String stepName) {
+		StringBuilder testStepRow = STEP_ROW_START.render(HtmlTemplate.getStringBuilder(), currentSection,
+				currentSubSection, currentContentNumber, stepNumber, stepName);
+		currentContentNumber++;
+		return testStepRow;
+	}
+
 	@Override
 	public void updateTestLog(String stepNumber, String endPoint, Object expectedValue, Object actualValue,
-			Status stepStatus) {
+			Status stepStatus, Date stepTime) {
 		try {
-			BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			String testStepRow = "\t\t\t\t <tr class='content' id='" + currentSection + currentSubSection
-					+ currentContentNumber + "'> \n" + "\t\t\t\t\t <td>" + stepNumber + "</td> \n"
-					+ "\t\t\t\t\t <td class='justified'>" + endPoint + "</td> \n";
-			currentContentNumber++;
+			StringBuilder testStepRow = renderTestStepRowStart(stepNumber, endPoint);
 
 			switch (stepStatus) {
 			case PASS:
-
-				testStepRow += getApiTestStep(expectedValue, actualValue, stepStatus);
-				break;
 			case FAIL:
-
-				testStepRow += getApiTestStep(expectedValue, actualValue, stepStatus);
-
+				API_STEP_VALUES.render(testStepRow, escapeTags(expectedValue), escapeTags(actualValue),
+						getStatusClass(stepStatus), stepStatus);
 				break;
+
 			default:
 				break;
 			}
-			bufferedWriter.write(testStepRow);
-			bufferedWriter.close();
+			getTestLogWriter().write(testStepRow);
+			if (stepStatus == Status.FAIL) {
+				getTestLogWriter().flush();
+			}
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while updating HTML test log");
 		}
 	}
 
-	private String getApiTestStep(Object expectedValue, Object actualValue, Status stepStatus) {
-		String testStepRow;
-		expectedValue = ((Object) expectedValue).toString().replaceAll("<", "&lt;").replaceAll(">", "&gt;");
-		actualValue = ((Object) actualValue).toString().replaceAll("<", "&lt;").replaceAll(">", "&gt;");
-		testStepRow = "\t\t\t\t\t <td class='justified'>" + expectedValue + "</td> \n"
-				+ "\t\t\t\t\t <td class='justified'>" + actualValue + "</td> \n" +
-
-				"\t\t\t\t\t <td class='" + stepStatus.toString().toLowerCase() + "'>" + stepStatus + "</td> \n"
-				+ "\t\t\t\t </tr> \n";
-
-		return testStepRow;
+	private static String escapeTags(Object value) {
+		return String.valueOf(value).replace("<", "&lt;").replace(">", "&gt;");
 	}
 
 	@Override
 	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
-			String screenShotName) {
+			String screenShotName, Date stepTime) {
 		try {
-			BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-
-			String testStepRow = "\t\t\t\t <tr class='content' id='" + currentSection + currentSubSection
-					+ currentContentNumber + "'> \n" + "\t\t\t\t\t <td>" + stepNumber + "</td> \n"
-					+ "\t\t\t\t\t <td class='justified'>" + stepName + "</td> \n";
-			currentContentNumber++;
+			StringBuilder testStepRow = renderTestStepRowStart(stepNumber, stepName);
 
 			switch (stepStatus) {
 			case FAIL:
-				if (reportSettings.shouldTakeScreenshotFailedStep()) {
-					testStepRow += getTestStepWithScreenshot(stepDescription, stepStatus, screenShotName);
-				} else {
-					testStepRow += getTestStepWithoutScreenshot(stepDescription, stepStatus);
-				}
+				renderTestStep(testStepRow, stepDescription, stepStatus,
+						reportSettings.shouldTakeScreenshotFailedStep() ? screenShotName : null, stepTime);
 				break;
 
 			case PASS:
-				if (reportSettings.shouldTakeScreenshotPassedStep()) {
-					testStepRow += getTestStepWithScreenshot(stepDescription, stepStatus, screenShotName);
-				} else {
-					testStepRow += getTestStepWithoutScreenshot(stepDescription, stepStatus);
-				}
+				renderTestStep(testStepRow, stepDescription, stepStatus,
+						reportSettings.shouldTakeScreenshotPassedStep() ? screenShotName : null, stepTime);
 				break;
 
 			case SCREENSHOT:
-				testStepRow += getTestStepWithScreenshot(stepDescription, stepStatus, screenShotName);
-				break;
-
-			case DONE:
-				testStepRow += getTestStepWithoutScreenshot(stepDescription, stepStatus);
+				renderTestStep(testStepRow, stepDescription, stepStatus, screenShotName, stepTime);
 				break;
 
 			default:
-				testStepRow += getTestStepWithoutScreenshot(stepDescription, stepStatus);
+				renderTestStep(testStepRow, stepDescription, stepStatus, null, stepTime);
 				break;
 			}
 
-			bufferedWriter.write(testStepRow);
-			bufferedWriter.close();
+			getTestLogWriter().write(testStepRow);
+			if (stepStatus == Status.FAIL) {
+				getTestLogWriter().flush();
+			}
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while updating HTML test log");
 		}
 	}
 
-	private String getTestStepWithScreenshot(String stepDescription, Status stepStatus, String screenShotName) {
-		String testStepRow;
+	private void renderTestStep(StringBuilder testStepRow, String stepDescription, Status stepStatus,
+			String screenShotName, Date stepTime) {
+		STEP_DESCRIPTION.render(testStepRow, stepDescription, getStatusClass(stepStatus), stepStatus);
 		if (reportSettings.getisWebAutomation()) {
-			if (reportSettings.shouldLinkScreenshotsToTestLog()) {
-				testStepRow = "\t\t\t\t\t <td class='justified'>" + stepDescription + "</td> \n"
-						+ "\t\t\t\t\t <td class='" + stepStatus.toString().toLowerCase() + "'>" + stepStatus
-						+ "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + "N/A" + "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + "<small>"
-						+ Util.getCurrentFormattedTime(reportSettings.getDateFormatString()) + "</small>" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + "<img src='..\\Screenshots\\" + screenShotName + "'>" + "</img>"
-						+ "</td> \n" + "\t\t\t\t </tr> \n";
-			} else {
-				testStepRow = "\t\t\t\t\t <td class='justified'>" + stepDescription + "</td> \n"
-						+ "\t\t\t\t\t <td class='" + stepStatus.toString().toLowerCase() + "'>" + stepStatus
-						+ "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + "N/A" + "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + "<small>"
-						+ Util.getCurrentFormattedTime(reportSettings.getDateFormatString()) + "</small>" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + " (Refer Screenshot @ " + screenShotName + ")" + "</td> \n"
-						+ "\t\t\t\t </tr> \n";
-			}
-		} else {
-			if (reportSettings.shouldLinkScreenshotsToTestLog()) {
-				testStepRow = "\t\t\t\t\t <td class='justified'>" + stepDescription + "</td> \n"
-						+ "\t\t\t\t\t <td class='" + stepStatus.toString().toLowerCase() + "'>" + stepStatus
-						+ "</td> \n" + "\t\t\t\t\t <td>" + "<small>"
-						+ Util.getCurrentFormattedTime(reportSettings.getDateFormatString()) + "</small>" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + "<img src='..\\Screenshots\\" + screenShotName + "'>" + "</img>"
-						+ "</td> \n" + "\t\t\t\t </tr> \n";
-			} else {
-				testStepRow = "\t\t\t\t\t <td class='justified'>" + stepDescription + "</td> \n"
-						+ "\t\t\t\t\t <td class='" + stepStatus.toString().toLowerCase() + "'>" + stepStatus
-						+ "</td> \n" + "\t\t\t\t\t <td>" + "<small>"
-						+ Util.getCurrentFormattedTime(reportSettings.getDateFormatString()) + "</small>" + "</td> \n"
-						+ "\t\t\t\t\t <td>" + " (Refer Screenshot @ " + screenShotName + ")" + "</td> \n"
-						+ "\t\t\t\t </tr> \n";
-			}
+			testStepRow.append(WEB_AUTOMATION_CELLS);
 		}
+		STEP_TIME.render(testStepRow, Util.getFormattedTime(stepTime, reportSettings.getDateFormatString()));
 
-		return testStepRow;
-	}
-
-	private String getTestStepWithoutScreenshot(String stepDescription, Status stepStatus) {
-		String testStepRow;
-		if (reportSettings.getisWebAutomation()) {
-			testStepRow = "\t\t\t\t\t <td class='justified'>" + stepDescription + "</td> \n" + "\t\t\t\t\t <td class='"
-					+ stepStatus.toString().toLowerCase() + "'>" + stepStatus + "</td> \n" + "\t\t\t\t\t <td>" + "N/A"
-					+ "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n" + "\t\t\t\t\t <td>" + "N/A" + "</td> \n"
-					+ "\t\t\t\t\t <td>" + "N/A" + "</td> \n" + "\t\t\t\t\t <td>" + "<small>"
-					+ Util.getCurrentFormattedTime(reportSettings.getDateFormatString()) + "</small>" + "</td> \n"
-					+ "\t\t\t\t\t <td>" + " N/A " + "</td> \n" + "\t\t\t\t </tr> \n";
+		if (screenShotName == null) {
+			testStepRow.append(NO_SCREENSHOT);
+		} else if (reportSettings.shouldLinkScreenshotsToTestLog()) {
+			LINKED_SCREENSHOT.render(testStepRow, screenShotName);
 		} else {
-			testStepRow = "\t\t\t\t\t <td class='justified'>" + stepDescription + "</td> \n" + "\t\t\t\t\t <td class='"
-					+ stepStatus.toString().toLowerCase() + "'>" + stepStatus + "</td> \n" + "\t\t\t\t\t <td>"
-					+ "<small>" + Util.getCurrentFormattedTime(reportSettings.getDateFormatString()) + "</small>"
-					+ "</td> \n" + "\t\t\t\t\t <td>" + " N/A " + "</td> \n" + "\t\t\t\t </tr> \n";
+			SCREENSHOT_REFERENCE.render(testStepRow, screenShotName);
 		}
-
-		return testStepRow;
 	}
 
 	@Override
 	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
 		try {
-			BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(testLogPath, true));
-			String testLogFooter;
-
-			testLogFooter = "\t\t\t </tbody> \n" + "\t\t </table> \n\n" + "\t\t <table id='footer'> \n"
-					+ "\t\t\t <colgroup> \n" + "\t\t\t\t <col style='width: 25%' /> \n"
-					+ "\t\t\t\t <col style='width: 25%' /> \n" + "\t\t\t\t <col style='width: 25%' /> \n"
-					+ "\t\t\t\t <col style='width: 25%' /> \n" + "\t\t\t </colgroup> \n\n" + "\t\t\t <tfoot> \n"
-					+ "\t\t\t\t <tr class='heading'> \n" + "\t\t\t\t\t <th colspan='4'>Execution Duration: "
-					+ executionTime + "</th> \n" + "\t\t\t\t </tr> \n" + "\t\t\t\t <tr class='subheading'> \n"
-					+ "\t\t\t\t\t <td class='pass'>&nbsp;Steps passed</td> \n" + "\t\t\t\t\t <td class='pass'>&nbsp;: "
-					+ nStepsPassed + "</td> \n" + "\t\t\t\t\t <td class='fail'>&nbsp;Steps failed</td> \n"
-					+ "\t\t\t\t\t <td class='fail'>&nbsp;: " + nStepsFailed + "</td> \n" + "\t\t\t\t </tr> \n"
-					+ "\t\t\t </tfoot> \n" + "\t\t </table> \n" + "\t </body> \n" + "</html>";
-
-			bufferedWriter.write(testLogFooter);
-			bufferedWriter.close();
+			getTestLogWriter().write(FOOTER.render(HtmlTemplate.getStringBuilder(), "Execution Duration",
+					executionTime, "Steps", nStepsPassed, nStepsFailed));
+			closeTestLogWriter();
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding footer to HTML test log");
@@ -501,31 +568,30 @@ class HtmlReport implements ReportType {
 
 	@Override
 	public void initializeResultSummary() {
-		File resultSummaryFile = new File(resultSummaryPath);
+		StringBuilder resultSummaryHeader = renderHeadSection("Automation Execution Results Summary");
 
 		try {
-			resultSummaryFile.createNewFile();
+			closeResultSummaryWriter();
+			resultSummaryWriter = openReportFile(resultSummaryPath, false);
+			resultSummaryWriter.write(resultSummaryHeader);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while creating HTML result summary file");
 		}
+	}
 
-		FileOutputStream outputStream;
-		try {
-			outputStream = new FileOutputStream(resultSummaryFile);
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-			throw new FrameworkException("Cannot find HTML result summary file");
+	private ReportLogWriter getResultSummaryWriter() throws IOException {
+		if (resultSummaryWriter == null) {
+			resultSummaryWriter = openReportFile(resultSummaryPath, true);
 		}
-		PrintStream printStream = new PrintStream(outputStream);
-
-		String resultSummaryHeader;
-		resultSummaryHeader = "<!DOCTYPE html> \n" + "<html> \n" + "\t <head> \n" + "\t\t <meta charset='UTF-8'> \n"
-				+ "\t\t <title>" + reportSettings.getProjectName() + " - Automation Execution Results Summary"
-				+ "</title> \n\n" + getThemeCss() + getJavascriptFunctions() + "\t </head> \n";
+		return resultSummaryWriter;
+	}
 
-		printStream.println(resultSummaryHeader);
-		printStream.close();
+	private void closeResultSummaryWriter() throws IOException {
+		if (resultSummaryWriter != null) {
+			resultSummaryWriter.close();
+			resultSummaryWriter = null;
+		}
 	}
 
 	@Override
@@ -535,15 +601,8 @@ class HtmlReport implements ReportType {
 			isResultSummaryHeaderTableCreated = true;
 		}
 
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(resultSummaryPath, true));
-
-			String resultSummaryHeading = "\t\t\t\t <tr class='heading'> \n"
-					+ "\t\t\t\t\t <th colspan='4' style='font-family:Copperplate Gothic; font-size:1.4em;'> \n"
-					+ "\t\t\t\t\t\t " + heading + " \n" + "\t\t\t\t\t </th> \n" + "\t\t\t\t </tr> \n";
-			bufferedWriter.write(resultSummaryHeading);
-			bufferedWriter.close();
+			getResultSummaryWriter().write(HEADING.render(HtmlTemplate.getStringBuilder(), heading));
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding heading to HTML result summary");
@@ -551,13 +610,8 @@ class HtmlReport implements ReportType {
 	}
 
 	private void createResultSummaryHeaderTable() {
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(resultSummaryPath, true));
-
-			String resultSummaryHeaderTable = "\t <body> \n" + "\t\t <table id='header'> \n" + "\t\t\t <thead> \n";
-			bufferedWriter.write(resultSummaryHeaderTable);
-			bufferedWriter.close();
+			getResultSummaryWriter().write(HEADER_TABLE);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding header table to HTML result summary");
@@ -567,17 +621,8 @@ class HtmlReport implements ReportType {
 	@Override
 	public void addResultSummarySubHeading(String subHeading1, String subHeading2, String subHeading3,
 			String subHeading4) {
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(resultSummaryPath, true));
-
-			String resultSummarySubHeading = "\t\t\t\t <tr class='subheading'> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading1.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading2.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading3.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t\t <th>&nbsp;"
-					+ subHeading4.replace(" ", "&nbsp;") + "</th> \n" + "\t\t\t\t </tr> \n";
-			bufferedWriter.write(resultSummarySubHeading);
-			bufferedWriter.close();
+			getResultSummaryWriter().write(renderSubHeading(subHeading1, subHeading2, subHeading3, subHeading4));
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding sub-heading to HTML result summary");
@@ -585,16 +630,8 @@ class HtmlReport implements ReportType {
 	}
 
 	private void createResultSummaryMainTable() {
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(resultSummaryPath, true));
-
-			String resultSummaryMainTable = "\t\t\t </thead> \n" + "\t\t </table> \n\n" +
-
-					"\t\t <table id='main'> \n" + "\t\t\t <colgroup> \n";
-
-			bufferedWriter.write(resultSummaryMainTable);
-			bufferedWriter.close();
+			getResultSummaryWriter().write(RESULT_SUMMARY_MAIN_TABLE);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding main table to HTML result summary");
@@ -608,17 +645,8 @@ class HtmlReport implements ReportType {
 			isResultSummaryMainTableCreated = true;
 		}
 
-		BufferedWriter bufferedWriter;
 		try {
-			bufferedWriter = new BufferedWriter(new FileWriter(resultSummaryPath, true));
-
-			String resultSummaryTableHeading = "\t\t\t <thead> \n" + "\t\t\t\t <tr class='heading'> \n"
-					+ "\t\t\t\t\t <th>Test Scenario</th> \n" + "\t\t\t\t\t <th>Test Case</th> \n"
-					+ "\t\t\t\t\t <th>Test Instance</th> \n" + "\t\t\t\t\t <th>Test Description</th> \n"
-					+ "\t\t\t\t\t <th>Additional Details</th> \n" + "\t\t\t\t\t <th>Execution Time</th> \n"
-					+ "\t\t\t\t\t <th>Test Status</th> \n" + "\t\t\t\t </tr> \n" + "\t\t\t </thead> \n\n";
-			bufferedWriter.write(resultSummaryTableHeading);
-			bufferedWriter.close();
+			getResultSummaryWriter().write(RESULT_SUMMARY_TABLE_HEADINGS);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding main table headings to HTML result summary");
@@ -629,40 +657,22 @@ class HtmlReport implements ReportType {
 	public void updateResultSummary(TestParameters testParameters, String testReportName, String executionTime,
 			String testStatus) {
 		try {
-			BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(resultSummaryPath, true));
-
-			String testcaseRow;
-			String scenarioName = testParameters.getCurrentScenario();
-			String testcaseName = testParameters.getCurrentTestcase();
-			String testInstanceName = testParameters.getCurrentTestInstance();
-			String testcaseDescription = testParameters.getCurrentTestDescription();
-			String additionalDetails = testParameters.getAdditionalDetails();
+			StringBuilder testcaseRow = RESULT_SUMMARY_ROW_START.render(HtmlTemplate.getStringBuilder(),
+					testParameters.getCurrentScenario(), testParameters.getCurrentTestcase());
 
 			if (reportSettings.shouldLinkTestLogsToSummary()) {
-				testcaseRow = "\t\t\t\t <tr class='content' > \n" + "\t\t\t\t\t <td class='justified'>" + scenarioName
-						+ "</td> \n" + "\t\t\t\t\t <td class='justified'>" + testcaseName + "</td> \n"
-						+ "\t\t\t\t\t <td class='justified'><a href='" + testReportName + ".html' "
-						+ "target='about_blank'>" + testInstanceName + "</a>" + "</td> \n"
-						+ "\t\t\t\t\t <td class='justified'>" + testcaseDescription + "</td> \n"
-						+ "\t\t\t\t\t <td class='justified'>" + additionalDetails + "</td> \n" + "\t\t\t\t\t <td>"
-						+ executionTime + "</td> \n";
+				LINKED_TEST_INSTANCE.render(testcaseRow, getTestReportLink(testReportName),
+						testParameters.getCurrentTestInstance());
 			} else {
-				testcaseRow = "\t\t\t\t <tr class='content' > \n" + "\t\t\t\t\t <td class='justified'>" + scenarioName
-						+ "</td> \n" + "\t\t\t\t\t <td class='justified'>" + testcaseName + "</td> \n"
-						+ "\t\t\t\t\t <td class='justified'>" + testInstanceName + "</td> \n"
-						+ "\t\t\t\t\t <td class='justified'>" + testcaseDescription + "</td> \n"
-						+ "\t\t\t\t\t <td class='justified'>" + additionalDetails + "</td> \n" + "\t\t\t\t\t <td>"
-						+ executionTime + "</td> \n";
+				TEST_INSTANCE.render(testcaseRow, testParameters.getCurrentTestInstance());
 			}
 
-			if ("passed".equalsIgnoreCase(testStatus)) {
-				testcaseRow += "\t\t\t\t\t <td class='pass'>" + testStatus + "</td> \n" + "\t\t\t\t </tr> \n";
-			} else {
-				testcaseRow += "\t\t\t\t\t <td class='fail'>" + testStatus + "</td> \n" + "\t\t\t\t </tr> \n";
-			}
+			String statusClass = "passed".equalsIgnoreCase(testStatus) ? "pass" : "fail";
+			RESULT_SUMMARY_ROW_END.render(testcaseRow, testParameters.getCurrentTestDescription(),
+					testParameters.getAdditionalDetails(), executionTime, statusClass, testStatus);
 
-			bufferedWriter.write(testcaseRow);
-			bufferedWriter.close();
+			getResultSummaryWriter().write(testcaseRow);
+			getResultSummaryWriter().flush();
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while updating HTML result summary");
@@ -671,28 +681,14 @@ class HtmlReport implements ReportType {
 
 	@Override
 	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed) {
-
 		try {
-			BufferedWriter bufferWriter = new BufferedWriter(new FileWriter(resultSummaryPath, true));
-			String resultSummaryFooter;
-
-			resultSummaryFooter = "\t\t\t </tbody> \n" + "\t\t </table> \n\n" + "\t\t <table id='footer'> \n"
-					+ "\t\t\t <colgroup> \n" + "\t\t\t\t <col style='width: 25%' /> \n"
-					+ "\t\t\t\t <col style='width: 25%' /> \n" + "\t\t\t\t <col style='width: 25%' /> \n"
-					+ "\t\t\t\t <col style='width: 25%' /> \n" + "\t\t\t </colgroup> \n\n" + "\t\t\t <tfoot> \n"
-					+ "\t\t\t\t <tr class='heading'> \n" + "\t\t\t\t\t <th colspan='4'>Total Duration: "
-					+ totalExecutionTime + "</th> \n" + "\t\t\t\t </tr> \n" + "\t\t\t\t <tr class='subheading'> \n"
-					+ "\t\t\t\t\t <td class='pass'>&nbsp;Tests passed</td> \n" + "\t\t\t\t\t <td class='pass'>&nbsp;: "
-					+ nTestsPassed + "</td> \n" + "\t\t\t\t\t <td class='fail'>&nbsp;Tests failed</td> \n"
-					+ "\t\t\t\t\t <td class='fail'>&nbsp;: " + nTestsFailed + "</td> \n" + "\t\t\t\t </tr> \n"
-					+ "\t\t\t </tfoot> \n" + "\t\t </table> \n" + "\t </body> \n" + "</html>";
-
-			bufferWriter.write(resultSummaryFooter);
-			bufferWriter.close();
+			getResultSummaryWriter().write(FOOTER.render(HtmlTemplate.getStringBuilder(), "Total Duration",
+					totalExecutionTime, "Tests", nTestsPassed, nTestsFailed));
+			closeResultSummaryWriter();
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException("Error while adding footer to HTML result summary");
 		}
 	}
 
-}
\ No newline at end of file
+}
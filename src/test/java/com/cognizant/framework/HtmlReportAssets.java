@@ -0,0 +1,105 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to write the files shared by all the HTML reports of a test execution
+ * (the theme CSS, the JavaScript functions, and the loader page of the
+ * compressed reports), each of which is written only once per results folder
+ * 
+ * @author Cognizant
+ */
+final class HtmlReportAssets {
+	static final String ASSETS = "assets";
+	static final String LOADER_PAGE = "index.html";
+
+	// The loader page decompresses the report specified in its query string
+	// (the result summary by default) within the browser, and displays it in
+	// place of itself. The contents decompressed so far are displayed even if
+	// the report is incomplete (e.g., if the test execution is still running).
+	// Browsers do not allow pages opened from the disk to fetch files, so the
+	// results folder has to be served over HTTP (e.g., "jwebserver" or
+	// "python -m http.server" within the "HTML Results" folder); the loader
+	// page explains this instead of failing when it is opened from the disk.
+	static final String LOADER_PAGE_CONTENTS = "<!DOCTYPE html> \n" + "<html> \n" + "\t <head> \n"
+			+ "\t\t <meta charset='UTF-8'> \n" + "\t\t <title>Loading...</title> \n" + "\t </head> \n"
+			+ "\t <body> \n" + "\t\t <script> \n"
+			+ "\t\t\t var report = new URLSearchParams(location.search).get('report') || 'Summary'; \n"
+			+ "\t\t\t var html = ''; \n"
+			+ "\t\t\t function show() { document.open(); document.write(html); document.close(); } \n"
+			+ "\t\t\t if (location.protocol === 'file:' || typeof DecompressionStream === 'undefined') { \n"
+			+ "\t\t\t\t document.body.textContent = 'The report ' + report + ' is compressed, and can only be ' \n"
+			+ "\t\t\t\t\t + 'opened in a recent browser when the HTML Results folder is served over HTTP ' \n"
+			+ "\t\t\t\t\t + '(e.g., by running jwebserver or python -m http.server within it).'; \n"
+			+ "\t\t\t } else fetch(encodeURIComponent(report) + '.html.gz').then(function(response) { \n"
+			+ "\t\t\t\t if (!response.ok) throw new Error(response.status + ' ' + response.statusText); \n"
+			+ "\t\t\t\t var reader = response.body.pipeThrough(new DecompressionStream('gzip')) \n"
+			+ "\t\t\t\t\t .pipeThrough(new TextDecoderStream()).getReader(); \n"
+			+ "\t\t\t\t function read() { \n" + "\t\t\t\t\t return reader.read().then(function(chunk) { \n"
+			+ "\t\t\t\t\t\t if (chunk.done) return show(); \n" + "\t\t\t\t\t\t html += chunk.value; \n"
+			+ "\t\t\t\t\t\t return read(); \n" + "\t\t\t\t\t }, show); \n" + "\t\t\t\t } \n"
+			+ "\t\t\t\t return read(); \n" + "\t\t\t }).catch(function(e) { \n"
+			+ "\t\t\t\t document.body.textContent = 'Unable to open the report ' + report + ': ' + e; \n"
+			+ "\t\t\t }); \n" + "\t\t </script> \n" + "\t </body> \n" + "</html>";
+
+	private static final Set<String> WRITTEN_FILES = ConcurrentHashMap.newKeySet();
+
+	private HtmlReportAssets() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to write the specified contents into the specified file, unless
+	 * it has already been written during this test execution. The file is
+	 * written into a temporary file first and then moved into place, so that it
+	 * is never seen partially written.
+	 * 
+	 * @param filePath The absolute path of the file
+	 * @param contents The contents of the file
+	 */
+	static void writeOnce(String filePath, CharSequence contents) {
+		if (WRITTEN_FILES.contains(filePath)) {
+			return;
+		}
+
+		synchronized (WRITTEN_FILES) {
+			if (WRITTEN_FILES.contains(filePath)) {
+				return;
+			}
+
+			Path path = Paths.get(filePath);
+			try {
+				Files.createDirectories(path.getParent());
+				Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+				Files.write(tempPath, contents.toString().getBytes(StandardCharsets.UTF_8));
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				e.printStackTrace();
+				throw new FrameworkException("Error while writing the HTML report asset \"" + filePath + "\"");
+			}
+			WRITTEN_FILES.add(filePath);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.Date;
+
+/**
+ * Utility which measures the time and the memory allocated per test step
+ * written into the HTML test log. The specified number of steps is written in
+ * each round (the first rounds serve as the warm-up of the JVM), into a
+ * temporary results folder which is deleted afterwards.
+ * 
+ * <pre>
+ * java com.cognizant.framework.HtmlReportBenchmark [&lt;steps&gt; [&lt;rounds&gt;]]
+ * </pre>
+ * 
+ * (200000 steps and 5 rounds by default; the allocation is reported only on
+ * JVMs which measure it per thread, such as HotSpot)
+ * 
+ * @author Cognizant
+ */
+public class HtmlReportBenchmark {
+	private HtmlReportBenchmark() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * The entry point of the benchmark
+	 * 
+	 * @param args
+	 *            The number of steps per round and the number of rounds (both
+	 *            optional)
+	 */
+	public static void main(String[] args) {
+		int nSteps = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int nRounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		File reportFolder;
+		try {
+			reportFolder = Files.createTempDirectory("HtmlReportBenchmark").toFile();
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while creating the benchmark results folder");
+		}
+		File htmlResultsFolder = new File(reportFolder, "HTML Results");
+		htmlResultsFolder.mkdir();
+
+		try {
+			ReportSettings reportSettings = new ReportSettings(reportFolder.getAbsolutePath(), "Benchmark");
+			ReportTheme reportTheme = ReportThemeFactory.getReportsTheme(ReportThemeFactory.Theme.MYSTIC);
+			for (int round = 1; round <= nRounds; round++) {
+				measure(round, nSteps, new HtmlReport(reportSettings, reportTheme));
+			}
+		} finally {
+			for (File reportFile : htmlResultsFolder.listFiles()) {
+				reportFile.delete();
+			}
+			htmlResultsFolder.delete();
+			reportFolder.delete();
+		}
+	}
+
+	private static void measure(int round, int nSteps, HtmlReport htmlReport) {
+		htmlReport.initializeTestLog();
+		htmlReport.addTestLogTableHeadings();
+		htmlReport.addTestLogSection("Benchmark");
+
+		Date stepTime = Util.getCurrentTime();
+		long startAllocatedBytes = getAllocatedBytes();
+		long startTime = System.nanoTime();
+		for (int stepNumber = 1; stepNumber <= nSteps; stepNumber++) {
+			htmlReport.updateTestLog(Integer.toString(stepNumber), "Step name", "Some step description",
+					Status.DONE, (String) null, stepTime);
+		}
+		long elapsedNanos = System.nanoTime() - startTime;
+		long allocatedBytes = getAllocatedBytes() - startAllocatedBytes;
+
+		htmlReport.addTestLogFooter("N/A", 0, 0);
+
+		String result = "Round " + round + ": " + elapsedNanos / nSteps + " ns per step";
+		if (startAllocatedBytes >= 0) {
+			result += ", " + allocatedBytes / nSteps + " bytes allocated per step";
+		}
+		System.out.println(result);
+	}
+
+	private static long getAllocatedBytes() {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threadMXBean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+}
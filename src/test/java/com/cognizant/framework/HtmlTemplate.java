@@ -0,0 +1,127 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class to encapsulate an HTML fragment with named placeholders (written as
+ * <code>${name}</code>), which is parsed only once (when the template is
+ * compiled), so that rendering it merely appends the literal parts and the
+ * values into a {@link StringBuilder}
+ * 
+ * @author Cognizant
+ */
+final class HtmlTemplate {
+	private static final String PLACEHOLDER_START = "${";
+	private static final String PLACEHOLDER_END = "}";
+
+	private static final int INITIAL_CAPACITY = 4 * 1024;
+	// Larger builders are not retained, so that one large report entry does
+	// not hold on to its memory for the rest of the execution
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private static final ThreadLocal<StringBuilder> STRING_BUILDERS = ThreadLocal
+			.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+	private final String[] literals;
+	private final int[] valueIndices;
+
+	private HtmlTemplate(String[] literals, int[] valueIndices) {
+		this.literals = literals;
+		this.valueIndices = valueIndices;
+	}
+
+	/**
+	 * Function to compile the specified template
+	 * 
+	 * @param template       The template, with placeholders of the form
+	 *                       <code>${name}</code>
+	 * @param parameterNames The names of the placeholders, in the order in which
+	 *                       their values are passed to
+	 *                       {@link #render(StringBuilder, Object...)}
+	 * @return The compiled {@link HtmlTemplate}
+	 */
+	static HtmlTemplate compile(String template, String... parameterNames) {
+		List<String> parameterNameList = Arrays.asList(parameterNames);
+		List<String> literals = new ArrayList<String>();
+		List<Integer> valueIndices = new ArrayList<Integer>();
+
+		int literalStart = 0;
+		int placeholderStart;
+		while ((placeholderStart = template.indexOf(PLACEHOLDER_START, literalStart)) >= 0) {
+			int placeholderEnd = template.indexOf(PLACEHOLDER_END, placeholderStart);
+			if (placeholderEnd < 0) {
+				throw new FrameworkException("Unterminated placeholder in the HTML template: " + template);
+			}
+
+			String parameterName = template.substring(placeholderStart + PLACEHOLDER_START.length(),
+					placeholderEnd);
+			int valueIndex = parameterNameList.indexOf(parameterName);
+			if (valueIndex < 0) {
+				throw new FrameworkException("Unknown placeholder \"" + parameterName + "\" in the HTML template");
+			}
+
+			literals.add(template.substring(literalStart, placeholderStart));
+			valueIndices.add(valueIndex);
+			literalStart = placeholderEnd + PLACEHOLDER_END.length();
+		}
+		literals.add(template.substring(literalStart));
+
+		int[] valueIndexArray = new int[valueIndices.size()];
+		for (int i = 0; i < valueIndexArray.length; i++) {
+			valueIndexArray[i] = valueIndices.get(i);
+		}
+		return new HtmlTemplate(literals.toArray(new String[0]), valueIndexArray);
+	}
+
+	/**
+	 * Function to get the {@link StringBuilder} of the current thread, cleared
+	 * for rendering the templates into (it must not be used again until the
+	 * rendered contents have been consumed)
+	 * 
+	 * @return The {@link StringBuilder} of the current thread
+	 */
+	static StringBuilder getStringBuilder() {
+		StringBuilder stringBuilder = STRING_BUILDERS.get();
+		if (stringBuilder.capacity() > MAX_RETAINED_CAPACITY) {
+			stringBuilder = new StringBuilder(INITIAL_CAPACITY);
+			STRING_BUILDERS.set(stringBuilder);
+		}
+
+		stringBuilder.setLength(0);
+		return stringBuilder;
+	}
+
+	/**
+	 * Function to render the template into the specified {@link StringBuilder}
+	 * 
+	 * @param stringBuilder The {@link StringBuilder} into which the template is
+	 *                      to be rendered
+	 * @param values        The values of the placeholders, in the order of the
+	 *                      parameter names specified while compiling the
+	 *                      template
+	 * @return The specified {@link StringBuilder}
+	 */
+	StringBuilder render(StringBuilder stringBuilder, Object... values) {
+		for (int i = 0; i < valueIndices.length; i++) {
+			stringBuilder.append(literals[i]).append(values[valueIndices[i]]);
+		}
+		return stringBuilder.append(literals[valueIndices.length]);
+	}
+}
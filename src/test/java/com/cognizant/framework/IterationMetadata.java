@@ -0,0 +1,217 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class to encapsulate the iteration metadata of a datatable worksheet (i.e.,
+ * the iterations available for each test case, along with any gaps and
+ * duplicates in the iteration numbers)
+ * 
+ * @author Cognizant
+ */
+public final class IterationMetadata {
+	private static final int TESTCASE_COLUMN_NUM = 0;
+	private static final int ITERATION_COLUMN_NUM = 1;
+
+	private final Map<String, TestcaseIterations> testcaseIterations;
+
+	private IterationMetadata(Map<String, TestcaseIterations> testcaseIterations) {
+		this.testcaseIterations = Collections.unmodifiableMap(testcaseIterations);
+	}
+
+	/**
+	 * Function to build the iteration metadata of the specified worksheet. The
+	 * test case ID is assumed to be in the first column and the iteration
+	 * number in the second column.
+	 * 
+	 * @param worksheet
+	 *            The {@link ExcelSheetSnapshot} to be examined
+	 * @return The {@link IterationMetadata}
+	 */
+	static IterationMetadata build(ExcelSheetSnapshot worksheet) {
+		Map<String, List<Integer>> iterationRowNums = new HashMap<String, List<Integer>>();
+		for (int rowNum = 1; rowNum <= worksheet.getLastRowNum(); rowNum++) {
+			String testcase = worksheet.getValue(rowNum, TESTCASE_COLUMN_NUM);
+			if (testcase.equals("")) {
+				continue;
+			}
+			iterationRowNums.computeIfAbsent(testcase, key -> new ArrayList<Integer>()).add(rowNum);
+		}
+
+		ExcelSheetIndex index = worksheet.getIndex();
+		Map<String, TestcaseIterations> testcaseIterations = new HashMap<String, TestcaseIterations>();
+		for (Map.Entry<String, List<Integer>> entry : iterationRowNums.entrySet()) {
+			List<Integer> rowNums = entry.getValue();
+			// Streamed snapshots hold only some of the rows of the worksheet
+			int firstRowNum = worksheet.getSourceRowNum(rowNums.get(0));
+			int lastRowNum = worksheet.getSourceRowNum(rowNums.get(rowNums.size() - 1));
+
+			int maxIteration = 0;
+			List<Integer> duplicateIterations = new ArrayList<Integer>();
+			for (int rowNum : rowNums) {
+				int iteration = parseIteration(worksheet.getValue(rowNum, ITERATION_COLUMN_NUM));
+				if (iteration <= 0) {
+					continue;
+				}
+				if (index.getRowNum(entry.getKey(), iteration) != rowNum
+						&& !duplicateIterations.contains(iteration)) {
+					duplicateIterations.add(iteration);
+				}
+				maxIteration = Math.max(maxIteration, iteration);
+			}
+
+			List<Integer> missingIterations = new ArrayList<Integer>();
+			for (int iteration = 1; iteration <= maxIteration; iteration++) {
+				if (index.getRowNum(entry.getKey(), iteration) == -1) {
+					missingIterations.add(iteration);
+				}
+			}
+			Collections.sort(duplicateIterations);
+
+			// Only the iterations before the first gap can be run in sequence
+			int iterationCount = missingIterations.isEmpty() ? maxIteration : missingIterations.get(0) - 1;
+
+			testcaseIterations.put(entry.getKey(),
+					new TestcaseIterations(iterationCount, firstRowNum, lastRowNum,
+							lastRowNum - firstRowNum + 1 == rowNums.size(),
+							Collections.unmodifiableList(missingIterations),
+							Collections.unmodifiableList(duplicateIterations)));
+		}
+
+		return new IterationMetadata(testcaseIterations);
+	}
+
+	private static int parseIteration(String iteration) {
+		try {
+			return Integer.parseInt(iteration.trim());
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Function to check whether the specified test case is present in the
+	 * worksheet
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return Boolean value indicating whether the test case is present
+	 */
+	public boolean containsTestcase(String testcase) {
+		return testcaseIterations.containsKey(testcase);
+	}
+
+	/**
+	 * Function to get the number of iterations of the specified test case which
+	 * can be run in sequence (i.e., iterations 1 to n, without any gaps)
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return The number of iterations (0 if the test case is not found)
+	 */
+	public int getIterationCount(String testcase) {
+		TestcaseIterations iterations = testcaseIterations.get(testcase);
+		return iterations == null ? 0 : iterations.iterationCount;
+	}
+
+	/**
+	 * Function to get the first row number of the specified test case within the
+	 * datatable
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return The row number (-1 if the test case is not found)
+	 */
+	public int getFirstRowNum(String testcase) {
+		TestcaseIterations iterations = testcaseIterations.get(testcase);
+		return iterations == null ? -1 : iterations.firstRowNum;
+	}
+
+	/**
+	 * Function to get the last row number of the specified test case within the
+	 * datatable
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return The row number (-1 if the test case is not found)
+	 */
+	public int getLastRowNum(String testcase) {
+		TestcaseIterations iterations = testcaseIterations.get(testcase);
+		return iterations == null ? -1 : iterations.lastRowNum;
+	}
+
+	/**
+	 * Function to check whether the rows of the specified test case are
+	 * contiguous within the worksheet
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return Boolean value indicating whether the rows are contiguous (true if
+	 *         the test case is not found)
+	 */
+	public boolean isContiguous(String testcase) {
+		TestcaseIterations iterations = testcaseIterations.get(testcase);
+		return iterations == null || iterations.contiguous;
+	}
+
+	/**
+	 * Function to get the iteration numbers missing from the specified test case
+	 * (i.e., the gaps below its highest iteration number)
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return The missing iteration numbers, in ascending order
+	 */
+	public List<Integer> getMissingIterations(String testcase) {
+		TestcaseIterations iterations = testcaseIterations.get(testcase);
+		return iterations == null ? Collections.<Integer>emptyList() : iterations.missingIterations;
+	}
+
+	/**
+	 * Function to get the iteration numbers which appear more than once for the
+	 * specified test case (only the first occurrence of which is ever used)
+	 * 
+	 * @param testcase
+	 *            The test case ID
+	 * @return The duplicate iteration numbers, in ascending order
+	 */
+	public List<Integer> getDuplicateIterations(String testcase) {
+		TestcaseIterations iterations = testcaseIterations.get(testcase);
+		return iterations == null ? Collections.<Integer>emptyList() : iterations.duplicateIterations;
+	}
+
+	private static final class TestcaseIterations {
+		private final int iterationCount, firstRowNum, lastRowNum;
+		private final boolean contiguous;
+		private final List<Integer> missingIterations, duplicateIterations;
+
+		TestcaseIterations(int iterationCount, int firstRowNum, int lastRowNum, boolean contiguous,
+				List<Integer> missingIterations, List<Integer> duplicateIterations) {
+			this.iterationCount = iterationCount;
+			this.firstRowNum = firstRowNum;
+			this.lastRowNum = lastRowNum;
+			this.contiguous = contiguous;
+			this.missingIterations = missingIterations;
+			this.duplicateIterations = duplicateIterations;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * {@link DataSource} which reads the test data from JSON Lines files, with one
+ * JSON object per row. The column headers are the keys of the objects, in the
+ * order in which they first appear.
+ * 
+ * @author Cognizant
+ */
+final class JsonLinesDataSource extends TextDataSource {
+	static final JsonLinesDataSource INSTANCE = new JsonLinesDataSource();
+
+	private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+	private static final JsonParser JSON_PARSER = new JsonParser();
+
+	private JsonLinesDataSource() {
+		super(".jsonl");
+	}
+
+	@Override
+	RowReader openRowReader(File datasheetFile) throws IOException {
+		BufferedReader reader = Files.newBufferedReader(datasheetFile.toPath(), StandardCharsets.UTF_8);
+		Map<String, Integer> columnNums = new LinkedHashMap<String, Integer>();
+
+		return new RowReader() {
+			@Override
+			public String[] readRow() throws IOException {
+				String line;
+				do {
+					line = reader.readLine();
+					if (line == null) {
+						return null;
+					}
+				} while (line.trim().isEmpty());
+
+				JsonObject jsonObject;
+				try {
+					jsonObject = JSON_PARSER.parse(line).getAsJsonObject();
+				} catch (JsonParseException | IllegalStateException e) {
+					throw new IOException("Invalid JSON object: " + line, e);
+				}
+
+				for (String key : jsonObject.keySet()) {
+					columnNums.putIfAbsent(key, columnNums.size());
+				}
+				String[] row = new String[columnNums.size()];
+				for (Map.Entry<String, Integer> columnNum : columnNums.entrySet()) {
+					row[columnNum.getValue()] = getValue(jsonObject.get(columnNum.getKey()));
+				}
+
+				return row;
+			}
+
+			@Override
+			public String[] getHeader() {
+				return columnNums.keySet().toArray(new String[columnNums.size()]);
+			}
+
+			@Override
+			public void close() throws IOException {
+				reader.close();
+			}
+		};
+	}
+
+	private static String getValue(JsonElement jsonElement) {
+		if (jsonElement == null || jsonElement.isJsonNull()) {
+			return "";
+		} else if (jsonElement.isJsonPrimitive()) {
+			return jsonElement.getAsString();
+		} else {
+			return GSON.toJson(jsonElement);
+		}
+	}
+
+	@Override
+	void writeRows(Writer writer, String[] header, List<String[]> rows) throws IOException {
+		for (String[] row : rows) {
+			JsonObject jsonObject = new JsonObject();
+			for (int columnNum = 0; columnNum < header.length; columnNum++) {
+				jsonObject.addProperty(header[columnNum], (columnNum < row.length) ? row[columnNum] : "");
+			}
+			writer.write(GSON.toJson(jsonObject));
+			writer.write('\n');
+		}
+	}
+}
@@ -0,0 +1,365 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Class to encapsulate the JSON Lines report generation functions of the
+ * framework. Every reporting event is appended to the report as a compact JSON
+ * object on a line of its own, so that the reports can be read by other tools
+ * (and re-rendered using the {@link JsonLinesReportReader}) without parsing
+ * HTML.
+ * 
+ * @author Cognizant
+ */
+class JsonLinesReport implements ReportType {
+	static final String JSON_RESULTS = "JSON Results";
+	static final String RESULT_SUMMARY_FILE = "Summary";
+	static final String FILE_EXTENSION = ".jsonl";
+
+	static final String EVENT = "event";
+	static final String TIMESTAMP = "timestamp";
+
+	static final String TEST_LOG_START = "testLogStart";
+	static final String TEST_LOG_HEADING = "testLogHeading";
+	static final String TEST_LOG_SUB_HEADING = "testLogSubHeading";
+	static final String TEST_LOG_TABLE_HEADINGS = "testLogTableHeadings";
+	static final String SECTION = "section";
+	static final String SUB_SECTION = "subSection";
+	static final String STEP = "step";
+	static final String API_STEP = "apiStep";
+	static final String TEST_LOG_FOOTER = "testLogFooter";
+	static final String RESULT_SUMMARY_START = "resultSummaryStart";
+	static final String RESULT_SUMMARY_HEADING = "resultSummaryHeading";
+	static final String RESULT_SUMMARY_SUB_HEADING = "resultSummarySubHeading";
+	static final String RESULT_SUMMARY_TABLE_HEADINGS = "resultSummaryTableHeadings";
+	static final String RESULT_SUMMARY_ROW = "resultSummaryRow";
+	static final String RESULT_SUMMARY_FOOTER = "resultSummaryFooter";
+
+	private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+	private final ReportSettings reportSettings;
+	private final String testLogPath;
+	private final String resultSummaryPath;
+
+	private ReportLogWriter testLogWriter, resultSummaryWriter;
+
+	/**
+	 * Constructor to initialize the JSON Lines report
+	 * 
+	 * @param reportSettings
+	 *            The {@link ReportSettings} object
+	 */
+	public JsonLinesReport(ReportSettings reportSettings) {
+		this.reportSettings = reportSettings;
+
+		String jsonResultsPath = reportSettings.getReportPath() + Util.getFileSeparator() + JSON_RESULTS
+				+ Util.getFileSeparator();
+		testLogPath = WhitelistingPath
+				.cleanStringForFilePath(jsonResultsPath + reportSettings.getReportName() + FILE_EXTENSION);
+		resultSummaryPath = WhitelistingPath
+				.cleanStringForFilePath(jsonResultsPath + RESULT_SUMMARY_FILE + FILE_EXTENSION);
+	}
+
+	private static JsonObject createEvent(String eventName) {
+		// The events other than the test steps are stamped with the time at
+		// which they are written
+		return createEvent(eventName, Util.getCurrentTime());
+	}
+
+	private static JsonObject createEvent(String eventName, Date eventTime) {
+		JsonObject event = new JsonObject();
+		event.addProperty(EVENT, eventName);
+		event.addProperty(TIMESTAMP, eventTime.toInstant().toString());
+		return event;
+	}
+
+	private static JsonArray toJsonArray(String... values) {
+		JsonArray jsonArray = new JsonArray();
+		for (String value : values) {
+			jsonArray.add(value);
+		}
+		return jsonArray;
+	}
+
+	private void writeEvent(ReportLogWriter reportLogWriter, JsonObject event, boolean isFailure)
+			throws IOException {
+		reportLogWriter.write(GSON.toJson(event) + "\n");
+
+		switch (reportSettings.getJsonLinesSyncPolicy()) {
+		case ALWAYS:
+			reportLogWriter.sync();
+			break;
+
+		case ON_FAILURE:
+			if (isFailure) {
+				reportLogWriter.sync();
+			} else {
+				reportLogWriter.flush();
+			}
+			break;
+
+		default:
+			if (isFailure) {
+				reportLogWriter.flush();
+			}
+			break;
+		}
+	}
+
+	private void closeReport(ReportLogWriter reportLogWriter) throws IOException {
+		if (reportSettings.getJsonLinesSyncPolicy() != JsonLinesSyncPolicy.NEVER) {
+			reportLogWriter.sync();
+		}
+		reportLogWriter.close();
+	}
+
+	/* TEST LOG FUNCTIONS */
+
+	@Override
+	public void initializeTestLog() {
+		JsonObject event = createEvent(TEST_LOG_START);
+		event.addProperty("reportName", reportSettings.getReportName());
+		event.addProperty("projectName", reportSettings.getProjectName());
+		event.addProperty("dateFormatString", reportSettings.getDateFormatString());
+		event.addProperty("webAutomation", reportSettings.getisWebAutomation());
+		event.addProperty("takeScreenshotFailedStep", reportSettings.shouldTakeScreenshotFailedStep());
+		event.addProperty("takeScreenshotPassedStep", reportSettings.shouldTakeScreenshotPassedStep());
+		event.addProperty("linkScreenshotsToTestLog", reportSettings.shouldLinkScreenshotsToTestLog());
+
+		try {
+			closeTestLogWriter();
+			testLogWriter = ReportLogWriter.create(testLogPath, StandardCharsets.UTF_8);
+			writeEvent(testLogWriter, event, false);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while creating JSON Lines test log file");
+		}
+	}
+
+	private ReportLogWriter getTestLogWriter() throws IOException {
+		if (testLogWriter == null) {
+			testLogWriter = ReportLogWriter.append(testLogPath, StandardCharsets.UTF_8);
+		}
+		return testLogWriter;
+	}
+
+	private void closeTestLogWriter() throws IOException {
+		if (testLogWriter != null) {
+			testLogWriter.close();
+			testLogWriter = null;
+		}
+	}
+
+	private void writeTestLogEvent(JsonObject event, boolean isFailure) {
+		try {
+			writeEvent(getTestLogWriter(), event, isFailure);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while writing into JSON Lines test log");
+		}
+	}
+
+	@Override
+	public void addTestLogHeading(String heading) {
+		JsonObject event = createEvent(TEST_LOG_HEADING);
+		event.addProperty("heading", heading);
+		writeTestLogEvent(event, false);
+	}
+
+	@Override
+	public void addTestLogSubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		JsonObject event = createEvent(TEST_LOG_SUB_HEADING);
+		event.add("subHeadings", toJsonArray(subHeading1, subHeading2, subHeading3, subHeading4));
+		writeTestLogEvent(event, false);
+	}
+
+	@Override
+	public void addTestLogTableHeadings() {
+		writeTestLogEvent(createEvent(TEST_LOG_TABLE_HEADINGS), false);
+	}
+
+	@Override
+	public void addTestLogSection(String section) {
+		JsonObject event = createEvent(SECTION);
+		event.addProperty("section", section);
+
+		try {
+			ReportLogWriter reportLogWriter = getTestLogWriter();
+			writeEvent(reportLogWriter, event, false);
+			// The previous section is complete
+			reportLogWriter.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while adding section to JSON Lines test log");
+		}
+	}
+
+	@Override
+	public void addTestLogSubSection(String subSection) {
+		JsonObject event = createEvent(SUB_SECTION);
+		event.addProperty("subSection", subSection);
+		writeTestLogEvent(event, false);
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+			String screenshotName, Date stepTime) {
+		JsonObject event = createEvent(STEP, stepTime);
+		event.addProperty("stepNumber", stepNumber);
+		event.addProperty("stepName", stepName);
+		event.addProperty("stepDescription", stepDescription);
+		event.addProperty("status", stepStatus.name());
+		event.addProperty("screenshotName", screenshotName);
+		writeTestLogEvent(event, stepStatus.equals(Status.FAIL));
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String endPoint, Object expectedValue, Object actualValue,
+			Status stepStatus, Date stepTime) {
+		JsonObject event = createEvent(API_STEP, stepTime);
+		event.addProperty("stepNumber", stepNumber);
+		event.addProperty("endPoint", endPoint);
+		event.addProperty("expectedValue", String.valueOf(expectedValue));
+		event.addProperty("actualValue", String.valueOf(actualValue));
+		event.addProperty("status", stepStatus.name());
+		writeTestLogEvent(event, stepStatus.equals(Status.FAIL));
+	}
+
+	@Override
+	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
+		JsonObject event = createEvent(TEST_LOG_FOOTER);
+		event.addProperty("executionTime", executionTime);
+		event.addProperty("stepsPassed", nStepsPassed);
+		event.addProperty("stepsFailed", nStepsFailed);
+
+		try {
+			ReportLogWriter reportLogWriter = getTestLogWriter();
+			reportLogWriter.write(GSON.toJson(event) + "\n");
+			closeReport(reportLogWriter);
+			testLogWriter = null;
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while adding footer to JSON Lines test log");
+		}
+	}
+
+	/* RESULT SUMMARY FUNCTIONS */
+
+	@Override
+	public void initializeResultSummary() {
+		JsonObject event = createEvent(RESULT_SUMMARY_START);
+		event.addProperty("projectName", reportSettings.getProjectName());
+		event.addProperty("dateFormatString", reportSettings.getDateFormatString());
+
+		try {
+			closeResultSummaryWriter();
+			resultSummaryWriter = ReportLogWriter.create(resultSummaryPath, StandardCharsets.UTF_8);
+			writeEvent(resultSummaryWriter, event, false);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while creating JSON Lines result summary file");
+		}
+	}
+
+	private ReportLogWriter getResultSummaryWriter() throws IOException {
+		if (resultSummaryWriter == null) {
+			resultSummaryWriter = ReportLogWriter.append(resultSummaryPath, StandardCharsets.UTF_8);
+		}
+		return resultSummaryWriter;
+	}
+
+	private void closeResultSummaryWriter() throws IOException {
+		if (resultSummaryWriter != null) {
+			resultSummaryWriter.close();
+			resultSummaryWriter = null;
+		}
+	}
+
+	private void writeResultSummaryEvent(JsonObject event, boolean isFailure) {
+		try {
+			writeEvent(getResultSummaryWriter(), event, isFailure);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while writing into JSON Lines result summary");
+		}
+	}
+
+	@Override
+	public void addResultSummaryHeading(String heading) {
+		JsonObject event = createEvent(RESULT_SUMMARY_HEADING);
+		event.addProperty("heading", heading);
+		writeResultSummaryEvent(event, false);
+	}
+
+	@Override
+	public void addResultSummarySubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		JsonObject event = createEvent(RESULT_SUMMARY_SUB_HEADING);
+		event.add("subHeadings", toJsonArray(subHeading1, subHeading2, subHeading3, subHeading4));
+		writeResultSummaryEvent(event, false);
+	}
+
+	@Override
+	public void addResultSummaryTableHeadings() {
+		writeResultSummaryEvent(createEvent(RESULT_SUMMARY_TABLE_HEADINGS), false);
+	}
+
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName, String executionTime,
+			String testStatus) {
+		JsonObject event = createEvent(RESULT_SUMMARY_ROW);
+		event.addProperty("scenario", testParameters.getCurrentScenario());
+		event.addProperty("testcase", testParameters.getCurrentTestcase());
+		event.addProperty("testInstance", testParameters.getCurrentTestInstance());
+		event.addProperty("testDescription", testParameters.getCurrentTestDescription());
+		event.addProperty("additionalDetails", testParameters.getAdditionalDetails());
+		event.addProperty("testReportName", testReportName);
+		event.addProperty("executionTime", executionTime);
+		event.addProperty("testStatus", testStatus);
+		event.addProperty("linkTestLog", reportSettings.shouldLinkTestLogsToSummary());
+
+		// Each entry completes a test, hence it is always made visible
+		writeResultSummaryEvent(event, true);
+	}
+
+	@Override
+	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed) {
+		JsonObject event = createEvent(RESULT_SUMMARY_FOOTER);
+		event.addProperty("totalExecutionTime", totalExecutionTime);
+		event.addProperty("testsPassed", nTestsPassed);
+		event.addProperty("testsFailed", nTestsFailed);
+
+		try {
+			ReportLogWriter reportLogWriter = getResultSummaryWriter();
+			reportLogWriter.write(GSON.toJson(event) + "\n");
+			closeReport(reportLogWriter);
+			resultSummaryWriter = null;
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while adding footer to JSON Lines result summary");
+		}
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.cognizant.framework.ReportThemeFactory.Theme;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Class to read the JSON Lines reports written by the framework, and to
+ * re-render them as HTML reports offline. It can be run from the command line
+ * as follows:
+ * 
+ * <pre>
+ * java com.cognizant.framework.JsonLinesReportReader &lt;report path&gt; [&lt;theme&gt;]
+ * </pre>
+ * 
+ * (renders every report within the "JSON Results" folder of the specified
+ * results folder into its "HTML Results" folder, using the ReportsTheme of the
+ * Global Settings if no theme is specified). The step times shown in the
+ * re-rendered HTML reports are taken from the "timestamp" of each event.
+ * 
+ * @author Cognizant
+ */
+public class JsonLinesReportReader {
+	private static final JsonParser JSON_PARSER = new JsonParser();
+
+	private JsonLinesReportReader() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * The entry point of the HTML re-rendering
+	 * 
+	 * @param args The results folder, optionally followed by the
+	 *             {@link Theme} of the HTML reports
+	 */
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			throw new FrameworkException("The report path is not specified!");
+		}
+
+		String themeName = (args.length > 1) ? args[1] : Settings.getInstance().getProperty("ReportsTheme");
+		ReportTheme reportTheme = ReportThemeFactory.getReportsTheme(Theme.valueOf(themeName));
+		int nReportsRendered = renderHtmlReports(args[0], reportTheme);
+		System.out.println(nReportsRendered + " report(s) rendered into " + args[0] + Util.getFileSeparator()
+				+ "HTML Results");
+	}
+
+	/**
+	 * Function to read the events of the specified JSON Lines report. The last
+	 * line is ignored if it is incomplete (i.e., the test execution was aborted
+	 * while it was being written).
+	 * 
+	 * @param filePath The absolute path of the JSON Lines report
+	 * @return The events of the report, in the order in which they occurred
+	 */
+	public static List<JsonObject> readEvents(String filePath) {
+		List<JsonObject> events = new ArrayList<JsonObject>();
+		String invalidLine = null;
+
+		try (BufferedReader reader = Files.newBufferedReader(new File(filePath).toPath(),
+				StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				if (invalidLine != null) {
+					throw new FrameworkException(
+							"Invalid event in the JSON Lines report \"" + filePath + "\": " + invalidLine);
+				}
+
+				try {
+					events.add(JSON_PARSER.parse(line).getAsJsonObject());
+				} catch (JsonParseException | IllegalStateException e) {
+					invalidLine = line;
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error while reading the JSON Lines report \"" + filePath + "\"");
+		}
+
+		return events;
+	}
+
+	/**
+	 * Function to render all the JSON Lines reports within the "JSON Results"
+	 * folder of the specified results folder as HTML reports (overwriting the
+	 * existing HTML reports, if any)
+	 * 
+	 * @param reportPath  The results folder
+	 * @param reportTheme The {@link ReportTheme} of the HTML reports
+	 * @return The number of reports rendered
+	 */
+	public static int renderHtmlReports(String reportPath, ReportTheme reportTheme) {
+		File jsonResultsFolder = new File(WhitelistingPath.cleanStringForFilePath(
+				reportPath + Util.getFileSeparator() + JsonLinesReport.JSON_RESULTS));
+		File[] jsonLinesFiles = jsonResultsFolder
+				.listFiles((folder, fileName) -> fileName.endsWith(JsonLinesReport.FILE_EXTENSION));
+		if (jsonLinesFiles == null) {
+			throw new FrameworkException("The folder \"" + jsonResultsFolder + "\" does not exist!");
+		}
+		new File(WhitelistingPath.cleanStringForFilePath(reportPath + Util.getFileSeparator() + "HTML Results"))
+				.mkdir();
+
+		for (File jsonLinesFile : jsonLinesFiles) {
+			String fileName = jsonLinesFile.getName();
+			String reportName = fileName.substring(0,
+					fileName.length() - JsonLinesReport.FILE_EXTENSION.length());
+
+			ReportSettings reportSettings = new ReportSettings(reportPath, reportName);
+			replay(readEvents(jsonLinesFile.getPath()), reportSettings,
+					new HtmlReport(reportSettings, reportTheme));
+		}
+
+		return jsonLinesFiles.length;
+	}
+
+	/**
+	 * Function to replay the specified events into the specified report
+	 * 
+	 * @param events         The events read using {@link #readEvents(String)}
+	 * @param reportSettings The {@link ReportSettings} of the report (updated
+	 *                       with the settings recorded in the events)
+	 * @param reportType     The report into which the events are to be replayed
+	 */
+	static void replay(List<JsonObject> events, ReportSettings reportSettings, ReportType reportType) {
+		for (JsonObject event : events) {
+			String eventName = getString(event, JsonLinesReport.EVENT);
+			if (eventName == null) {
+				throw new FrameworkException("The event name is missing: " + event);
+			}
+
+			switch (eventName) {
+			case JsonLinesReport.TEST_LOG_START:
+				reportSettings.setProjectName(getString(event, "projectName"));
+				reportSettings.setDateFormatString(getString(event, "dateFormatString"));
+				reportSettings.setisWebAutomation(getBoolean(event, "webAutomation"));
+				reportSettings.setTakeScreenshotFailedStep(getBoolean(event, "takeScreenshotFailedStep"));
+				reportSettings.setTakeScreenshotPassedStep(getBoolean(event, "takeScreenshotPassedStep"));
+				reportSettings.setLinkScreenshotsToTestLog(getBoolean(event, "linkScreenshotsToTestLog"));
+				reportType.initializeTestLog();
+				break;
+
+			case JsonLinesReport.TEST_LOG_HEADING:
+				reportType.addTestLogHeading(getString(event, "heading"));
+				break;
+
+			case JsonLinesReport.TEST_LOG_SUB_HEADING:
+				String[] subHeadings = getStrings(event, "subHeadings");
+				reportType.addTestLogSubHeading(subHeadings[0], subHeadings[1], subHeadings[2], subHeadings[3]);
+				break;
+
+			case JsonLinesReport.TEST_LOG_TABLE_HEADINGS:
+				reportType.addTestLogTableHeadings();
+				break;
+
+			case JsonLinesReport.SECTION:
+				reportType.addTestLogSection(getString(event, "section"));
+				break;
+
+			case JsonLinesReport.SUB_SECTION:
+				reportType.addTestLogSubSection(getString(event, "subSection"));
+				break;
+
+			case JsonLinesReport.STEP:
+				reportType.updateTestLog(getString(event, "stepNumber"), getString(event, "stepName"),
+						getString(event, "stepDescription"), Status.valueOf(getString(event, "status")),
+						getString(event, "screenshotName"), getTime(event, JsonLinesReport.TIMESTAMP));
+				break;
+
+			case JsonLinesReport.API_STEP:
+				reportType.updateTestLog(getString(event, "stepNumber"), getString(event, "endPoint"),
+						getString(event, "expectedValue"), getString(event, "actualValue"),
+						Status.valueOf(getString(event, "status")), getTime(event, JsonLinesReport.TIMESTAMP));
+				break;
+
+			case JsonLinesReport.TEST_LOG_FOOTER:
+				reportType.addTestLogFooter(getString(event, "executionTime"), getInt(event, "stepsPassed"),
+						getInt(event, "stepsFailed"));
+				break;
+
+			case JsonLinesReport.RESULT_SUMMARY_START:
+				reportSettings.setProjectName(getString(event, "projectName"));
+				reportSettings.setDateFormatString(getString(event, "dateFormatString"));
+				reportType.initializeResultSummary();
+				break;
+
+			case JsonLinesReport.RESULT_SUMMARY_HEADING:
+				reportType.addResultSummaryHeading(getString(event, "heading"));
+				break;
+
+			case JsonLinesReport.RESULT_SUMMARY_SUB_HEADING:
+				String[] summarySubHeadings = getStrings(event, "subHeadings");
+				reportType.addResultSummarySubHeading(summarySubHeadings[0], summarySubHeadings[1],
+						summarySubHeadings[2], summarySubHeadings[3]);
+				break;
+
+			case JsonLinesReport.RESULT_SUMMARY_TABLE_HEADINGS:
+				reportType.addResultSummaryTableHeadings();
+				break;
+
+			case JsonLinesReport.RESULT_SUMMARY_ROW:
+				TestParameters testParameters = new TestParameters(getString(event, "scenario"),
+						getString(event, "testcase"));
+				testParameters.setCurrentTestInstance(getString(event, "testInstance"));
+				testParameters.setCurrentTestDescription(getString(event, "testDescription"));
+				testParameters.setAdditionalDetails(getString(event, "additionalDetails"));
+				reportSettings.setLinkTestLogsToSummary(getBoolean(event, "linkTestLog"));
+				reportType.updateResultSummary(testParameters, getString(event, "testReportName"),
+						getString(event, "executionTime"), getString(event, "testStatus"));
+				break;
+
+			case JsonLinesReport.RESULT_SUMMARY_FOOTER:
+				reportType.addResultSummaryFooter(getString(event, "totalExecutionTime"),
+						getInt(event, "testsPassed"), getInt(event, "testsFailed"));
+				break;
+
+			default:
+				// Events added by later versions of the framework are skipped
+				break;
+			}
+		}
+	}
+
+	private static String getString(JsonObject event, String key) {
+		JsonElement value = event.get(key);
+		return (value == null || value.isJsonNull()) ? null : value.getAsString();
+	}
+
+	private static Date getTime(JsonObject event, String key) {
+		String value = getString(event, key);
+		if (value == null) {
+			return Util.getCurrentTime();
+		}
+
+		try {
+			return Date.from(Instant.parse(value));
+		} catch (DateTimeParseException e) {
+			throw new FrameworkException("Invalid " + key + " in the event: " + event);
+		}
+	}
+
+	private static boolean getBoolean(JsonObject event, String key) {
+		JsonElement value = event.get(key);
+		return value != null && !value.isJsonNull() && value.getAsBoolean();
+	}
+
+	private static int getInt(JsonObject event, String key) {
+		JsonElement value = event.get(key);
+		return (value == null || value.isJsonNull()) ? 0 : value.getAsInt();
+	}
+
+	private static String[] getStrings(JsonObject event, String key) {
+		String[] values = new String[4];
+		JsonElement value = event.get(key);
+		if (value != null && value.isJsonArray()) {
+			JsonArray jsonArray = value.getAsJsonArray();
+			for (int i = 0; i < values.length && i < jsonArray.size(); i++) {
+				values[i] = jsonArray.get(i).isJsonNull() ? null : jsonArray.get(i).getAsString();
+			}
+		}
+		return values;
+	}
+}
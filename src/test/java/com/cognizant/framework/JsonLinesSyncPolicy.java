@@ -0,0 +1,45 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+/**
+ * Enumeration to represent the various options for forcing the JSON Lines
+ * reports onto the storage device (fsync), trading the write throughput for
+ * the durability of the reports in case of an operating system crash or a power
+ * failure
+ * @author Cognizant
+ */
+public enum JsonLinesSyncPolicy {
+	/**
+	 * Never force the reports onto the storage device (the reports are still
+	 * written into the file system at the end of each section, after each
+	 * failed step, and when the reports are closed)
+	 */
+	NEVER,
+	/**
+	 * Force each report onto the storage device when it is closed
+	 */
+	ON_CLOSE,
+	/**
+	 * Force the reports onto the storage device after each failed step and
+	 * each result summary entry, as well as when they are closed
+	 */
+	ON_FAILURE,
+	/**
+	 * Force the reports onto the storage device after every event (slowest)
+	 */
+	ALWAYS;
+}
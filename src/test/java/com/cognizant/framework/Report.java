@@ -26,7 +26,10 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.imageio.ImageIO;
 
@@ -40,7 +43,7 @@ import com.cognizant.framework.selenium.SeleniumTestParameters;
  * @author Cognizant
  */
 public class Report {
-	// private static final String EXCEL_RESULTS = "Excel Results";
+	private static final String EXCEL_RESULTS = "Excel Results";
 	private static final String HTML_RESULTS = "HTML Results";
 	private static final String SCREENSHOTS = "Screenshots";
 
@@ -52,10 +55,14 @@ public class Report {
 	private int nTestsPassed, nTestsFailed;
 
 	private List<ReportType> reportTypes = new ArrayList<ReportType>();
+	private BufferedReportType bufferedReportType;
 
 	private String testStatus;
 	private String failureDescription;
 
+	private final ReportEventPipeline.ReportEventSequence reportEventSequence =
+			new ReportEventPipeline.ReportEventSequence();
+
 	/**
 	 * Constructor to initialize the Report
 	 * 
@@ -100,9 +107,22 @@ public class Report {
 		String encrpytedHtmlPath = WhitelistingPath
 				.cleanStringForFilePath(reportSettings.getReportPath() + Util.getFileSeparator() + HTML_RESULTS);
 
+		String encryptedExcelPath = WhitelistingPath
+				.cleanStringForFilePath(reportSettings.getReportPath() + Util.getFileSeparator() + EXCEL_RESULTS);
+
+		String encryptedJsonPath = WhitelistingPath.cleanStringForFilePath(
+				reportSettings.getReportPath() + Util.getFileSeparator() + JsonLinesReport.JSON_RESULTS);
+
 		String encryptedScreenShots = WhitelistingPath
 				.cleanStringForFilePath(reportSettings.getReportPath() + Util.getFileSeparator() + SCREENSHOTS);
 
+		if (reportSettings.shouldGenerateExcelReports()) {
+			new File(encryptedExcelPath).mkdir();
+
+			ExcelReport excelReport = new ExcelReport(reportSettings, reportTheme);
+			reportTypes.add(excelReport);
+		}
+
 		if (reportSettings.shouldGenerateHtmlReports()) {
 			new File(encrpytedHtmlPath).mkdir();
 
@@ -110,9 +130,117 @@ public class Report {
 			reportTypes.add(htmlReport);
 		}
 
+		if (reportSettings.shouldGenerateJsonLinesReports()) {
+			new File(encryptedJsonPath).mkdir();
+
+			JsonLinesReport jsonLinesReport = new JsonLinesReport(reportSettings);
+			reportTypes.add(jsonLinesReport);
+		}
+
 		new File(encryptedScreenShots).mkdir();
 	}
 
+	/**
+	 * Function to initialize the Report such that the test log is held in
+	 * memory, to be merged into another Report later (instead of
+	 * {@link #initialize()})
+	 * 
+	 * @see #mergeTestLog(List)
+	 */
+	public void initializeBufferedTestLog() {
+		bufferedReportType = new BufferedReportType();
+		reportTypes.add(bufferedReportType);
+	}
+
+	/**
+	 * Function to start a new segment of the buffered test log. The segments are
+	 * merged in the order of their sequence numbers.
+	 * 
+	 * @param sequenceNumber The sequence number of the segment (e.g., the
+	 *                       iteration number)
+	 */
+	public void startTestLogSegment(int sequenceNumber) {
+		if (bufferedReportType == null) {
+			throw new FrameworkException("The test log of this report is not buffered!");
+		}
+
+		bufferedReportType.startSegment(sequenceNumber);
+	}
+
+	/**
+	 * Function to merge the buffered test logs of the specified Reports into this
+	 * Report, in the order of the sequence numbers of their segments
+	 * 
+	 * @param bufferedReports The Reports initialized using
+	 *                        {@link #initializeBufferedTestLog()}
+	 */
+	public void mergeTestLog(List<? extends Report> bufferedReports) {
+		List<BufferedReportType.TestLogSegment> testLogSegments = new ArrayList<BufferedReportType.TestLogSegment>();
+		for (Report bufferedReport : bufferedReports) {
+			if (bufferedReport.bufferedReportType == null) {
+				throw new FrameworkException("The test log of the specified report is not buffered!");
+			}
+			testLogSegments.addAll(bufferedReport.bufferedReportType.getSegments());
+
+			nStepsPassed += bufferedReport.nStepsPassed;
+			nStepsFailed += bufferedReport.nStepsFailed;
+			if ("Failed".equals(bufferedReport.testStatus)) {
+				testStatus = "Failed";
+			}
+			if (bufferedReport.failureDescription != null) {
+				failureDescription = (failureDescription == null) ? bufferedReport.failureDescription
+						: failureDescription + "; " + bufferedReport.failureDescription;
+			}
+		}
+
+		// The sort is stable, so the segments of each report stay in order
+		testLogSegments.sort(Comparator.comparingInt(BufferedReportType.TestLogSegment::getSequenceNumber));
+		for (BufferedReportType.TestLogSegment testLogSegment : testLogSegments) {
+			publish(testLogSegment::replay);
+		}
+	}
+
+	/**
+	 * Function to wait until all the report events of this Report have been
+	 * written, when the reports are written asynchronously (should be called
+	 * before the reports are read, e.g., at the end of the test)
+	 * 
+	 * @see ReportSettings#shouldReportAsynchronously()
+	 */
+	public void drainReportEvents() {
+		// Only the events of this Report are waited for, so that the other
+		// tests do not hold up its completion
+		reportEventSequence.drain();
+		throwReportEventFailure();
+	}
+
+	private void throwReportEventFailure() {
+		RuntimeException failure = reportEventSequence.takeFailure();
+		if (failure != null) {
+			throw new FrameworkException("Error while writing the report: " + failure.getMessage());
+		}
+	}
+
+	private void publish(Consumer<ReportType> reportEvent) {
+		// The buffered test logs are held in memory, hence they are always
+		// updated on the test thread itself
+		if (!reportSettings.shouldReportAsynchronously() || bufferedReportType != null) {
+			writeReportEvent(reportEvent);
+			return;
+		}
+
+		// An earlier event which could not be written fails the test as soon
+		// as possible, as it would have if the reports were written directly
+		throwReportEventFailure();
+		ReportEventPipeline.getInstance().publish(reportEventSequence, () -> writeReportEvent(reportEvent));
+	}
+
+	private void writeReportEvent(Consumer<ReportType> reportEvent) {
+		for (int i = 0; i < reportTypes.size(); i++) {
+			reportEvent.accept(reportTypes.get(i));
+		}
+	}
+
 	/**
 	 * Function to create a sub-folder within the Results folder
 	 * 
@@ -136,9 +264,7 @@ public class Report {
 			throw new FrameworkException("The report name cannot be empty!");
 		}
 
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).initializeTestLog();
-		}
+		publish(reportType -> reportType.initializeTestLog());
 	}
 
 	/**
@@ -147,9 +273,7 @@ public class Report {
 	 * @param heading The heading to be added
 	 */
 	public void addTestLogHeading(String heading) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogHeading(heading);
-		}
+		publish(reportType -> reportType.addTestLogHeading(heading));
 	}
 
 	/**
@@ -162,9 +286,8 @@ public class Report {
 	 * @param subHeading4 The fourth sub-heading to be added
 	 */
 	public void addTestLogSubHeading(String subHeading1, String subHeading2, String subHeading3, String subHeading4) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogSubHeading(subHeading1, subHeading2, subHeading3, subHeading4);
-		}
+		publish(reportType -> reportType.addTestLogSubHeading(subHeading1, subHeading2, subHeading3,
+				subHeading4));
 	}
 
 	/**
@@ -173,9 +296,7 @@ public class Report {
 	 * sub-heading should be added before this)
 	 */
 	public void addTestLogTableHeadings() {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogTableHeadings();
-		}
+		publish(reportType -> reportType.addTestLogTableHeadings());
 	}
 
 	/**
@@ -184,9 +305,7 @@ public class Report {
 	 * @param section The section to be added
 	 */
 	public void addTestLogSection(String section) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogSection(section);
-		}
+		publish(reportType -> reportType.addTestLogSection(section));
 
 		stepNumber = 1;
 	}
@@ -198,9 +317,7 @@ public class Report {
 	 * @param subSection The sub-section to be added
 	 */
 	public void addTestLogSubSection(String subSection) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogSubSection(subSection);
-		}
+		publish(reportType -> reportType.addTestLogSubSection(subSection));
 
 	}
 
@@ -217,11 +334,14 @@ public class Report {
 
 		if (stepStatus.ordinal() <= reportSettings.getLogLevel()) {
 
-			for (int i = 0; i < reportTypes.size(); i++) {
-				reportTypes.get(i).updateTestLog(Integer.toString(stepNumber), endPoint, expectedValue, actualValue,
-						stepStatus);
-
-			}
+			// The values are converted now, as the objects may change before the
+			// report event is written
+			String stepNo = Integer.toString(stepNumber);
+			String expected = String.valueOf(expectedValue);
+			String actual = String.valueOf(actualValue);
+			Date stepTime = Util.getCurrentTime();
+			publish(reportType -> reportType.updateTestLog(stepNo, endPoint, expected, actual, stepStatus,
+					stepTime));
 
 			stepNumber++;
 		}
@@ -241,10 +361,10 @@ public class Report {
 		if (stepStatus.ordinal() <= reportSettings.getLogLevel()) {
 			String screenshotName = handleStepInvolvingScreenshot(stepName, stepStatus);
 
-			for (int i = 0; i < reportTypes.size(); i++) {
-				reportTypes.get(i).updateTestLog(Integer.toString(stepNumber), stepName, stepDescription, stepStatus,
-						screenshotName);
-			}
+			String stepNo = Integer.toString(stepNumber);
+			Date stepTime = Util.getCurrentTime();
+			publish(reportType -> reportType.updateTestLog(stepNo, stepName, stepDescription, stepStatus,
+					screenshotName, stepTime));
 
 			stepNumber++;
 		}
@@ -264,10 +384,10 @@ public class Report {
 		handleStepInvolvingPassOrFail(stepDescription, stepStatus);
 		if (stepStatus.ordinal() <= reportSettings.getLogLevel()) {
 			String screenshotName = handleStepInvolvingScreenshot(stepName, stepStatus);
-			for (int i = 0; i < reportTypes.size(); i++) {
-				reportTypes.get(i).updateTestLog(Integer.toString(stepNumber), stepName, stepDescription, stepStatus,
-						screenshotName);
-			}
+			String stepNo = Integer.toString(stepNumber);
+			Date stepTime = Util.getCurrentTime();
+			publish(reportType -> reportType.updateTestLog(stepNo, stepName, stepDescription, stepStatus,
+					screenshotName, stepTime));
 			stepNumber++;
 		}
 	}
@@ -289,7 +409,14 @@ public class Report {
 	}
 
 	private String handleStepInvolvingScreenshot(String stepName, Status stepStatus) {
-		String screenshotName = reportSettings.getReportName() + "_"
+		// The buffered test logs of an instance are recorded in parallel, hence
+		// the iteration distinguishes their screenshots taken at the same time
+		String reportName = reportSettings.getReportName();
+		if (bufferedReportType != null) {
+			reportName = reportName + "_Iteration" + bufferedReportType.getCurrentSequenceNumber();
+		}
+
+		String screenshotName = reportName + "_"
 				+ Util.getCurrentFormattedTime(reportSettings.getDateFormatString()).replace(" ", "_").replace(":", "-")
 				+ "_" + stepName.replace(" ", "_") + ".png";
 
@@ -346,9 +473,9 @@ public class Report {
 	 * @param executionTime The time taken to execute the test case
 	 */
 	public void addTestLogFooter(String executionTime) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogFooter(executionTime, nStepsPassed, nStepsFailed);
-		}
+		int nPassed = nStepsPassed;
+		int nFailed = nStepsFailed;
+		publish(reportType -> reportType.addTestLogFooter(executionTime, nPassed, nFailed));
 	}
 
 	/* RESULT SUMMARY FUNCTIONS */
@@ -357,9 +484,7 @@ public class Report {
 	 * Function to initialize the result summary
 	 */
 	public void initializeResultSummary() {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).initializeResultSummary();
-		}
+		publish(reportType -> reportType.initializeResultSummary());
 	}
 
 	/**
@@ -368,9 +493,7 @@ public class Report {
 	 * @param heading The heading to be added
 	 */
 	public void addResultSummaryHeading(String heading) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummaryHeading(heading);
-		}
+		publish(reportType -> reportType.addResultSummaryHeading(heading));
 	}
 
 	/**
@@ -384,18 +507,15 @@ public class Report {
 	 */
 	public void addResultSummarySubHeading(String subHeading1, String subHeading2, String subHeading3,
 			String subHeading4) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummarySubHeading(subHeading1, subHeading2, subHeading3, subHeading4);
-		}
+		publish(reportType -> reportType.addResultSummarySubHeading(subHeading1, subHeading2, subHeading3,
+				subHeading4));
 	}
 
 	/**
 	 * Function to add the overall table headings to the result summary
 	 */
 	public void addResultSummaryTableHeadings() {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummaryTableHeadings();
-		}
+		publish(reportType -> reportType.addResultSummaryTableHeadings());
 	}
 
 	/**
@@ -416,12 +536,13 @@ public class Report {
 		} else if ("passed".equalsIgnoreCase(testStatus)) {
 			nTestsPassed++;
 		} else if ("aborted".equalsIgnoreCase(testStatus)) {
+			// The rows already published must still be written with their links
+			drainReportEvents();
 			reportSettings.setLinkTestLogsToSummary(false);
 		}
 
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).updateResultSummary(testParameters, testReportName, executionTime, testStatus);
-		}
+		publish(reportType -> reportType.updateResultSummary(testParameters, testReportName, executionTime,
+				testStatus));
 	}
 
 	/**
@@ -432,9 +553,9 @@ public class Report {
 	 * @param totalExecutionTime The total time taken to execute all the test cases
 	 */
 	public void addResultSummaryFooter(String totalExecutionTime) {
-		for (int i = 0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummaryFooter(totalExecutionTime, nTestsPassed, nTestsFailed);
-		}
+		int nPassed = nTestsPassed;
+		int nFailed = nTestsFailed;
+		publish(reportType -> reportType.addResultSummaryFooter(totalExecutionTime, nPassed, nFailed));
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,229 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Singleton class which writes the report events published by the test
+ * threads on a dedicated writer thread, so that the test threads do not wait
+ * for the reports to be written. The events are queued in a bounded queue (a
+ * test thread waits only if the writer falls behind by more than the queue
+ * capacity), and are written in the order in which they were published, hence
+ * the entries of each report are always written in order. The events of each
+ * report are tracked by its own {@link ReportEventSequence}, so that a report
+ * waits only for its own events to be written, and learns of its own failures.
+ * 
+ * @author Cognizant
+ */
+final class ReportEventPipeline {
+	private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+	// Created on first use, so that the writer thread is started only if the
+	// reports are written asynchronously
+	private static volatile ReportEventPipeline reportEventPipeline;
+
+	// A linked queue has separate locks for publishing and taking events, so
+	// the test threads do not contend with the writer thread
+	private final BlockingQueue<Runnable> reportEvents = new LinkedBlockingQueue<Runnable>(DEFAULT_QUEUE_CAPACITY);
+
+	private ReportEventPipeline() {
+		Thread writerThread = new Thread(this::writeReportEvents, "Report-Writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * Function to return the singleton instance of the
+	 * {@link ReportEventPipeline} object
+	 * 
+	 * @return Instance of the {@link ReportEventPipeline} object
+	 */
+	static ReportEventPipeline getInstance() {
+		if (reportEventPipeline == null) {
+			synchronized (ReportEventPipeline.class) {
+				if (reportEventPipeline == null) { // Double-checked locking
+					reportEventPipeline = new ReportEventPipeline();
+				}
+			}
+		}
+
+		return reportEventPipeline;
+	}
+
+	/**
+	 * Function to wait until all the report events published so far have been
+	 * written, if any events have been published at all (to be called on JVM
+	 * shutdown, before the report files are closed)
+	 * 
+	 * @param timeout
+	 *            The maximum time to wait
+	 * @param unit
+	 *            The {@link TimeUnit} of the timeout
+	 * @return Whether all the report events were written within the timeout
+	 */
+	static boolean drainIfStarted(long timeout, TimeUnit unit) {
+		ReportEventPipeline startedPipeline = reportEventPipeline;
+		return startedPipeline == null || startedPipeline.drain(timeout, unit);
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		throw new CloneNotSupportedException();
+	}
+
+	/**
+	 * Function to publish a report event, to be written on the writer thread
+	 * 
+	 * @param reportEventSequence
+	 *            The {@link ReportEventSequence} of the report which published
+	 *            the event
+	 * @param reportEvent
+	 *            The report event
+	 */
+	void publish(ReportEventSequence reportEventSequence, Runnable reportEvent) {
+		reportEventSequence.published();
+		Runnable trackedReportEvent = () -> {
+			try {
+				reportEvent.run();
+			} catch (RuntimeException e) {
+				reportEventSequence.failed(e);
+			} finally {
+				reportEventSequence.written();
+			}
+		};
+
+		boolean interrupted = false;
+		while (true) {
+			try {
+				reportEvents.put(trackedReportEvent);
+				break;
+			} catch (InterruptedException e) {
+				// The event must not be lost, so the interrupt is restored
+				// only once it is queued
+				interrupted = true;
+			}
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Function to wait until all the report events published so far (by any
+	 * thread) have been written, or until the specified timeout elapses
+	 * 
+	 * @param timeout
+	 *            The maximum time to wait
+	 * @param unit
+	 *            The {@link TimeUnit} of the timeout
+	 * @return Whether all the report events were written within the timeout
+	 */
+	boolean drain(long timeout, TimeUnit unit) {
+		CountDownLatch barrier = new CountDownLatch(1);
+		try {
+			// The queue may be full, so the barrier is also subject to the
+			// timeout
+			long deadline = System.nanoTime() + unit.toNanos(timeout);
+			if (!reportEvents.offer(barrier::countDown, timeout, unit)) {
+				return false;
+			}
+			return barrier.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void writeReportEvents() {
+		while (true) {
+			Runnable reportEvent;
+			try {
+				reportEvent = reportEvents.take();
+			} catch (InterruptedException e) {
+				continue;
+			}
+
+			// The failures are recorded against the report which published
+			// the event, so the writer keeps going for the other reports
+			reportEvent.run();
+		}
+	}
+
+	/**
+	 * Class to track the report events published by a single report, so that
+	 * the report can wait until its own events have been written, and find out
+	 * whether any of them could not be written
+	 * 
+	 * @author Cognizant
+	 */
+	static final class ReportEventSequence {
+		private long nPublished, nWritten;
+		private RuntimeException failure;
+
+		private synchronized void published() {
+			nPublished++;
+		}
+
+		private synchronized void written() {
+			nWritten++;
+			notifyAll();
+		}
+
+		private synchronized void failed(RuntimeException e) {
+			if (failure == null) {
+				failure = e;
+			}
+		}
+
+		/**
+		 * Function to wait until all the report events published so far
+		 * through this sequence have been written
+		 */
+		synchronized void drain() {
+			long nPublishedSoFar = nPublished;
+			boolean interrupted = false;
+			while (nWritten < nPublishedSoFar) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * Function to get the first failure encountered while writing the
+		 * report events of this sequence (if any), and clear it so that it is
+		 * reported only once
+		 * 
+		 * @return The failure (null if all the report events were written)
+		 */
+		synchronized RuntimeException takeFailure() {
+			RuntimeException takenFailure = failure;
+			failure = null;
+			return takenFailure;
+		}
+	}
+}
@@ -0,0 +1,354 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Class to encapsulate a report file which is kept open (and buffered) for as
+ * long as the report is being written, instead of being re-opened for every
+ * entry. The buffered contents are written into the file whenever
+ * {@link #flush()} is called, at regular intervals in the background, and on
+ * JVM shutdown (after the report events still queued in the
+ * {@link ReportEventPipeline} have been written), so that the report is never
+ * left truncated.
+ * 
+ * @author Cognizant
+ */
+final class ReportLogWriter implements Closeable {
+	private static final long FLUSH_INTERVAL_SECONDS = 5;
+	private static final long SHUTDOWN_DRAIN_TIMEOUT_SECONDS = 10;
+	private static final int CHAR_BUFFER_SIZE = 8192;
+
+	private static final Set<ReportLogWriter> OPEN_WRITERS = ConcurrentHashMap.newKeySet();
+	private static final ScheduledExecutorService FLUSH_EXECUTOR = Executors
+			.newSingleThreadScheduledExecutor(runnable -> {
+				Thread flushThread = new Thread(runnable, "ReportLogWriter-Flush");
+				flushThread.setDaemon(true);
+				return flushThread;
+			});
+
+	static {
+		FLUSH_EXECUTOR.scheduleWithFixedDelay(ReportLogWriter::flushAll, FLUSH_INTERVAL_SECONDS,
+				FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+		Runtime.getRuntime().addShutdownHook(new Thread(ReportLogWriter::shutDown, "ReportLogWriter-Shutdown"));
+	}
+
+	private final String filePath;
+	private final String tempFilePath;
+	private final FileOutputStream fileOutputStream;
+	private BufferedWriter bufferedWriter;
+	private final char[] charBuffer = new char[CHAR_BUFFER_SIZE];
+	private boolean isFlushPending = false;
+
+	private ReportLogWriter(String filePath, boolean append, Charset charset, boolean compress)
+			throws IOException {
+		this.filePath = filePath;
+		if (compress && append && new File(filePath).length() > 0) {
+			// A compressed file is written as a single gzip stream, so the
+			// existing contents are recompressed along with the new ones into
+			// a temporary file, which replaces the original file on closing
+			tempFilePath = filePath + ".tmp";
+		} else {
+			tempFilePath = null;
+		}
+
+		fileOutputStream = new FileOutputStream(tempFilePath == null ? filePath : tempFilePath,
+				append && !compress);
+		OutputStream outputStream = fileOutputStream;
+		if (compress) {
+			// Sync flushing makes the contents written so far readable
+			// without waiting for the end of the compressed stream
+			outputStream = new GZIPOutputStream(fileOutputStream, 8192, true);
+			if (tempFilePath != null) {
+				try {
+					copyDecompressed(filePath, outputStream);
+				} catch (IOException e) {
+					fileOutputStream.close();
+					throw e;
+				}
+			}
+		}
+		bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream, charset));
+		OPEN_WRITERS.add(this);
+	}
+
+	private static void copyDecompressed(String filePath, OutputStream outputStream) throws IOException {
+		byte[] buffer = new byte[8192];
+		try (InputStream inputStream = new GZIPInputStream(new FileInputStream(filePath))) {
+			int length;
+			while ((length = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, length);
+			}
+		} catch (EOFException e) {
+			// A gzip stream which was never finished (e.g., if the JVM was
+			// killed) keeps the contents decompressed up to its end
+		}
+	}
+
+	/**
+	 * Function to open the specified report file for writing, discarding any
+	 * existing contents
+	 * 
+	 * @param filePath
+	 *            The absolute path of the report file
+	 * @return The {@link ReportLogWriter}
+	 * @throws IOException
+	 *             If the file cannot be opened
+	 */
+	static ReportLogWriter create(String filePath) throws IOException {
+		return new ReportLogWriter(filePath, false, Charset.defaultCharset(), false);
+	}
+
+	/**
+	 * Function to open the specified report file for writing in the specified
+	 * charset, discarding any existing contents
+	 * 
+	 * @param filePath
+	 *            The absolute path of the report file
+	 * @param charset
+	 *            The {@link Charset} in which the contents are to be written
+	 * @return The {@link ReportLogWriter}
+	 * @throws IOException
+	 *             If the file cannot be opened
+	 */
+	static ReportLogWriter create(String filePath, Charset charset) throws IOException {
+		return new ReportLogWriter(filePath, false, charset, false);
+	}
+
+	/**
+	 * Function to open the specified report file for appending to its existing
+	 * contents
+	 * 
+	 * @param filePath
+	 *            The absolute path of the report file
+	 * @return The {@link ReportLogWriter}
+	 * @throws IOException
+	 *             If the file cannot be opened
+	 */
+	static ReportLogWriter append(String filePath) throws IOException {
+		return new ReportLogWriter(filePath, true, Charset.defaultCharset(), false);
+	}
+
+	/**
+	 * Function to open the specified report file for appending to its existing
+	 * contents in the specified charset
+	 * 
+	 * @param filePath
+	 *            The absolute path of the report file
+	 * @param charset
+	 *            The {@link Charset} in which the contents are to be written
+	 * @return The {@link ReportLogWriter}
+	 * @throws IOException
+	 *             If the file cannot be opened
+	 */
+	static ReportLogWriter append(String filePath, Charset charset) throws IOException {
+		return new ReportLogWriter(filePath, true, charset, false);
+	}
+
+	/**
+	 * Function to open the specified report file for writing in the specified
+	 * charset, compressed in the gzip format, discarding any existing contents
+	 * 
+	 * @param filePath
+	 *            The absolute path of the report file
+	 * @param charset
+	 *            The {@link Charset} in which the contents are to be written
+	 * @return The {@link ReportLogWriter}
+	 * @throws IOException
+	 *             If the file cannot be opened
+	 */
+	static ReportLogWriter createCompressed(String filePath, Charset charset) throws IOException {
+		return new ReportLogWriter(filePath, false, charset, true);
+	}
+
+	/**
+	 * Function to open the specified report file for appending to its existing
+	 * contents in the specified charset, compressed in the gzip format. The
+	 * file remains a single gzip stream: the existing contents are recompressed
+	 * along with the new ones, and the file is replaced when the
+	 * {@link ReportLogWriter} is closed.
+	 * 
+	 * @param filePath
+	 *            The absolute path of the report file
+	 * @param charset
+	 *            The {@link Charset} in which the contents are to be written
+	 * @return The {@link ReportLogWriter}
+	 * @throws IOException
+	 *             If the file cannot be opened
+	 */
+	static ReportLogWriter appendCompressed(String filePath, Charset charset) throws IOException {
+		return new ReportLogWriter(filePath, true, charset, true);
+	}
+
+	/**
+	 * Function to get the absolute path of the report file
+	 * 
+	 * @return The file path
+	 */
+	String getFilePath() {
+		return filePath;
+	}
+
+	/**
+	 * Function to write the specified contents into the buffer of the report
+	 * file
+	 * 
+	 * @param contents
+	 *            The contents to be written
+	 * @throws IOException
+	 *             If the contents cannot be written
+	 */
+	synchronized void write(String contents) throws IOException {
+		if (bufferedWriter == null) {
+			throw new IOException("The report file \"" + filePath + "\" is closed");
+		}
+		bufferedWriter.write(contents);
+		isFlushPending = true;
+	}
+
+	/**
+	 * Function to write the contents of the specified {@link StringBuilder} into
+	 * the buffer of the report file (without creating an intermediate
+	 * {@link String})
+	 * 
+	 * @param contents
+	 *            The contents to be written
+	 * @throws IOException
+	 *             If the contents cannot be written
+	 */
+	synchronized void write(StringBuilder contents) throws IOException {
+		if (bufferedWriter == null) {
+			throw new IOException("The report file \"" + filePath + "\" is closed");
+		}
+
+		// The contents are copied in chunks, so that the buffer does not grow
+		// to the size of the largest entry ever written
+		int length = contents.length();
+		for (int start = 0; start < length; start += CHAR_BUFFER_SIZE) {
+			int end = Math.min(start + CHAR_BUFFER_SIZE, length);
+			contents.getChars(start, end, charBuffer, 0);
+			bufferedWriter.write(charBuffer, 0, end - start);
+		}
+		isFlushPending = true;
+	}
+
+	/**
+	 * Function to write the buffered contents into the report file
+	 * 
+	 * @throws IOException
+	 *             If the contents cannot be written
+	 */
+	synchronized void flush() throws IOException {
+		if (bufferedWriter != null && isFlushPending) {
+			bufferedWriter.flush();
+			isFlushPending = false;
+		}
+	}
+
+	/**
+	 * Function to write the buffered contents into the report file, and force
+	 * them onto the storage device (so that they survive an operating system
+	 * crash or a power failure, and not only the JVM exiting)
+	 * 
+	 * @throws IOException
+	 *             If the contents cannot be written
+	 */
+	synchronized void sync() throws IOException {
+		if (bufferedWriter == null) {
+			return;
+		}
+
+		bufferedWriter.flush();
+		isFlushPending = false;
+		fileOutputStream.getFD().sync();
+	}
+
+	/**
+	 * Function to write the buffered contents into the report file and close it
+	 * 
+	 * @throws IOException
+	 *             If the contents cannot be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (bufferedWriter == null) {
+			return;
+		}
+
+		OPEN_WRITERS.remove(this);
+		try {
+			bufferedWriter.close();
+		} finally {
+			bufferedWriter = null;
+		}
+
+		if (tempFilePath != null) {
+			Files.move(Paths.get(tempFilePath), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+	}
+
+	private static void flushAll() {
+		for (ReportLogWriter reportLogWriter : OPEN_WRITERS) {
+			try {
+				reportLogWriter.flush();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private static void shutDown() {
+		// The report events still queued are written before the files are
+		// closed, but a stuck writer must not hold up the JVM exit indefinitely
+		if (!ReportEventPipeline.drainIfStarted(SHUTDOWN_DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			System.err.println("The pending report events could not be written within "
+					+ SHUTDOWN_DRAIN_TIMEOUT_SECONDS + " seconds of the JVM shutdown");
+		}
+		closeAll();
+	}
+
+	private static void closeAll() {
+		for (ReportLogWriter reportLogWriter : OPEN_WRITERS) {
+			try {
+				reportLogWriter.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
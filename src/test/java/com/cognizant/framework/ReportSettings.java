@@ -32,7 +32,13 @@ public class ReportSettings {
 	private int logLevel;
 	private String dateFormatString;
 
+	private boolean generateExcelReports;
 	private boolean generateHtmlReports;
+	private boolean generateJsonLinesReports;
+	private JsonLinesSyncPolicy jsonLinesSyncPolicy;
+	private boolean shareReportAssets;
+	private boolean compressHtmlReports;
+	private boolean reportAsynchronously;
 
 	private boolean takeScreenshotFailedStep;
 	private boolean takeScreenshotPassedStep;
@@ -63,7 +69,13 @@ public class ReportSettings {
 		// Set default values for all the report settings
 		projectName = "";
 		logLevel = 4;
+		generateExcelReports = false;
 		generateHtmlReports = true;
+		generateJsonLinesReports = false;
+		jsonLinesSyncPolicy = JsonLinesSyncPolicy.ON_CLOSE;
+		shareReportAssets = false;
+		compressHtmlReports = false;
+		reportAsynchronously = false;
 		takeScreenshotFailedStep = true;
 		takeScreenshotPassedStep = false;
 		linkScreenshotsToTestLog = true;
@@ -164,6 +176,51 @@ public class ReportSettings {
 	}
 
 
+	/**
+	 * Function to get a Boolean value indicating whether Excel reports should be
+	 * generated
+	 * 
+	 * @return Boolean value indicating whether Excel reports should be generated
+	 */
+	public boolean shouldGenerateExcelReports() {
+		return generateExcelReports;
+	}
+
+	/**
+	 * Function to set a Boolean value indicating whether Excel reports should be
+	 * generated
+	 * 
+	 * @param generateExcelReports
+	 *            Boolean value indicating whether Excel reports should be
+	 *            generated
+	 */
+	public void setGenerateExcelReports(boolean generateExcelReports) {
+		this.generateExcelReports = generateExcelReports;
+	}
+
+	/**
+	 * Function to get a Boolean value indicating whether the reports should be
+	 * written asynchronously (on a dedicated writer thread)
+	 * 
+	 * @return Boolean value indicating whether the reports should be written
+	 *         asynchronously
+	 */
+	public boolean shouldReportAsynchronously() {
+		return reportAsynchronously;
+	}
+
+	/**
+	 * Function to set a Boolean value indicating whether the reports should be
+	 * written asynchronously (on a dedicated writer thread)
+	 * 
+	 * @param reportAsynchronously
+	 *            Boolean value indicating whether the reports should be
+	 *            written asynchronously
+	 */
+	public void setReportAsynchronously(boolean reportAsynchronously) {
+		this.reportAsynchronously = reportAsynchronously;
+	}
+
 	/**
 	 * Function to get a Boolean value indicating whether HTML reports should be
 	 * generated
@@ -187,6 +244,98 @@ public class ReportSettings {
 	}
 
 
+	/**
+	 * Function to get a Boolean value indicating whether JSON Lines reports
+	 * should be generated
+	 * 
+	 * @return Boolean value indicating whether JSON Lines reports should be
+	 *         generated
+	 */
+	public boolean shouldGenerateJsonLinesReports() {
+		return generateJsonLinesReports;
+	}
+
+	/**
+	 * Function to set a Boolean value indicating whether JSON Lines reports
+	 * should be generated
+	 * 
+	 * @param generateJsonLinesReports
+	 *            Boolean value indicating whether JSON Lines reports should be
+	 *            generated
+	 */
+	public void setGenerateJsonLinesReports(boolean generateJsonLinesReports) {
+		this.generateJsonLinesReports = generateJsonLinesReports;
+	}
+
+	/**
+	 * Function to get the {@link JsonLinesSyncPolicy} of the JSON Lines reports
+	 * 
+	 * @return The {@link JsonLinesSyncPolicy}
+	 */
+	public JsonLinesSyncPolicy getJsonLinesSyncPolicy() {
+		return jsonLinesSyncPolicy;
+	}
+
+	/**
+	 * Function to set the {@link JsonLinesSyncPolicy} of the JSON Lines reports
+	 * 
+	 * @param jsonLinesSyncPolicy
+	 *            The {@link JsonLinesSyncPolicy}
+	 */
+	public void setJsonLinesSyncPolicy(JsonLinesSyncPolicy jsonLinesSyncPolicy) {
+		this.jsonLinesSyncPolicy = jsonLinesSyncPolicy;
+	}
+
+	/**
+	 * Function to get a Boolean value indicating whether the HTML reports should
+	 * link to the theme CSS and JavaScript written once into the "assets"
+	 * folder of the HTML results, instead of including them
+	 * 
+	 * @return Boolean value indicating whether the HTML reports should share
+	 *         their assets
+	 */
+	public boolean shouldShareReportAssets() {
+		return shareReportAssets;
+	}
+
+	/**
+	 * Function to set a Boolean value indicating whether the HTML reports should
+	 * link to the theme CSS and JavaScript written once into the "assets"
+	 * folder of the HTML results, instead of including them
+	 * 
+	 * @param shareReportAssets
+	 *            Boolean value indicating whether the HTML reports should share
+	 *            their assets
+	 */
+	public void setShareReportAssets(boolean shareReportAssets) {
+		this.shareReportAssets = shareReportAssets;
+	}
+
+	/**
+	 * Function to get a Boolean value indicating whether the HTML reports should
+	 * be compressed (in the gzip format, to be opened through the index.html
+	 * loader page of the HTML results)
+	 * 
+	 * @return Boolean value indicating whether the HTML reports should be
+	 *         compressed
+	 */
+	public boolean shouldCompressHtmlReports() {
+		return compressHtmlReports;
+	}
+
+	/**
+	 * Function to set a Boolean value indicating whether the HTML reports should
+	 * be compressed (in the gzip format, to be opened through the index.html
+	 * loader page of the HTML results)
+	 * 
+	 * @param compressHtmlReports
+	 *            Boolean value indicating whether the HTML reports should be
+	 *            compressed
+	 */
+	public void setCompressHtmlReports(boolean compressHtmlReports) {
+		this.compressHtmlReports = compressHtmlReports;
+	}
+
 	/**
 	 * Function to get a Boolean value indicating whether a screenshot should be
 	 * captured for failed steps
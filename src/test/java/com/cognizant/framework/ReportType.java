@@ -15,6 +15,8 @@
  */
 package com.cognizant.framework;
 
+import java.util.Date;
+
 /**
  * Interface representing a type of report available with the framework
  * 
@@ -87,9 +89,13 @@ interface ReportType {
 	 *            The {@link Status} of the test step
 	 * @param screenshotName
 	 *            The filename of the screenshot file (in case of failed step)
+	 * @param stepTime
+	 *            The time at which the test step was executed (the step may be
+	 *            written some time later, e.g., when the test log is buffered
+	 *            to be merged later)
 	 */
 	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
-			String screenshotName);
+			String screenshotName, Date stepTime);
 
 	/**
 	 * Function to create a footer to close the test log
@@ -170,6 +176,6 @@ interface ReportType {
 	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed);
 
 	public void updateTestLog(String string, String endPoint, Object expectedValue, Object actualValue,
-			Status stepStatus);
+			Status stepStatus, Date stepTime);
 
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Class to encapsulate a pool of test data rows, which are handed out to the
+ * test instances running in parallel such that no two of them use the same row
+ * at the same time. The rows are always read from the snapshot of the sheet
+ * from which the pool was built, so that the row numbers remain valid even if
+ * the datatable is modified during the run.
+ * 
+ * @author Cognizant
+ */
+final class TestDataPool {
+	static final int FREE = 0;
+	static final int LEASED = 1;
+	static final int CONSUMED = 2;
+
+	private static final Map<String, TestDataPool> TEST_DATA_POOLS = new ConcurrentHashMap<String, TestDataPool>();
+
+	private final ExcelSheetSnapshot poolDatasheet;
+	private final AtomicIntegerArray rowStates;
+	private final AtomicInteger nextRowNum = new AtomicInteger(0);
+
+	private TestDataPool(ExcelSheetSnapshot poolDatasheet) {
+		this.poolDatasheet = poolDatasheet;
+
+		// Row 0 holds the headers and rows without an ID are never leased
+		rowStates = new AtomicIntegerArray(poolDatasheet.getLastRowNum() + 1);
+		rowStates.set(0, CONSUMED);
+		for (int rowNum = 1; rowNum <= poolDatasheet.getLastRowNum(); rowNum++) {
+			if (poolDatasheet.getValue(rowNum, 0).equals("")) {
+				rowStates.set(rowNum, CONSUMED);
+			}
+		}
+	}
+
+	/**
+	 * Function to get the pool of rows within the specified sheet, which is
+	 * shared by all the threads within the run
+	 * 
+	 * @param dataSource
+	 *            The {@link DataSource} from which the datatable is read
+	 * @param datatablePath
+	 *            The path where the datatable is stored
+	 * @param datatableName
+	 *            The name of the datatable
+	 * @param poolDatasheetName
+	 *            The name of the sheet holding the pooled rows
+	 * @return The {@link TestDataPool}
+	 */
+	static TestDataPool getInstance(DataSource dataSource, String datatablePath, String datatableName,
+			String poolDatasheetName) {
+		return TEST_DATA_POOLS.computeIfAbsent(
+				dataSource.getAbsolutePath(datatablePath, datatableName) + "|" + poolDatasheetName,
+				key -> new TestDataPool(dataSource.getDatasheet(datatablePath, datatableName, poolDatasheetName)));
+	}
+
+	/**
+	 * Function to get the snapshot of the sheet holding the pooled rows
+	 * 
+	 * @return The {@link ExcelSheetSnapshot} from which the pool was built
+	 */
+	ExcelSheetSnapshot getPoolDatasheet() {
+		return poolDatasheet;
+	}
+
+	/**
+	 * Function to lease a free row from the pool
+	 * 
+	 * @return The row number of the leased row (-1 if no row is free)
+	 */
+	int lease() {
+		int nRows = rowStates.length();
+		// Start each search where the previous one left off, so that
+		// concurrent leases rarely contend for the same row
+		int startRowNum = Math.floorMod(nextRowNum.getAndIncrement(), nRows);
+		for (int i = 0; i < nRows; i++) {
+			int rowNum = (startRowNum + i) % nRows;
+			if (rowStates.get(rowNum) == FREE && rowStates.compareAndSet(rowNum, FREE, LEASED)) {
+				return rowNum;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Function to return a leased row to the pool
+	 * 
+	 * @param rowNum
+	 *            The row number of the leased row
+	 */
+	void release(int rowNum) {
+		rowStates.compareAndSet(rowNum, LEASED, FREE);
+	}
+
+	/**
+	 * Function to mark a leased row as used up, so that it is never leased
+	 * again within the run
+	 * 
+	 * @param rowNum
+	 *            The row number of the leased row
+	 */
+	void consume(int rowNum) {
+		rowStates.compareAndSet(rowNum, LEASED, CONSUMED);
+	}
+}
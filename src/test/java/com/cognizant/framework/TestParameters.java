@@ -15,11 +15,15 @@
  */
 package com.cognizant.framework;
 
+import java.io.Serializable;
+
 /**
  * Class to encapsulate various input parameters required for each test script
  * @author Cognizant
  */
-public class TestParameters {
+public class TestParameters implements Serializable {
+	private static final long serialVersionUID = 1L;
+
 	private final String currentScenario;
 	private final String currentTestcase;
 	private String currentTestInstance;
@@ -28,6 +32,7 @@ public class TestParameters {
 	private IterationOptions iterationMode;
 	private int startIteration;
 	private int endIteration;
+	private int iterationThreads;
 	
 	
 	/**
@@ -46,6 +51,24 @@ public class TestParameters {
 		this.iterationMode = IterationOptions.RUN_ALL_ITERATIONS;
 		this.startIteration = 1;
 		this.endIteration = 1;
+		this.iterationThreads = 1;
+	}
+	
+	/**
+	 * Constructor to initialize the {@link TestParameters} object as a copy of
+	 * the specified {@link TestParameters} object
+	 * @param testParameters The {@link TestParameters} object to be copied
+	 */
+	public TestParameters(TestParameters testParameters) {
+		this.currentScenario = testParameters.currentScenario;
+		this.currentTestcase = testParameters.currentTestcase;
+		this.currentTestInstance = testParameters.currentTestInstance;
+		this.currentTestDescription = testParameters.currentTestDescription;
+		this.additionalDetails = testParameters.additionalDetails;
+		this.iterationMode = testParameters.iterationMode;
+		this.startIteration = testParameters.startIteration;
+		this.endIteration = testParameters.endIteration;
+		this.iterationThreads = testParameters.iterationThreads;
 	}
 	
 	/**
@@ -165,4 +188,22 @@ public class TestParameters {
 			this.endIteration = endIteration;
 		}
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * Function to get the number of threads across which the iterations are run
+	 * @return The number of iteration threads
+	 */
+	public int getIterationThreads() {
+		return iterationThreads;
+	}
+	
+	/**
+	 * Function to set the number of threads across which the iterations are run (each with its own driver)
+	 * @param iterationThreads The number of iteration threads (defaults to 1 if the input is less than or equal to 0)
+	 */
+	public void setIterationThreads(int iterationThreads) {
+		if(iterationThreads > 0) {
+			this.iterationThreads = iterationThreads;
+		}
+	}
+}
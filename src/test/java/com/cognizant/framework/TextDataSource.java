@@ -0,0 +1,265 @@
+/*
+ *  © [2020] Cognizant. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cognizant.framework;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * {@link DataSource} which reads the test data from a folder of text files,
+ * with one file per datasheet. The files are read sequentially, so that only
+ * the rows of the current test case need to be retained when streaming.
+ * 
+ * @author Cognizant
+ */
+abstract class TextDataSource implements DataSource {
+	private final String fileExtension;
+
+	/**
+	 * Constructor to initialize the {@link TextDataSource}
+	 * 
+	 * @param fileExtension
+	 *            The extension of the datasheet files (including the dot)
+	 */
+	TextDataSource(String fileExtension) {
+		this.fileExtension = fileExtension;
+	}
+
+	/**
+	 * Interface to read the rows of a datasheet file one at a time
+	 */
+	interface RowReader extends Closeable {
+
+		/**
+		 * Function to read the next row of data (excluding the header row)
+		 * 
+		 * @return The cell values of the row (null at the end of the file)
+		 * @throws IOException
+		 *             If the file cannot be read
+		 */
+		String[] readRow() throws IOException;
+
+		/**
+		 * Function to get the column headers of the datasheet, as known after
+		 * the rows read so far
+		 * 
+		 * @return The column headers
+		 */
+		String[] getHeader();
+	}
+
+	/**
+	 * Function to open a {@link RowReader} over the specified datasheet file
+	 * 
+	 * @param datasheetFile
+	 *            The datasheet file
+	 * @return The {@link RowReader}
+	 * @throws IOException
+	 *             If the file cannot be opened
+	 */
+	abstract RowReader openRowReader(File datasheetFile) throws IOException;
+
+	/**
+	 * Function to write the specified rows into a datasheet file
+	 * 
+	 * @param writer
+	 *            The {@link Writer} for the datasheet file
+	 * @param header
+	 *            The column headers
+	 * @param rows
+	 *            The rows of data (excluding the header row)
+	 * @throws IOException
+	 *             If the file cannot be written
+	 */
+	abstract void writeRows(Writer writer, String[] header, List<String[]> rows) throws IOException;
+
+	@Override
+	public String getAbsolutePath(String datatablePath, String datatableName) {
+		return WhitelistingPath.cleanStringForFilePath(datatablePath + Util.getFileSeparator() + datatableName);
+	}
+
+	@Override
+	public ExcelSheetSnapshot getDatasheet(String datatablePath, String datatableName, String datasheetName) {
+		File datasheetFile = getDatasheetFile(datatablePath, datatableName, datasheetName);
+		ExcelWorkbookSnapshot datatable = ExcelWorkbookCache.getInstance().getWorkbook(datasheetFile.getPath(),
+				file -> loadDatasheet(file, datasheetName));
+
+		return datatable.getSheet(datasheetName);
+	}
+
+	@Override
+	public ExcelSheetSnapshot getTestcaseRows(String datatablePath, String datatableName, String datasheetName,
+			String testcase) {
+		return readDatasheet(getDatasheetFile(datatablePath, datatableName, datasheetName), datasheetName,
+				testcase);
+	}
+
+	@Override
+	public void setValues(String datatablePath, String datatableName, Map<String, Map<Long, String>> values) {
+		for (Map.Entry<String, Map<Long, String>> sheetValues : values.entrySet()) {
+			File datasheetFile = getDatasheetFile(datatablePath, datatableName, sheetValues.getKey());
+			ExcelSheetSnapshot datasheet = readDatasheet(datasheetFile, sheetValues.getKey(), null);
+
+			List<String[]> rows = new ArrayList<String[]>();
+			for (int rowNum = 1; rowNum <= datasheet.getLastRowNum(); rowNum++) {
+				String[] row = new String[Math.max(datasheet.getLastCellNum(rowNum), 0)];
+				for (int columnNum = 0; columnNum < row.length; columnNum++) {
+					row[columnNum] = datasheet.getValue(rowNum, columnNum);
+				}
+				rows.add(row);
+			}
+
+			for (Map.Entry<Long, String> cellValue : sheetValues.getValue().entrySet()) {
+				int rowNum = (int) (cellValue.getKey() >>> 32);
+				int columnNum = (int) cellValue.getKey().longValue();
+				while (rows.size() < rowNum) {
+					rows.add(new String[0]);
+				}
+
+				String[] row = rows.get(rowNum - 1);
+				if (row.length <= columnNum) {
+					int length = row.length;
+					row = Arrays.copyOf(row, columnNum + 1);
+					Arrays.fill(row, length, row.length, "");
+					rows.set(rowNum - 1, row);
+				}
+				row[columnNum] = cellValue.getValue();
+			}
+
+			String[] header = new String[Math.max(datasheet.getLastCellNum(0), 0)];
+			for (int columnNum = 0; columnNum < header.length; columnNum++) {
+				header[columnNum] = datasheet.getValue(0, columnNum);
+			}
+			writeDatasheet(datasheetFile, header, rows);
+		}
+	}
+
+	@Override
+	public void copyDatatable(String datatablePath, String targetPath, String datatableName) {
+		File datatable = new File(getAbsolutePath(datatablePath, datatableName));
+		File targetDatatable = new File(getAbsolutePath(targetPath, datatableName));
+		if (!datatable.isDirectory() || targetDatatable.exists()) {
+			return;
+		}
+
+		try {
+			FileUtils.copyDirectory(datatable, targetDatatable);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException("Error in creating run-time datatable: Copying the datatable \""
+					+ datatableName + "\" failed...");
+		}
+	}
+
+	private File getDatasheetFile(String datatablePath, String datatableName, String datasheetName) {
+		File datasheetFile = new File(WhitelistingPath.cleanStringForFilePath(getAbsolutePath(datatablePath,
+				datatableName) + Util.getFileSeparator() + datasheetName + fileExtension));
+		if (!datasheetFile.isFile()) {
+			throw new FrameworkException("The specified sheet \"" + datasheetName + "\""
+					+ "does not exist within the datatable \"" + datatableName + "\"");
+		}
+
+		return datasheetFile;
+	}
+
+	private ExcelWorkbookSnapshot loadDatasheet(File datasheetFile, String datasheetName) {
+		// Capture the file attributes before reading, so that any concurrent
+		// modification results in a stale (rather than a falsely current)
+		// snapshot
+		long lastModified = datasheetFile.lastModified();
+		long length = datasheetFile.length();
+
+		Map<String, ExcelSheetSnapshot> datasheets = new HashMap<String, ExcelSheetSnapshot>();
+		datasheets.put(datasheetName, readDatasheet(datasheetFile, datasheetName, null));
+
+		return new ExcelWorkbookSnapshot(datasheetFile.getAbsolutePath(), lastModified, length, datasheets);
+	}
+
+	private ExcelSheetSnapshot readDatasheet(File datasheetFile, String datasheetName, String testcase) {
+		List<String[]> rows = new ArrayList<String[]>();
+		List<Integer> sourceRowNums = new ArrayList<Integer>();
+		rows.add(null); // Placeholder for the header row
+		sourceRowNums.add(0);
+
+		try (RowReader rowReader = openRowReader(datasheetFile)) {
+			String[] row;
+			int rowNum = 0;
+			while ((row = rowReader.readRow()) != null) {
+				rowNum++;
+				if (testcase == null || (row.length > 0 && row[0].equals(testcase))) {
+					rows.add(row);
+					sourceRowNums.add(rowNum);
+				} else if (rows.size() > 1) {
+					break; // Assumption: Test cases always appear contiguously
+				}
+			}
+			rows.set(0, rowReader.getHeader());
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException(
+					"Error while reading the specified datasheet \"" + datasheetFile.getPath() + "\"");
+		}
+
+		String[][] cellValues = rows.toArray(new String[rows.size()][]);
+		if (testcase == null) {
+			return new ExcelSheetSnapshot(datasheetName, cellValues, Collections.<Long, Byte>emptyMap());
+		}
+
+		int[] rowNums = new int[sourceRowNums.size()];
+		for (int i = 0; i < rowNums.length; i++) {
+			rowNums[i] = sourceRowNums.get(i);
+		}
+		return new ExcelSheetSnapshot(datasheetName, cellValues, Collections.<Long, Byte>emptyMap(), rowNums);
+	}
+
+	private void writeDatasheet(File datasheetFile, String[] header, List<String[]> rows) {
+		try {
+			// Write into a temporary file first, so that the datasheet is
+			// never left partially written
+			Path temporaryFile = Files.createTempFile(datasheetFile.getParentFile().toPath(),
+					datasheetFile.getName(), ".tmp");
+			try {
+				try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+					writeRows(writer, header, rows);
+				}
+				Files.move(temporaryFile, datasheetFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException(
+					"Error while writing into the specified datasheet \"" + datasheetFile.getPath() + "\"");
+		}
+
+		ExcelWorkbookCache.getInstance().invalidate(datasheetFile.getPath());
+	}
+}
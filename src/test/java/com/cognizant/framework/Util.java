@@ -20,6 +20,8 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Class to encapsulate utility functions of the framework
@@ -27,6 +29,10 @@ import java.util.Date;
  * @author Cognizant
  */
 public class Util {
+	// SimpleDateFormat is not thread-safe, hence each thread keeps its own date
+	// formats, so that each date format string is parsed only once per thread
+	private static final ThreadLocal<Map<String, DateFormat>> DATE_FORMATS = ThreadLocal
+			.withInitial(HashMap::new);
 
 	private Util() {
 		// To prevent external instantiation of this class
@@ -63,9 +69,7 @@ public class Util {
 	 * @see #getFormattedTime(Date, String)
 	 */
 	public static String getCurrentFormattedTime(String dateFormatString) {
-		DateFormat dateFormat = new SimpleDateFormat(dateFormatString);
-		Calendar calendar = Calendar.getInstance();
-		return dateFormat.format(calendar.getTime());
+		return getDateFormat(dateFormatString).format(getCurrentTime());
 	}
 
 	/**
@@ -79,8 +83,11 @@ public class Util {
 	 * @see #getCurrentFormattedTime(String)
 	 */
 	public static String getFormattedTime(Date time, String dateFormatString) {
-		DateFormat dateFormat = new SimpleDateFormat(dateFormatString);
-		return dateFormat.format(time);
+		return getDateFormat(dateFormatString).format(time);
+	}
+
+	private static DateFormat getDateFormat(String dateFormatString) {
+		return DATE_FORMATS.get().computeIfAbsent(dateFormatString, SimpleDateFormat::new);
 	}
 
 	/**
@@ -26,8 +26,14 @@ import java.util.Scanner;
 
 import org.apache.commons.io.FileUtils;
 
+import com.cognizant.framework.CommonTestdataCache;
+import com.cognizant.framework.DataTable;
+import com.cognizant.framework.DatatableOverlay;
+import com.cognizant.framework.ExcelWorkbookCache;
+import com.cognizant.framework.ExcelWriteBuffer;
 import com.cognizant.framework.FrameworkException;
 import com.cognizant.framework.FrameworkParameters;
+import com.cognizant.framework.JsonLinesSyncPolicy;
 import com.cognizant.framework.ReportSettings;
 import com.cognizant.framework.ReportTheme;
 import com.cognizant.framework.ReportThemeFactory;
@@ -104,6 +110,15 @@ public class ResultSummaryManager {
 		properties = Settings.getInstance();
 
 		frameworkParameters.setRunConfiguration(runConfiguration);
+
+		ExcelWorkbookCache.getInstance()
+				.setMaxCachedWorkbooks(Integer.parseInt(properties.getProperty("WorkbookCacheSize", "16")));
+		ExcelWriteBuffer.getInstance()
+				.setMaxPendingValues(Integer.parseInt(properties.getProperty("DatatableWriteBufferSize", "50")));
+		if (Boolean.parseBoolean(properties.getProperty("CompileDatatables"))) {
+			ExcelWorkbookCache.getInstance().setCompiledWorkbookPath(frameworkParameters.getRelativePath()
+					+ Util.getFileSeparator() + "target" + Util.getFileSeparator() + "compiled-datatables");
+		}
 	}
 
 	/**
@@ -136,7 +151,14 @@ public class ResultSummaryManager {
 
 		reportSettings.setDateFormatString(properties.getProperty("DateFormatString"));
 		reportSettings.setProjectName(properties.getProperty("ProjectName"));
+		reportSettings.setGenerateExcelReports(Boolean.parseBoolean(properties.getProperty("ExcelReport")));
 		reportSettings.setGenerateHtmlReports(Boolean.parseBoolean(properties.getProperty("HtmlReport")));
+		reportSettings.setShareReportAssets(Boolean.parseBoolean(properties.getProperty("ShareReportAssets")));
+		reportSettings.setCompressHtmlReports(Boolean.parseBoolean(properties.getProperty("CompressHtmlReports")));
+		reportSettings.setGenerateJsonLinesReports(Boolean.parseBoolean(properties.getProperty("JsonLinesReport")));
+		reportSettings.setJsonLinesSyncPolicy(
+				JsonLinesSyncPolicy.valueOf(properties.getProperty("JsonLinesSyncPolicy", "ON_CLOSE")));
+		reportSettings.setReportAsynchronously(Boolean.parseBoolean(properties.getProperty("AsynchronousReporting")));
 		reportSettings.setLinkTestLogsToSummary(true);
 	}
 
@@ -193,6 +215,13 @@ public class ResultSummaryManager {
 		overallEndTime = Util.getCurrentTime();
 		String totalExecutionTime = Util.getTimeDifference(overallStartTime, overallEndTime);
 		summaryReport.addResultSummaryFooter(totalExecutionTime);
+		summaryReport.drainReportEvents();
+
+		ExcelWriteBuffer.getInstance().flushAll();
+		DatatableOverlay.mergeAll();
+		ExcelWorkbookCache.getInstance().clear();
+		CommonTestdataCache.getInstance().clear();
+		DataTable.clearAccessProfiles();
 
 		String encrpytedResultSrc = WhitelistingPath.cleanStringForFilePath(frameworkParameters.getRelativePath()
 				+ Util.getFileSeparator() + properties.getProperty("TestNgReportPath") + Util.getFileSeparator()
@@ -232,8 +261,11 @@ public class ResultSummaryManager {
 					File f = new File(encryptedPath);
 					java.awt.Desktop.getDesktop().edit(f);
 				} else {
+					// Compressed reports are opened through the loader page,
+					// which explains how to serve them over HTTP
+					String summaryPage = reportSettings.shouldCompressHtmlReports() ? "index.html" : "Summary.Html";
 					String encryptedHtml = WhitelistingPath.cleanStringForFilePath(reportPath + Util.getFileSeparator()
-							+ "HTML Results" + Util.getFileSeparator() + "Summary.Html");
+							+ "HTML Results" + Util.getFileSeparator() + summaryPage);
 					File htmlFile = new File(encryptedHtml);
 					java.awt.Desktop.getDesktop().browse(htmlFile.toURI());
 				}
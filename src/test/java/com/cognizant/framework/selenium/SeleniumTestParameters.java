@@ -33,6 +33,8 @@ import org.openqa.selenium.Platform;
  * @author Cognizant
  */
 public class SeleniumTestParameters extends TestParameters {
+	private static final long serialVersionUID = 1L;
+
 	private ExecutionMode executionMode;
 	private Browser browser;
 	private String browserVersion;
@@ -49,6 +51,28 @@ public class SeleniumTestParameters extends TestParameters {
 		installApplication = false;
 	}
 
+	/**
+	 * Constructor to initialize the {@link SeleniumTestParameters} object as a
+	 * copy of the specified {@link SeleniumTestParameters} object
+	 * 
+	 * @param testParameters
+	 *                       The {@link SeleniumTestParameters} object to be
+	 *                       copied
+	 */
+	public SeleniumTestParameters(SeleniumTestParameters testParameters) {
+		super(testParameters);
+		this.executionMode = testParameters.executionMode;
+		this.browser = testParameters.browser;
+		this.browserVersion = testParameters.browserVersion;
+		this.platform = testParameters.platform;
+		this.deviceName = testParameters.deviceName;
+		this.installApplication = testParameters.installApplication;
+		this.mobileExecutionPlatform = testParameters.mobileExecutionPlatform;
+		this.toolName = testParameters.toolName;
+		this.mobileOsVersion = testParameters.mobileOsVersion;
+		this.recordVideo = testParameters.recordVideo;
+	}
+
 	/**
 	 * Function to get the {@link ExecutionMode} for the test being executed
 	 * 